@@ -0,0 +1,100 @@
+package com.urlshortener.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Prints a percentile table and writes per-scenario .hgrm files plus a
+ * summary.json under {@code <reportDir>/<label>/}, so runs from different
+ * commits can be diffed or plotted side by side.
+ */
+public class LatencyReport {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9, 99.99};
+
+    private LatencyReport() {}
+
+    public static void print(PrintStream out, RunResult result) {
+        out.printf(Locale.ROOT, "%n── %s ── target %d req/s, achieved %.1f req/s%n",
+                result.scenario(), result.targetRate(), result.achievedRate());
+        out.printf(Locale.ROOT, "  %-10s %12s %12s%n", "pctl", "response ms", "service ms");
+        for (double p : PERCENTILES) {
+            out.printf(Locale.ROOT, "  p%-9s %12.2f %12.2f%n", trim(p),
+                    millis(result.responseTime().getValueAtPercentile(p)),
+                    millis(result.serviceTime().getValueAtPercentile(p)));
+        }
+        out.printf(Locale.ROOT, "  %-10s %12.2f %12.2f%n", "max",
+                millis(result.responseTime().getMaxValue()),
+                millis(result.serviceTime().getMaxValue()));
+        out.printf("  statuses %s%n", result.statusCounts());
+        out.printf("  errors   %d (unexpected %d, failures %d, dropped %d)%n",
+                result.errors(), result.unexpected(), result.failures(), result.dropped());
+        if (result.dropped() > 0) {
+            // Dropped arrivals never got a latency, so the table above is missing its worst cases
+            out.printf(Locale.ROOT, "  WARNING  %d of %d arrivals (%.2f%%) were dropped at max-in-flight and are not in"
+                            + " the percentiles; raise --max-in-flight or lower the rate%n",
+                    result.dropped(), result.scheduled(), 100.0 * result.dropped() / result.scheduled());
+        }
+    }
+
+    public static Path write(Path reportDir, String label, List<RunResult> results) throws IOException {
+        Path dir = reportDir.resolve(label);
+        Files.createDirectories(dir);
+        for (RunResult result : results) {
+            writeHistogram(dir.resolve(result.scenario() + "-response.hgrm"), result.responseTime());
+            writeHistogram(dir.resolve(result.scenario() + "-service.hgrm"), result.serviceTime());
+        }
+        String json = results.stream()
+                .map(LatencyReport::toJson)
+                .collect(Collectors.joining(",\n", "{\n  \"label\": \"" + label + "\",\n  \"scenarios\": [\n", "\n  ]\n}\n"));
+        Files.writeString(dir.resolve("summary.json"), json);
+        return dir;
+    }
+
+    private static void writeHistogram(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            // Values are recorded in µs; scale so the file reads in milliseconds
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    private static String toJson(RunResult r) {
+        StringBuilder sb = new StringBuilder("    {");
+        sb.append("\"scenario\": \"").append(r.scenario()).append('"');
+        sb.append(", \"targetRate\": ").append(r.targetRate());
+        sb.append(String.format(Locale.ROOT, ", \"achievedRate\": %.1f", r.achievedRate()));
+        sb.append(", \"scheduled\": ").append(r.scheduled());
+        sb.append(", \"errors\": ").append(r.errors());
+        sb.append(", \"unexpected\": ").append(r.unexpected());
+        sb.append(", \"failures\": ").append(r.failures());
+        sb.append(", \"dropped\": ").append(r.dropped());
+        appendPercentiles(sb, "responseMs", r.responseTime());
+        appendPercentiles(sb, "serviceMs", r.serviceTime());
+        return sb.append('}').toString();
+    }
+
+    private static void appendPercentiles(StringBuilder sb, String field, Histogram histogram) {
+        sb.append(", \"").append(field).append("\": {");
+        for (double p : PERCENTILES) {
+            sb.append(String.format(Locale.ROOT, "\"p%s\": %.3f, ", trim(p), millis(histogram.getValueAtPercentile(p))));
+        }
+        sb.append(String.format(Locale.ROOT, "\"max\": %.3f}", millis(histogram.getMaxValue())));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String trim(double percentile) {
+        return percentile == Math.rint(percentile)
+                ? String.valueOf((long) percentile)
+                : String.valueOf(percentile);
+    }
+}
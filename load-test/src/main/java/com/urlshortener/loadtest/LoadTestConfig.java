@@ -0,0 +1,74 @@
+package com.urlshortener.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Parsed command-line options for a load-test run.
+ *
+ * @param target      base URI of url-service (e.g. http://localhost:8081)
+ * @param scenarios   scenario names to run, in order
+ * @param rate        target arrival rate in requests per second
+ * @param duration    measured phase length per scenario
+ * @param warmup      unmeasured warm-up phase length per scenario
+ * @param timeout     per-request timeout
+ * @param maxInFlight cap on outstanding requests before arrivals are counted as dropped
+ * @param reportDir   directory that receives the .hgrm files and summary.json
+ * @param label       run label, usually the git commit, used to compare reports
+ */
+public record LoadTestConfig(
+        URI target,
+        List<String> scenarios,
+        int rate,
+        Duration duration,
+        Duration warmup,
+        Duration timeout,
+        int maxInFlight,
+        Path reportDir,
+        String label
+) {
+
+    public static LoadTestConfig fromArgs(String[] args) {
+        URI target = URI.create("http://localhost:8081");
+        List<String> scenarios = List.of("create", "alias-conflict", "info");
+        int rate = 200;
+        Duration duration = Duration.ofSeconds(30);
+        Duration warmup = Duration.ofSeconds(5);
+        Duration timeout = Duration.ofSeconds(5);
+        int maxInFlight = 10_000;
+        Path reportDir = Path.of("build", "reports", "load-test");
+        String label = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--target" -> target = URI.create(value);
+                case "--scenario" -> scenarios = "all".equals(value)
+                        ? scenarios
+                        : List.of(value.split(","));
+                case "--rate" -> rate = Integer.parseInt(value);
+                case "--duration" -> duration = Duration.ofSeconds(Long.parseLong(value));
+                case "--warmup" -> warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "--timeout-ms" -> timeout = Duration.ofMillis(Long.parseLong(value));
+                case "--max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "--report-dir" -> reportDir = Path.of(value);
+                case "--label" -> label = value;
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if (label == null) {
+            label = GitLabel.current();
+        }
+        return new LoadTestConfig(target, scenarios, rate, duration, warmup, timeout,
+                maxInFlight, reportDir, label);
+    }
+}
@@ -0,0 +1,45 @@
+package com.urlshortener.loadtest;
+
+import com.urlshortener.loadtest.scenario.Scenario;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+/**
+ * Entry point for the url-service load test.
+ *
+ * <pre>
+ * gradle run --args="--target http://localhost:8081 --rate 500 --duration 60 --scenario all"
+ * </pre>
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.timeout())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        UrlServiceClient client = new UrlServiceClient(httpClient, config.target(), config.timeout());
+        OpenLoopRunner runner = new OpenLoopRunner(client, config.rate(), config.maxInFlight());
+
+        System.out.printf("Load test '%s' against %s at %d req/s for %ds (warm-up %ds)%n",
+                config.label(), config.target(), config.rate(),
+                config.duration().toSeconds(), config.warmup().toSeconds());
+
+        List<RunResult> results = new ArrayList<>();
+        for (String name : config.scenarios()) {
+            RunResult result = runner.run(Scenario.named(name), config.warmup(), config.duration());
+            LatencyReport.print(System.out, result);
+            results.add(result);
+        }
+
+        Path dir = LatencyReport.write(config.reportDir(), config.label(), results);
+        System.out.println("\nReports written to " + dir.toAbsolutePath());
+    }
+}
@@ -0,0 +1,115 @@
+package com.urlshortener.loadtest;
+
+import com.urlshortener.loadtest.scenario.Scenario;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator: arrivals are scheduled at a constant rate
+ * regardless of how fast the service answers.
+ *
+ * Every arrival has an intended start time {@code start + i * interval}.
+ * Response time is measured from that intended time, not from when the
+ * request actually left, so a stalled service (or a stalled generator)
+ * shows up in the percentiles instead of silently lowering the offered load —
+ * the coordinated-omission correction. Service time (from actual send) is
+ * recorded separately so the two can be compared.
+ *
+ * An arrival that finds {@code maxInFlight} requests outstanding is not sent
+ * and has no latency to record. It is counted as dropped, a separate error
+ * class, and the report flags the percentiles as incomplete.
+ *
+ * Each request runs on its own virtual thread; only the dispatcher loop
+ * is a platform thread.
+ */
+public class OpenLoopRunner {
+
+    private final UrlServiceClient client;
+    private final int rate;
+    private final int maxInFlight;
+
+    public OpenLoopRunner(UrlServiceClient client, int rate, int maxInFlight) {
+        this.client = client;
+        this.rate = rate;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public RunResult run(Scenario scenario, Duration warmup, Duration duration) throws Exception {
+        scenario.setUp(client);
+        if (!warmup.isZero()) {
+            runPhase(scenario, warmup);
+        }
+        return runPhase(scenario, duration);
+    }
+
+    RunResult runPhase(Scenario scenario, Duration duration) {
+        Recorder responseTime = new Recorder(3);
+        Recorder serviceTime = new Recorder(3);
+        Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        LongAdder unexpected = new LongAdder();
+        LongAdder failures = new LongAdder();
+        LongAdder dropped = new LongAdder();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        long intervalNanos = 1_000_000_000L / rate;
+        long total = duration.toNanos() / intervalNanos;
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long intended = start + i * intervalNanos;
+                long now;
+                while ((now = System.nanoTime()) < intended) {
+                    LockSupport.parkNanos(intended - now);
+                }
+                if (!inFlight.tryAcquire()) {
+                    dropped.increment();
+                    continue;
+                }
+                long sequence = i;
+                executor.execute(() -> {
+                    try {
+                        HttpRequest request = scenario.request(client, sequence);
+                        long sent = System.nanoTime();
+                        int status = client.send(request);
+                        long done = System.nanoTime();
+                        responseTime.recordValue((done - intended) / 1_000);
+                        serviceTime.recordValue((done - sent) / 1_000);
+                        statusCounts.computeIfAbsent(status, s -> new LongAdder()).increment();
+                        if (!scenario.isExpected(status)) {
+                            unexpected.increment();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        failures.increment();
+                    } catch (Exception e) {
+                        // Timeouts and connection errors still cost the caller their wait
+                        responseTime.recordValue((System.nanoTime() - intended) / 1_000);
+                        failures.increment();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        Map<Integer, Long> statuses = new TreeMap<>();
+        statusCounts.forEach((status, count) -> statuses.put(status, count.sum()));
+        Histogram response = responseTime.getIntervalHistogram();
+        Histogram service = serviceTime.getIntervalHistogram();
+        return new RunResult(scenario.name(), rate, total, elapsedNanos, response, service,
+                statuses, unexpected.sum(), failures.sum(), dropped.sum());
+    }
+}
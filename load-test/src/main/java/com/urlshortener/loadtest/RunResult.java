@@ -0,0 +1,41 @@
+package com.urlshortener.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+
+/**
+ * Outcome of one measured scenario phase. Histogram values are in microseconds.
+ *
+ * @param responseTime latency from the intended start time (coordinated-omission corrected)
+ * @param serviceTime  latency from the moment the request was actually sent
+ * @param unexpected   completed requests whose status the scenario did not expect
+ * @param failures     requests that timed out or failed at the transport level
+ * @param dropped      arrivals skipped because {@code maxInFlight} requests were outstanding;
+ *                     they are in neither histogram
+ */
+public record RunResult(
+        String scenario,
+        int targetRate,
+        long scheduled,
+        long elapsedNanos,
+        Histogram responseTime,
+        Histogram serviceTime,
+        Map<Integer, Long> statusCounts,
+        long unexpected,
+        long failures,
+        long dropped
+) {
+
+    /**
+     * Unexpected statuses, transport failures and dropped arrivals together.
+     */
+    public long errors() {
+        return unexpected + failures + dropped;
+    }
+
+    public double achievedRate() {
+        long completed = statusCounts.values().stream().mapToLong(Long::longValue).sum();
+        return completed * 1_000_000_000.0 / elapsedNanos;
+    }
+}
@@ -0,0 +1,91 @@
+package com.urlshortener.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Thin wrapper around {@link HttpClient} that knows the url-service API shape.
+ * Request bodies are built by hand to keep JSON serialization out of the
+ * generator's own latency.
+ */
+public class UrlServiceClient {
+
+    private static final Pattern SHORT_CODE = Pattern.compile("\"shortCode\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final HttpClient httpClient;
+    private final URI target;
+    private final Duration timeout;
+
+    public UrlServiceClient(HttpClient httpClient, URI target, Duration timeout) {
+        this.httpClient = httpClient;
+        this.target = target;
+        this.timeout = timeout;
+    }
+
+    public HttpRequest createRequest(String longUrl, String customAlias) {
+        String body = customAlias == null
+                ? "{\"longUrl\":\"" + longUrl + "\"}"
+                : "{\"longUrl\":\"" + longUrl + "\",\"customAlias\":\"" + customAlias + "\"}";
+        return HttpRequest.newBuilder(target.resolve("/api/v1/urls"))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    public HttpRequest infoRequest(String shortCode) {
+        return HttpRequest.newBuilder(target.resolve("/api/v1/urls/" + shortCode))
+                .timeout(timeout)
+                .GET()
+                .build();
+    }
+
+    public HttpRequest batchLookupRequest(List<String> shortCodes) {
+        StringBuilder body = new StringBuilder(16 + shortCodes.size() * 12).append("{\"shortCodes\":[");
+        for (int i = 0; i < shortCodes.size(); i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append('"').append(shortCodes.get(i)).append('"');
+        }
+        body.append("]}");
+        return HttpRequest.newBuilder(target.resolve("/api/v1/urls/lookup"))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    /**
+     * Send a request and return only its status; the body is discarded.
+     */
+    public int send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /**
+     * Create a mapping during scenario set-up and return its short code.
+     *
+     * @throws IllegalStateException if the service does not answer 201 or 409
+     */
+    public String createFixture(String longUrl, String customAlias) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(createRequest(longUrl, customAlias),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 409 && customAlias != null) {
+            return customAlias;
+        }
+        Matcher matcher = SHORT_CODE.matcher(response.body());
+        if (response.statusCode() != 201 || !matcher.find()) {
+            throw new IllegalStateException("Fixture creation failed: HTTP " + response.statusCode()
+                    + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+}
@@ -0,0 +1,88 @@
+package com.urlshortener.loadtest.create;
+
+import com.urlshortener.loadtest.UrlServiceClient;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop throughput of {@code POST /api/v1/urls} at high concurrency.
+ * Every worker creates a fresh long URL per request, so every call is a real
+ * insert.
+ *
+ * Group commit is a server-side setting, so compare the two modes by running
+ * this twice against the same database — once per url-service configuration:
+ *
+ * <pre>
+ * GROUP_COMMIT_ENABLED=false → gradle createBenchmark --args="--label single --concurrency 256"
+ * GROUP_COMMIT_ENABLED=true  → gradle createBenchmark --args="--label group --concurrency 256"
+ * </pre>
+ */
+public class CreateBenchmark {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    public static void main(String[] args) throws Exception {
+        CreateBenchmarkConfig config = CreateBenchmarkConfig.fromArgs(args);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.timeout())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        UrlServiceClient client = new UrlServiceClient(httpClient, config.target(), config.timeout());
+
+        System.out.printf("Create benchmark [%s]: %d workers, %ds (warm-up %ds)%n", config.label(),
+                config.concurrency(), config.duration().toSeconds(), config.warmup().toSeconds());
+
+        long runId = System.currentTimeMillis();
+        long warmupNanos = config.warmup().toNanos();
+        long measureNanos = config.duration().toNanos();
+        Recorder recorder = new Recorder(3);
+        LongAdder created = new LongAdder();
+        LongAdder failures = new LongAdder();
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + measureNanos;
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < config.concurrency(); w++) {
+                String prefix = "https://example.com/load/create/" + runId + "/" + w + "/";
+                workers.submit(() -> {
+                    long seq = 0;
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        boolean measured = now >= measureFrom;
+                        boolean ok;
+                        try {
+                            ok = client.send(client.createRequest(prefix + seq++, null)) == 201;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        if (measured) {
+                            recorder.recordValue((System.nanoTime() - now) / 1_000);
+                            (ok ? created : failures).increment();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        Histogram latency = recorder.getIntervalHistogram();
+        double seconds = measureNanos / 1e9;
+        System.out.printf(Locale.ROOT, "%n── %s ── %.0f creates/s, failures %d%n",
+                config.label(), created.sum() / seconds, failures.sum());
+        System.out.printf(Locale.ROOT, "  %-8s %12s%n", "pctl", "latency ms");
+        for (double p : PERCENTILES) {
+            System.out.printf(Locale.ROOT, "  p%-7s %12.2f%n", p % 1 == 0 ? String.valueOf((int) p) : String.valueOf(p),
+                    latency.getValueAtPercentile(p) / 1000.0);
+        }
+        System.out.printf(Locale.ROOT, "  %-8s %12.2f%n", "max", latency.getMaxValue() / 1000.0);
+    }
+}
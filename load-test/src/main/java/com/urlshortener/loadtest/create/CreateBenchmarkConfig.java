@@ -0,0 +1,54 @@
+package com.urlshortener.loadtest.create;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Parsed command-line options for a create benchmark run.
+ *
+ * @param target      base URI of url-service's REST API
+ * @param label       name printed with the results, e.g. the server-side commit mode
+ * @param concurrency closed-loop workers, each with one create in flight
+ * @param duration    measured phase length
+ * @param warmup      unmeasured warm-up phase length
+ * @param timeout     per-request timeout
+ */
+public record CreateBenchmarkConfig(
+        URI target,
+        String label,
+        int concurrency,
+        Duration duration,
+        Duration warmup,
+        Duration timeout
+) {
+
+    public static CreateBenchmarkConfig fromArgs(String[] args) {
+        URI target = URI.create("http://localhost:8081");
+        String label = "create";
+        int concurrency = 256;
+        Duration duration = Duration.ofSeconds(30);
+        Duration warmup = Duration.ofSeconds(5);
+        Duration timeout = Duration.ofSeconds(5);
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--target" -> target = URI.create(value);
+                case "--label" -> label = value;
+                case "--concurrency" -> concurrency = Integer.parseInt(value);
+                case "--duration" -> duration = Duration.ofSeconds(Long.parseLong(value));
+                case "--warmup" -> warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "--timeout-ms" -> timeout = Duration.ofMillis(Long.parseLong(value));
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("--concurrency must be positive");
+        }
+        return new CreateBenchmarkConfig(target, label, concurrency, duration, warmup, timeout);
+    }
+}
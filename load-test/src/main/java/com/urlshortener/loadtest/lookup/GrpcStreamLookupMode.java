@@ -0,0 +1,93 @@
+package com.urlshortener.loadtest.lookup;
+
+import com.urlshortener.urlservice.grpc.v1.LookupRequest;
+import com.urlshortener.urlservice.grpc.v1.LookupResponse;
+import com.urlshortener.urlservice.grpc.v1.UrlLookupGrpc;
+import io.grpc.ManagedChannel;
+import io.grpc.stub.StreamObserver;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@code UrlLookup/Resolve}: each worker keeps one bidirectional stream open
+ * and sends {@code window} codes per round, then waits for all of them to be
+ * answered. The server folds each round into a handful of MGET / IN batches.
+ */
+public class GrpcStreamLookupMode implements LookupMode {
+
+    private final UrlLookupGrpc.UrlLookupStub stub;
+    private final int window;
+    private final Duration timeout;
+
+    public GrpcStreamLookupMode(ManagedChannel channel, int window, Duration timeout) {
+        this.stub = UrlLookupGrpc.newStub(channel);
+        this.window = window;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String name() {
+        return "grpc-stream";
+    }
+
+    @Override
+    public Session open() {
+        return new StreamSession();
+    }
+
+    private class StreamSession implements Session, StreamObserver<LookupResponse> {
+
+        private final Semaphore answered = new Semaphore(0);
+        private final AtomicInteger notFound = new AtomicInteger();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final StreamObserver<LookupRequest> requests = stub.resolve(this);
+
+        @Override
+        public int round(String[] codes, int offset) throws Exception {
+            for (int i = 0; i < window; i++) {
+                requests.onNext(LookupRequest.newBuilder()
+                        .setShortCode(codes[(offset + i) % codes.length])
+                        .build());
+            }
+            if (!answered.tryAcquire(window, timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                Throwable cause = error.get();
+                if (cause != null) {
+                    throw new IllegalStateException("Stream failed", cause);
+                }
+                throw new TimeoutException("Round not answered within " + timeout.toMillis() + " ms");
+            }
+            int misses = notFound.getAndSet(0);
+            if (misses > 0) {
+                throw new IllegalStateException(misses + " codes not found");
+            }
+            return window;
+        }
+
+        @Override
+        public void onNext(LookupResponse response) {
+            if (!response.getFound()) {
+                notFound.incrementAndGet();
+            }
+            answered.release();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error.set(t);
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+
+        @Override
+        public void close() {
+            requests.onCompleted();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.urlshortener.loadtest.lookup;
+
+import com.urlshortener.urlservice.grpc.v1.LookupRequest;
+import com.urlshortener.urlservice.grpc.v1.LookupResponse;
+import com.urlshortener.urlservice.grpc.v1.UrlLookupGrpc;
+import io.grpc.ManagedChannel;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code UrlLookup/Lookup}: one unary call per code, multiplexed over a shared
+ * HTTP/2 channel.
+ */
+public class GrpcUnaryLookupMode implements LookupMode {
+
+    private final UrlLookupGrpc.UrlLookupBlockingStub stub;
+    private final Duration timeout;
+
+    public GrpcUnaryLookupMode(ManagedChannel channel, Duration timeout) {
+        this.stub = UrlLookupGrpc.newBlockingStub(channel);
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String name() {
+        return "grpc-unary";
+    }
+
+    @Override
+    public Session open() {
+        return (codes, offset) -> {
+            LookupResponse response = stub.withDeadlineAfter(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .lookup(LookupRequest.newBuilder().setShortCode(codes[offset % codes.length]).build());
+            if (!response.getFound()) {
+                throw new IllegalStateException("Not found: " + response.getShortCode());
+            }
+            return 1;
+        };
+    }
+}
@@ -0,0 +1,134 @@
+package com.urlshortener.loadtest.lookup;
+
+import com.urlshortener.loadtest.UrlServiceClient;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.shaded.io.grpc.netty.NettyChannelBuilder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop throughput comparison of REST and gRPC short-code lookups.
+ * Every mode runs the same number of workers over the same fixture codes, so
+ * lookups/s is directly comparable. Latency is recorded per round: one code
+ * for {@code rest} and {@code grpc-unary}, {@code --window} codes for
+ * {@code rest-batch} and {@code grpc-stream}.
+ *
+ * <pre>
+ * gradle lookupBenchmark --args="--concurrency 64 --window 256 --duration 20"
+ * </pre>
+ */
+public class LookupBenchmark {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+
+    public static void main(String[] args) throws Exception {
+        LookupBenchmarkConfig config = LookupBenchmarkConfig.fromArgs(args);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.timeout())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        UrlServiceClient client = new UrlServiceClient(httpClient, config.target(), config.timeout());
+        ManagedChannel channel = NettyChannelBuilder.forAddress(config.grpcHost(), config.grpcPort())
+                .usePlaintext()
+                .build();
+
+        try {
+            String[] codes = createFixtures(client, config.fixtures());
+            System.out.printf("Lookup benchmark: %d workers, %d codes, %ds per mode (warm-up %ds)%n",
+                    config.concurrency(), codes.length,
+                    config.duration().toSeconds(), config.warmup().toSeconds());
+
+            for (String name : config.modes()) {
+                LookupMode mode = switch (name) {
+                    case "rest" -> new RestLookupMode(client);
+                    case "rest-batch" -> new RestBatchLookupMode(client, config.window());
+                    case "grpc-unary" -> new GrpcUnaryLookupMode(channel, config.timeout());
+                    case "grpc-stream" -> new GrpcStreamLookupMode(channel, config.window(), config.timeout());
+                    default -> throw new IllegalArgumentException("Unknown mode: " + name);
+                };
+                run(mode, codes, config);
+            }
+        } finally {
+            channel.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static void run(LookupMode mode, String[] codes, LookupBenchmarkConfig config) throws Exception {
+        long warmupNanos = config.warmup().toNanos();
+        long measureNanos = config.duration().toNanos();
+        Recorder recorder = new Recorder(3);
+        LongAdder lookups = new LongAdder();
+        LongAdder failures = new LongAdder();
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + measureNanos;
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < config.concurrency(); w++) {
+                // Spread workers across the fixture pool
+                int firstOffset = (int) ((long) w * codes.length / config.concurrency());
+                workers.submit(() -> {
+                    int offset = firstOffset;
+                    try (LookupMode.Session session = mode.open()) {
+                        long now;
+                        while ((now = System.nanoTime()) < end) {
+                            boolean measured = now >= measureFrom;
+                            try {
+                                int answered = session.round(codes, offset);
+                                offset = (offset + answered) % codes.length;
+                                if (measured) {
+                                    recorder.recordValue((System.nanoTime() - now) / 1_000);
+                                    lookups.add(answered);
+                                }
+                            } catch (Exception e) {
+                                if (measured) {
+                                    failures.increment();
+                                }
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        Histogram rounds = recorder.getIntervalHistogram();
+        double seconds = measureNanos / 1e9;
+        System.out.printf(Locale.ROOT, "%n── %s ── %.0f lookups/s, %.0f rounds/s, failures %d%n",
+                mode.name(), lookups.sum() / seconds, rounds.getTotalCount() / seconds, failures.sum());
+        System.out.printf(Locale.ROOT, "  %-8s %12s%n", "pctl", "round ms");
+        for (double p : PERCENTILES) {
+            System.out.printf(Locale.ROOT, "  p%-7s %12.2f%n", p % 1 == 0 ? String.valueOf((int) p) : String.valueOf(p),
+                    rounds.getValueAtPercentile(p) / 1000.0);
+        }
+        System.out.printf(Locale.ROOT, "  %-8s %12.2f%n", "max", rounds.getMaxValue() / 1000.0);
+    }
+
+    private static String[] createFixtures(UrlServiceClient client, int count) throws Exception {
+        long runId = System.currentTimeMillis();
+        List<Future<String>> futures = new ArrayList<>(count);
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < count; i++) {
+                String longUrl = "https://example.com/load/lookup/" + runId + "/" + i;
+                futures.add(executor.submit(() -> client.createFixture(longUrl, null)));
+            }
+        }
+        String[] codes = new String[count];
+        for (int i = 0; i < count; i++) {
+            codes[i] = futures.get(i).get();
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,74 @@
+package com.urlshortener.loadtest.lookup;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Parsed command-line options for a lookup benchmark run.
+ *
+ * @param target      base URI of url-service's REST API
+ * @param grpcHost    host of url-service's gRPC server
+ * @param grpcPort    port of url-service's gRPC server (app.grpc.port)
+ * @param modes       lookup modes to run, in order
+ * @param fixtures    number of short codes created during set-up
+ * @param concurrency closed-loop workers per mode
+ * @param window      codes per round in the batch and streaming modes
+ * @param duration    measured phase length per mode
+ * @param warmup      unmeasured warm-up phase length per mode
+ * @param timeout     per-call timeout
+ */
+public record LookupBenchmarkConfig(
+        URI target,
+        String grpcHost,
+        int grpcPort,
+        List<String> modes,
+        int fixtures,
+        int concurrency,
+        int window,
+        Duration duration,
+        Duration warmup,
+        Duration timeout
+) {
+
+    public static LookupBenchmarkConfig fromArgs(String[] args) {
+        URI target = URI.create("http://localhost:8081");
+        String grpcHost = "localhost";
+        int grpcPort = 9091;
+        List<String> modes = List.of("rest", "rest-batch", "grpc-unary", "grpc-stream");
+        int fixtures = 1_000;
+        int concurrency = 64;
+        int window = 256;
+        Duration duration = Duration.ofSeconds(20);
+        Duration warmup = Duration.ofSeconds(5);
+        Duration timeout = Duration.ofSeconds(5);
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+            String value = args[++i];
+            switch (arg) {
+                case "--target" -> target = URI.create(value);
+                case "--grpc-host" -> grpcHost = value;
+                case "--grpc-port" -> grpcPort = Integer.parseInt(value);
+                case "--mode" -> modes = "all".equals(value)
+                        ? modes
+                        : List.of(value.split(","));
+                case "--fixtures" -> fixtures = Integer.parseInt(value);
+                case "--concurrency" -> concurrency = Integer.parseInt(value);
+                case "--window" -> window = Integer.parseInt(value);
+                case "--duration" -> duration = Duration.ofSeconds(Long.parseLong(value));
+                case "--warmup" -> warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "--timeout-ms" -> timeout = Duration.ofMillis(Long.parseLong(value));
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (fixtures <= 0 || concurrency <= 0 || window <= 0) {
+            throw new IllegalArgumentException("--fixtures, --concurrency and --window must be positive");
+        }
+        return new LookupBenchmarkConfig(target, grpcHost, grpcPort, modes, fixtures, concurrency,
+                window, duration, warmup, timeout);
+    }
+}
@@ -0,0 +1,27 @@
+package com.urlshortener.loadtest.lookup;
+
+/**
+ * One way of resolving short codes against url-service. Each benchmark worker
+ * opens its own {@link Session} and calls {@link Session#round} in a closed
+ * loop.
+ */
+public interface LookupMode {
+
+    String name();
+
+    Session open();
+
+    interface Session extends AutoCloseable {
+
+        /**
+         * Resolve one or more codes starting at {@code codes[offset]} (wrapping
+         * around) and return how many were answered.
+         *
+         * @throws Exception if a call fails or times out
+         */
+        int round(String[] codes, int offset) throws Exception;
+
+        @Override
+        default void close() {}
+    }
+}
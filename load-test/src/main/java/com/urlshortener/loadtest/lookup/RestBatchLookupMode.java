@@ -0,0 +1,41 @@
+package com.urlshortener.loadtest.lookup;
+
+import com.urlshortener.loadtest.UrlServiceClient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code POST /api/v1/urls/lookup}: {@code window} codes per request, resolved
+ * server-side with one MGET and one IN query.
+ */
+public class RestBatchLookupMode implements LookupMode {
+
+    private final UrlServiceClient client;
+    private final int window;
+
+    public RestBatchLookupMode(UrlServiceClient client, int window) {
+        this.client = client;
+        this.window = window;
+    }
+
+    @Override
+    public String name() {
+        return "rest-batch";
+    }
+
+    @Override
+    public Session open() {
+        return (codes, offset) -> {
+            List<String> batch = new ArrayList<>(window);
+            for (int i = 0; i < window; i++) {
+                batch.add(codes[(offset + i) % codes.length]);
+            }
+            int status = client.send(client.batchLookupRequest(batch));
+            if (status != 200) {
+                throw new IllegalStateException("HTTP " + status);
+            }
+            return window;
+        };
+    }
+}
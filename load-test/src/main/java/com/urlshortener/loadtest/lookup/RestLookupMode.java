@@ -0,0 +1,32 @@
+package com.urlshortener.loadtest.lookup;
+
+import com.urlshortener.loadtest.UrlServiceClient;
+
+/**
+ * {@code GET /api/v1/urls/{shortCode}}: one HTTP request and one JSON body per
+ * code.
+ */
+public class RestLookupMode implements LookupMode {
+
+    private final UrlServiceClient client;
+
+    public RestLookupMode(UrlServiceClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public String name() {
+        return "rest";
+    }
+
+    @Override
+    public Session open() {
+        return (codes, offset) -> {
+            int status = client.send(client.infoRequest(codes[offset % codes.length]));
+            if (status != 200) {
+                throw new IllegalStateException("HTTP " + status);
+            }
+            return 1;
+        };
+    }
+}
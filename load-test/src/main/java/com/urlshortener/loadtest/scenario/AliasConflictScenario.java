@@ -0,0 +1,36 @@
+package com.urlshortener.loadtest.scenario;
+
+import com.urlshortener.loadtest.UrlServiceClient;
+
+import java.net.http.HttpRequest;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * POST /api/v1/urls with a custom alias that already exists, so every request
+ * takes the 409 path.
+ */
+public class AliasConflictScenario implements Scenario {
+
+    private String alias;
+
+    @Override
+    public String name() {
+        return "alias-conflict";
+    }
+
+    @Override
+    public void setUp(UrlServiceClient client) throws Exception {
+        alias = "lt" + Long.toString(ThreadLocalRandom.current().nextLong(36L * 36 * 36 * 36 * 36 * 36), 36);
+        client.createFixture("https://example.com/load/alias", alias);
+    }
+
+    @Override
+    public HttpRequest request(UrlServiceClient client, long sequence) {
+        return client.createRequest("https://example.com/load/alias/" + sequence, alias);
+    }
+
+    @Override
+    public boolean isExpected(int status) {
+        return status == 409;
+    }
+}
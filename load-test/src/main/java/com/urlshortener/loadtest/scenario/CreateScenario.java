@@ -0,0 +1,28 @@
+package com.urlshortener.loadtest.scenario;
+
+import com.urlshortener.loadtest.UrlServiceClient;
+
+import java.net.http.HttpRequest;
+
+/**
+ * POST /api/v1/urls with a distinct long URL per request (random code path).
+ */
+public class CreateScenario implements Scenario {
+
+    private final long runId = System.currentTimeMillis();
+
+    @Override
+    public String name() {
+        return "create";
+    }
+
+    @Override
+    public HttpRequest request(UrlServiceClient client, long sequence) {
+        return client.createRequest("https://example.com/load/" + runId + "/" + sequence, null);
+    }
+
+    @Override
+    public boolean isExpected(int status) {
+        return status == 201;
+    }
+}
@@ -0,0 +1,53 @@
+package com.urlshortener.loadtest.scenario;
+
+import com.urlshortener.loadtest.UrlServiceClient;
+
+import java.net.http.HttpRequest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * GET /api/v1/urls/{shortCode} over a pre-created pool of codes.
+ */
+public class InfoLookupScenario implements Scenario {
+
+    private static final int FIXTURE_COUNT = 1_000;
+
+    private String[] codes;
+
+    @Override
+    public String name() {
+        return "info";
+    }
+
+    @Override
+    public void setUp(UrlServiceClient client) throws Exception {
+        long runId = System.currentTimeMillis();
+        List<Future<String>> futures = new ArrayList<>(FIXTURE_COUNT);
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            for (int i = 0; i < FIXTURE_COUNT; i++) {
+                String longUrl = "https://example.com/load/info/" + runId + "/" + i;
+                futures.add(executor.submit(() -> client.createFixture(longUrl, null)));
+            }
+        }
+        codes = new String[FIXTURE_COUNT];
+        for (int i = 0; i < FIXTURE_COUNT; i++) {
+            codes[i] = futures.get(i).get();
+        }
+    }
+
+    @Override
+    public HttpRequest request(UrlServiceClient client, long sequence) {
+        // Stride by a prime so consecutive arrivals hit different codes
+        int index = (int) ((sequence * 7919) % codes.length);
+        return client.infoRequest(codes[index]);
+    }
+
+    @Override
+    public boolean isExpected(int status) {
+        return status == 200;
+    }
+}
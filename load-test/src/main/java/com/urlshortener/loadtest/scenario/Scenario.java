@@ -0,0 +1,38 @@
+package com.urlshortener.loadtest.scenario;
+
+import com.urlshortener.loadtest.UrlServiceClient;
+
+import java.net.http.HttpRequest;
+
+/**
+ * One kind of request the open-loop runner fires at a constant rate.
+ */
+public interface Scenario {
+
+    String name();
+
+    /**
+     * Create any fixtures the scenario needs. Runs once, before the warm-up phase.
+     */
+    default void setUp(UrlServiceClient client) throws Exception {}
+
+    /**
+     * Build the request for the given arrival. Called on the request's own
+     * virtual thread, so it must be thread-safe.
+     */
+    HttpRequest request(UrlServiceClient client, long sequence);
+
+    /**
+     * Whether the status is the expected outcome; anything else is counted as an error.
+     */
+    boolean isExpected(int status);
+
+    static Scenario named(String name) {
+        return switch (name) {
+            case "create" -> new CreateScenario();
+            case "alias-conflict" -> new AliasConflictScenario();
+            case "info" -> new InfoLookupScenario();
+            default -> throw new IllegalArgumentException("Unknown scenario: " + name);
+        };
+    }
+}
@@ -0,0 +1,252 @@
+package com.urlshortener.loadtest.standin;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Minimal RESP2 server that stands in for Redis during local load tests.
+ *
+ * Supports the command subset url-service and its health indicator use
+ * (GET/SET/MGET/DEL/EXISTS/EXPIRE/PEXPIRE/TTL/PING/INFO plus connection
+ * handshake commands). Values live in a {@link ConcurrentHashMap}; expiry is
+ * checked lazily on read. One virtual thread per client connection.
+ *
+ * Not a Redis replacement — it exists so a benchmark run does not depend on
+ * a Redis container and its latency stays close to zero and stable.
+ */
+public class StandInRedisServer implements AutoCloseable {
+
+    private record Entry(String value, long expiresAtMillis) {
+        boolean isExpired(long now) {
+            return expiresAtMillis > 0 && now >= expiresAtMillis;
+        }
+    }
+
+    private final Map<String, Entry> store = new ConcurrentHashMap<>();
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public StandInRedisServer(int port) throws IOException {
+        serverSocket = new ServerSocket();
+        serverSocket.setReuseAddress(true);
+        serverSocket.bind(new InetSocketAddress("127.0.0.1", port));
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    public StandInRedisServer start() {
+        executor.execute(this::acceptLoop);
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = 6379;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if ("--redis-port".equals(args[i])) {
+                port = Integer.parseInt(args[i + 1]);
+            }
+        }
+        StandInRedisServer server = new StandInRedisServer(port).start();
+        System.out.println("Redis stand-in listening on 127.0.0.1:" + server.port());
+        Thread.currentThread().join();
+    }
+
+    // ── Connection handling ─────────────────────────────────
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                executor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                return; // socket closed
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket;
+             InputStream in = new BufferedInputStream(socket.getInputStream());
+             OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+            List<String> command;
+            while ((command = readCommand(in)) != null) {
+                execute(command, out);
+                // Flush only once the pipeline is drained
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // client went away
+        }
+    }
+
+    private void execute(List<String> cmd, OutputStream out) throws IOException {
+        if (cmd.isEmpty()) {
+            writeError(out, "ERR empty command");
+            return;
+        }
+        long now = System.currentTimeMillis();
+        switch (cmd.get(0).toUpperCase(Locale.ROOT)) {
+            case "PING" -> writeSimple(out, "PONG");
+            case "SELECT", "CLIENT", "READONLY" -> writeSimple(out, "OK");
+            case "INFO" -> writeBulk(out, "# Server\r\nredis_version:7.0.0-standin\r\nredis_mode:standalone\r\n");
+            case "GET" -> writeBulk(out, read(cmd.get(1), now));
+            case "MGET" -> {
+                writeArrayHeader(out, cmd.size() - 1);
+                for (int i = 1; i < cmd.size(); i++) {
+                    writeBulk(out, read(cmd.get(i), now));
+                }
+            }
+            case "SET" -> {
+                long expiresAt = 0;
+                for (int i = 3; i + 1 < cmd.size(); i += 2) {
+                    String option = cmd.get(i).toUpperCase(Locale.ROOT);
+                    if ("EX".equals(option)) {
+                        expiresAt = now + Long.parseLong(cmd.get(i + 1)) * 1000;
+                    } else if ("PX".equals(option)) {
+                        expiresAt = now + Long.parseLong(cmd.get(i + 1));
+                    }
+                }
+                store.put(cmd.get(1), new Entry(cmd.get(2), expiresAt));
+                writeSimple(out, "OK");
+            }
+            case "DEL" -> {
+                long removed = 0;
+                for (int i = 1; i < cmd.size(); i++) {
+                    if (store.remove(cmd.get(i)) != null) {
+                        removed++;
+                    }
+                }
+                writeInteger(out, removed);
+            }
+            case "EXISTS" -> {
+                long found = 0;
+                for (int i = 1; i < cmd.size(); i++) {
+                    if (read(cmd.get(i), now) != null) {
+                        found++;
+                    }
+                }
+                writeInteger(out, found);
+            }
+            case "EXPIRE", "PEXPIRE" -> {
+                long amount = Long.parseLong(cmd.get(2));
+                long ttlMillis = "EXPIRE".equalsIgnoreCase(cmd.get(0)) ? amount * 1000 : amount;
+                Entry updated = store.computeIfPresent(cmd.get(1), (k, e) -> e.isExpired(now)
+                        ? null
+                        : new Entry(e.value(), now + ttlMillis));
+                writeInteger(out, updated == null ? 0 : 1);
+            }
+            case "TTL" -> {
+                Entry entry = store.get(cmd.get(1));
+                if (entry == null || entry.isExpired(now)) {
+                    writeInteger(out, -2);
+                } else {
+                    writeInteger(out, entry.expiresAtMillis() == 0 ? -1 : (entry.expiresAtMillis() - now) / 1000);
+                }
+            }
+            default -> writeError(out, "ERR unknown command '" + cmd.get(0) + "'");
+        }
+    }
+
+    private String read(String key, long now) {
+        Entry entry = store.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(now)) {
+            store.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    // ── RESP encoding ───────────────────────────────────────
+
+    private static List<String> readCommand(InputStream in) throws IOException {
+        int type = in.read();
+        if (type == -1) {
+            return null;
+        }
+        if (type != '*') {
+            // Inline command (e.g. from redis-cli / telnet)
+            String line = (char) type + readLine(in);
+            return List.of(line.trim().split("\\s+"));
+        }
+        int count = Integer.parseInt(readLine(in));
+        List<String> args = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            if (in.read() != '$') {
+                throw new IOException("Protocol error: expected bulk string");
+            }
+            int length = Integer.parseInt(readLine(in));
+            byte[] data = in.readNBytes(length);
+            in.skipNBytes(2); // CRLF
+            args.add(new String(data, StandardCharsets.UTF_8));
+        }
+        return args;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        int c;
+        while ((c = in.read()) != -1) {
+            if (c == '\r') {
+                in.read(); // '\n'
+                break;
+            }
+            sb.append((char) c);
+        }
+        return sb.toString();
+    }
+
+    private static void writeSimple(OutputStream out, String value) throws IOException {
+        out.write(('+' + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeError(OutputStream out, String message) throws IOException {
+        out.write(('-' + message + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeInteger(OutputStream out, long value) throws IOException {
+        out.write((":" + value + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeArrayHeader(OutputStream out, int size) throws IOException {
+        out.write(("*" + size + "\r\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBulk(OutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.write("$-1\r\n".getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        out.write(('$' + String.valueOf(data.length) + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.write(data);
+        out.write("\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+}
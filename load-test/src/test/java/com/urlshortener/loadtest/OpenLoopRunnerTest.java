@@ -0,0 +1,159 @@
+package com.urlshortener.loadtest;
+
+import com.sun.net.httpserver.HttpServer;
+import com.urlshortener.loadtest.scenario.Scenario;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpenLoopRunnerTest {
+
+    private HttpServer server;
+    private final AtomicBoolean stalled = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // Single-threaded server: one slow request blocks every request queued behind it
+        server.setExecutor(Executors.newSingleThreadExecutor());
+        server.createContext("/api/v1/urls/", exchange -> {
+            if (stalled.compareAndSet(true, false)) {
+                sleep(500);
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("runPhase – holds the target rate and reports expected statuses")
+    void holdsTargetRate() {
+        RunResult result = runner(200).runPhase(lookup(), Duration.ofSeconds(1));
+
+        assertThat(result.scheduled()).isEqualTo(200);
+        assertThat(result.statusCounts()).containsEntry(200, 200L);
+        assertThat(result.unexpected()).isZero();
+        assertThat(result.failures()).isZero();
+    }
+
+    @Test
+    @DisplayName("runPhase – server stall – every request queued behind it is charged the wait")
+    void serverStallIsChargedToQueuedRequests() {
+        stalled.set(true);
+
+        RunResult result = runner(100).runPhase(lookup(), Duration.ofSeconds(1));
+
+        // ~50 of 100 arrivals land in the 500 ms stall and wait out the rest of it (500, 490, ... 10 ms),
+        // so the slowest quarter waits at least ~250 ms. Closed-loop, only one request would be slow.
+        assertThat(result.responseTime().getMaxValue()).isGreaterThanOrEqualTo(450_000);
+        assertThat(result.responseTime().getValueAtPercentile(75)).isGreaterThanOrEqualTo(200_000);
+    }
+
+    @Test
+    @DisplayName("runPhase – generator stall – response time exceeds service time by about the stall")
+    void generatorStallIsChargedToResponseTime() {
+        // Nothing can be sent for the first 500 ms; once it is, the server answers at once
+        long releaseAt = System.nanoTime() + 500_000_000L;
+        Scenario stalledLookup = new Lookup() {
+            @Override
+            public HttpRequest request(UrlServiceClient client, long sequence) {
+                sleep((releaseAt - System.nanoTime()) / 1_000_000);
+                return super.request(client, sequence);
+            }
+        };
+
+        RunResult result = runner(100).runPhase(stalledLookup, Duration.ofSeconds(1));
+
+        Histogram response = result.responseTime();
+        Histogram service = result.serviceTime();
+        assertThat(response.getMaxValue() - service.getMaxValue()).isGreaterThanOrEqualTo(400_000);
+        assertThat(response.getValueAtPercentile(75) - service.getValueAtPercentile(75))
+                .isGreaterThanOrEqualTo(200_000);
+    }
+
+    @Test
+    @DisplayName("runPhase – max in flight reached – arrivals dropped and reported as errors")
+    void droppedArrivalsAreErrors() {
+        stalled.set(true);
+
+        RunResult result = runner(100, 1).runPhase(lookup(), Duration.ofSeconds(1));
+
+        assertThat(result.dropped()).isGreaterThanOrEqualTo(40);
+        assertThat(result.errors()).isEqualTo(result.unexpected() + result.failures() + result.dropped());
+        assertThat(result.responseTime().getTotalCount() + result.dropped()).isEqualTo(result.scheduled());
+
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        LatencyReport.print(new PrintStream(printed, true, StandardCharsets.UTF_8), result);
+        assertThat(printed.toString(StandardCharsets.UTF_8))
+                .contains("dropped " + result.dropped())
+                .contains("not in the percentiles");
+    }
+
+    private OpenLoopRunner runner(int rate) {
+        return runner(rate, 1_000);
+    }
+
+    private OpenLoopRunner runner(int rate, int maxInFlight) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        URI target = URI.create("http://127.0.0.1:" + server.getAddress().getPort());
+        return new OpenLoopRunner(new UrlServiceClient(httpClient, target, Duration.ofSeconds(5)), rate, maxInFlight);
+    }
+
+    private static Scenario lookup() {
+        return new Lookup();
+    }
+
+    private static class Lookup implements Scenario {
+
+        @Override
+        public String name() {
+            return "lookup";
+        }
+
+        @Override
+        public HttpRequest request(UrlServiceClient client, long sequence) {
+            return client.infoRequest("code" + sequence);
+        }
+
+        @Override
+        public boolean isExpected(int status) {
+            return status == 200;
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.urlshortener.loadtest.standin;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StandInRedisServerTest {
+
+    private StandInRedisServer server;
+    private Socket socket;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new StandInRedisServer(0).start();
+        socket = new Socket("127.0.0.1", server.port());
+        socket.setSoTimeout(2_000);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        socket.close();
+        server.close();
+    }
+
+    @Test
+    @DisplayName("SET then GET returns the stored value")
+    void setThenGet() throws IOException {
+        assertThat(call("SET", "url:abc", "https://example.com")).isEqualTo("+OK\r\n");
+        assertThat(call("GET", "url:abc")).isEqualTo("$19\r\nhttps://example.com\r\n");
+    }
+
+    @Test
+    @DisplayName("GET on a missing key returns a null bulk string")
+    void getMissing() throws IOException {
+        assertThat(call("GET", "url:none")).isEqualTo("$-1\r\n");
+    }
+
+    @Test
+    @DisplayName("MGET returns values and nulls in request order")
+    void mget() throws IOException {
+        call("SET", "a", "1");
+        call("SET", "c", "3");
+        assertThat(call("MGET", "a", "b", "c")).isEqualTo("*3\r\n$1\r\n1\r\n$-1\r\n$1\r\n3\r\n");
+    }
+
+    @Test
+    @DisplayName("PEXPIRE makes the key disappear once the TTL passes")
+    void pexpire() throws Exception {
+        call("SET", "k", "v");
+        assertThat(call("PEXPIRE", "k", "50")).isEqualTo(":1\r\n");
+        Thread.sleep(100);
+        assertThat(call("GET", "k")).isEqualTo("$-1\r\n");
+    }
+
+    @Test
+    @DisplayName("unknown commands return a RESP error")
+    void unknownCommand() throws IOException {
+        assertThat(call("HELLO", "3")).startsWith("-ERR unknown command");
+    }
+
+    private String call(String... args) throws IOException {
+        StringBuilder sb = new StringBuilder("*").append(args.length).append("\r\n");
+        for (String arg : args) {
+            sb.append('$').append(arg.getBytes(StandardCharsets.UTF_8).length).append("\r\n").append(arg).append("\r\n");
+        }
+        OutputStream out = socket.getOutputStream();
+        out.write(sb.toString().getBytes(StandardCharsets.UTF_8));
+        out.flush();
+
+        // Replies in these tests are small; read until the socket has nothing buffered
+        InputStream in = socket.getInputStream();
+        byte[] buf = new byte[1024];
+        int n = in.read(buf);
+        StringBuilder reply = new StringBuilder(new String(buf, 0, n, StandardCharsets.UTF_8));
+        while (!isComplete(reply.toString())) {
+            n = in.read(buf);
+            reply.append(new String(buf, 0, n, StandardCharsets.UTF_8));
+        }
+        return reply.toString();
+    }
+
+    private static boolean isComplete(String reply) {
+        if (reply.startsWith("*")) {
+            int expected = Integer.parseInt(reply.substring(1, reply.indexOf('\r')));
+            long lines = reply.chars().filter(c -> c == '\n').count();
+            // header + one line per null or two per value; count values to be safe
+            long nulls = reply.split("\\$-1\r\n", -1).length - 1;
+            return lines == 1 + nulls + 2 * (expected - nulls);
+        }
+        if (reply.startsWith("$") && !reply.startsWith("$-1")) {
+            return reply.chars().filter(c -> c == '\n').count() == 2;
+        }
+        return reply.endsWith("\r\n");
+    }
+}
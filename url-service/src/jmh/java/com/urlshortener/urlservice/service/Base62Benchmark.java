@@ -0,0 +1,136 @@
+package com.urlshortener.urlservice.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Base62Encoder} against the {@code indexOf} / {@code StringBuilder}
+ * codec it replaced, on 7-digit codes. Scores are per code; the default
+ * {@code -prof gc} shows the allocation difference between the
+ * {@code String} and array paths.
+ *
+ * <pre>
+ * ./gradlew jmh
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(Base62Benchmark.CORPUS_SIZE)
+public class Base62Benchmark {
+
+    static final int CORPUS_SIZE = 1024;
+    private static final int WIDTH = 7;
+    private static final String ALPHABET = "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+    private long[] values;
+    private String[] codes;
+    private byte[] packed;
+    private byte[] encodeBuffer;
+    private long[] decodeBuffer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        values = new long[CORPUS_SIZE];
+        codes = new String[CORPUS_SIZE];
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            values[i] = random.nextLong(Base62Encoder.capacity(WIDTH));
+            codes[i] = Base62Encoder.encode(values[i], WIDTH);
+        }
+        packed = String.join("", codes).getBytes(StandardCharsets.US_ASCII);
+        encodeBuffer = new byte[CORPUS_SIZE * WIDTH];
+        decodeBuffer = new long[CORPUS_SIZE];
+    }
+
+    @Benchmark
+    public void legacyEncode(Blackhole bh) {
+        for (long value : values) {
+            bh.consume(legacyEncode(value));
+        }
+    }
+
+    @Benchmark
+    public void encodeString(Blackhole bh) {
+        for (long value : values) {
+            bh.consume(Base62Encoder.encode(value));
+        }
+    }
+
+    @Benchmark
+    public void encodeBytes(Blackhole bh) {
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            bh.consume(Base62Encoder.encode(values[i], encodeBuffer, i * WIDTH, WIDTH));
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeAll() {
+        Base62Encoder.encodeAll(values, WIDTH, encodeBuffer);
+        return encodeBuffer;
+    }
+
+    @Benchmark
+    public void legacyDecode(Blackhole bh) {
+        for (String code : codes) {
+            bh.consume(legacyDecode(code));
+        }
+    }
+
+    @Benchmark
+    public void decodeString(Blackhole bh) {
+        for (String code : codes) {
+            bh.consume(Base62Encoder.decode(code));
+        }
+    }
+
+    @Benchmark
+    public long[] decodeAll() {
+        Base62Encoder.decodeAll(packed, WIDTH, decodeBuffer);
+        return decodeBuffer;
+    }
+
+    @Benchmark
+    public void isValid(Blackhole bh) {
+        for (String code : codes) {
+            bh.consume(Base62Encoder.isValid(code));
+        }
+    }
+
+    private static String legacyEncode(long value) {
+        if (value == 0) return String.valueOf(ALPHABET.charAt(0));
+
+        StringBuilder sb = new StringBuilder();
+        while (value > 0) {
+            sb.append(ALPHABET.charAt((int) (value % 62)));
+            value /= 62;
+        }
+        return sb.reverse().toString();
+    }
+
+    private static long legacyDecode(String encoded) {
+        long result = 0;
+        for (char c : encoded.toCharArray()) {
+            result = result * 62 + ALPHABET.indexOf(c);
+        }
+        return result;
+    }
+}
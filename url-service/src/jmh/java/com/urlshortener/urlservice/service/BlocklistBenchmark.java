@@ -0,0 +1,104 @@
+package com.urlshortener.urlservice.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Blocklist#match} against a synthetic list of {@code domains}
+ * domains and {@code substrings} URL substrings. Scores are per URL; most of
+ * the corpus is allowed, as in production. Setup prints the load time and
+ * the footprint reported by {@link Blocklist#memoryBytes()}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Benchmark)
+@OperationsPerInvocation(BlocklistBenchmark.CORPUS_SIZE)
+public class BlocklistBenchmark {
+
+    static final int CORPUS_SIZE = 8;
+
+    private static final String[] TLDS = {
+            "com", "net", "org", "info", "xyz", "top", "ru", "cn", "io", "co", "online", "site", "club", "shop"
+    };
+
+    @Param({"1000000", "3000000"})
+    int domains;
+
+    @Param({"10000"})
+    int substrings;
+
+    private Blocklist blocklist;
+    private String[] corpus;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder file = new StringBuilder(domains * 24);
+        String blocked = null;
+        for (int i = 0; i < domains; i++) {
+            if (random.nextInt(5) == 0) {
+                file.append(label(random)).append('.');
+            }
+            String domain = label(random) + "." + TLDS[random.nextInt(TLDS.length)];
+            file.append(domain).append('\n');
+            if (i == domains / 2) {
+                blocked = domain;
+            }
+        }
+        for (int i = 0; i < substrings; i++) {
+            file.append(Blocklist.CONTAINS_PREFIX).append('/').append(label(random)).append(".php?").append('\n');
+        }
+
+        long start = System.nanoTime();
+        blocklist = Blocklist.parse(new BufferedReader(new StringReader(file.toString())));
+        System.out.printf("%nLoaded %d domains, %d substrings in %d ms, ~%d MB%n",
+                blocklist.domainCount(), blocklist.substringCount(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), blocklist.memoryBytes() >> 20);
+
+        corpus = new String[]{
+                "https://www.wikipedia.org/wiki/Uniform_Resource_Locator",
+                "https://github.com/spring-projects/spring-boot/issues/39142",
+                "https://www.nytimes.com/2026/02/14/technology/ai-chips-export.html?smid=url-share",
+                "https://www.amazon.com/Logitech-MX-Master-3S-Wireless/dp/B09HM94VDS/ref=sr_1_3?crid=2Q8ABC&keywords=mx+master",
+                "https://shop.example.com/products/shoes?id=7",
+                "https://www.youtube.com/watch?v=dQw4w9WgXcQ&list=PLFgquLnL59alCl_2TQvOiD5Vgm1hCaGSI&index=2",
+                "https://login." + blocked + "/account/verify",
+                "https://cdn.example.net/assets/images/2026/02/hero-banner-1920x1080.webp?v=3f9a1c2",
+        };
+    }
+
+    @Benchmark
+    public void match(Blackhole bh) {
+        for (String url : corpus) {
+            bh.consume(blocklist.match(url));
+        }
+    }
+
+    private static String label(SplittableRandom random) {
+        char[] chars = new char[5 + random.nextInt(11)];
+        for (int k = 0; k < chars.length; k++) {
+            chars[k] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+}
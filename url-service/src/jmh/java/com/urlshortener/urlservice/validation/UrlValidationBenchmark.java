@@ -0,0 +1,135 @@
+package com.urlshortener.urlservice.validation;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.hibernate.validator.constraints.URL;
+import org.hibernate.validator.internal.constraintvalidators.hv.URLValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code @URL} against {@code @ValidUrl} on a corpus of URLs as they arrive
+ * at POST /api/v1/urls. Scores are per URL; run with {@code -prof gc} (the
+ * default in build.gradle) for bytes allocated per URL.
+ *
+ * <pre>
+ * ./gradlew jmh
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(UrlValidationBenchmark.CORPUS_SIZE)
+public class UrlValidationBenchmark {
+
+    static final int CORPUS_SIZE = 16;
+
+    private static final String[] CORPUS = {
+            "https://example.com",
+            "https://www.wikipedia.org/wiki/Uniform_Resource_Locator",
+            "https://github.com/spring-projects/spring-boot/issues/39142",
+            "https://www.nytimes.com/2026/02/14/technology/ai-chips-export.html?smid=url-share",
+            "https://docs.google.com/document/d/1aBcD3fGhIjKlMnOpQrStUvWxYz0123456789/edit#heading=h.3znysh7",
+            "https://www.amazon.com/Logitech-MX-Master-3S-Wireless/dp/B09HM94VDS/ref=sr_1_3?crid=2Q8ABC&keywords=mx+master&qid=1708000000&sr=8-3",
+            "https://shop.example.com/products/shoes?utm_source=newsletter&utm_medium=email&utm_campaign=spring_sale&utm_content=hero",
+            "https://www.youtube.com/watch?v=dQw4w9WgXcQ&list=PLFgquLnL59alCl_2TQvOiD5Vgm1hCaGSI&index=2",
+            "HTTPS://Blog.Example.COM:443/Posts/2026/Why-We-Canonicalize",
+            "https://maps.google.com/maps?q=52.5200%2C13.4050&z=14&hl=de",
+            "https://example.org/search?q=caf%c3%a9+cr%c3%a8me&page=2",
+            "http://localhost:8080/api/v1/urls/abc1234/stats",
+            "https://news.ycombinator.com/item?id=39462345",
+            "https://twitter.com/someone/status/1758000000000000000?s=20&t=AbCdEfGhIjKlMnOp&fbclid=IwAR0xyz",
+            "https://cdn.example.net/assets/images/2026/02/hero-banner-1920x1080.webp?v=3f9a1c2",
+            "https://www.linkedin.com/jobs/view/3812345678/?refId=abc%3D%3D&trackingId=xyz%2B%2B&trk=flagship3_search",
+    };
+
+    private Validator validator;
+    private ValidatorFactory factory;
+    private URLValidator urlValidator;
+
+    @Setup(Level.Trial)
+    public void setUp() throws NoSuchFieldException {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        urlValidator = new URLValidator();
+        urlValidator.initialize(HibernateUrl.class.getDeclaredField("longUrl").getAnnotation(URL.class));
+        for (String url : CORPUS) {
+            if (!validator.validateValue(HibernateUrl.class, "longUrl", url).isEmpty()
+                    || !validator.validateValue(CanonicalUrl.class, "longUrl", url).isEmpty()) {
+                throw new IllegalStateException("Corpus URL rejected: " + url);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        factory.close();
+    }
+
+    /** The old constraint through Bean Validation, as the controller ran it. */
+    @Benchmark
+    public void hibernateUrlConstraint(Blackhole bh) {
+        for (String url : CORPUS) {
+            bh.consume(validator.validateValue(HibernateUrl.class, "longUrl", url));
+        }
+    }
+
+    /** The new constraint through Bean Validation. */
+    @Benchmark
+    public void validUrlConstraint(Blackhole bh) {
+        for (String url : CORPUS) {
+            bh.consume(validator.validateValue(CanonicalUrl.class, "longUrl", url));
+        }
+    }
+
+    /** Hibernate's validator alone, without the {@code @Pattern} it composes. */
+    @Benchmark
+    public void hibernateUrlValidator(Blackhole bh) {
+        for (String url : CORPUS) {
+            bh.consume(urlValidator.isValid(url, null));
+        }
+    }
+
+    @Benchmark
+    public void isValid(Blackhole bh) {
+        for (String url : CORPUS) {
+            bh.consume(UrlCanonicalizer.isValid(url));
+        }
+    }
+
+    /** Validation plus canonical form, as UrlService stores it. */
+    @Benchmark
+    public void canonicalize(Blackhole bh) {
+        for (String url : CORPUS) {
+            bh.consume(UrlCanonicalizer.canonicalize(url, true));
+        }
+    }
+
+    static class HibernateUrl {
+        @URL
+        String longUrl;
+    }
+
+    static class CanonicalUrl {
+        @ValidUrl
+        String longUrl;
+    }
+}
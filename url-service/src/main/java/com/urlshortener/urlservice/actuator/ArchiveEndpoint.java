@@ -0,0 +1,37 @@
+package com.urlshortener.urlservice.actuator;
+
+import com.urlshortener.urlservice.repository.UrlArchiveRepository.TableSize;
+import com.urlshortener.urlservice.service.UrlArchiveService;
+import com.urlshortener.urlservice.service.UrlArchiveService.LastRun;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * GET  /actuator/archive — current hot/cold table sizes and the last run.
+ * POST /actuator/archive — run one archival pass now.
+ */
+@Component
+@Endpoint(id = "archive")
+@RequiredArgsConstructor
+public class ArchiveEndpoint {
+
+    private final UrlArchiveService urlArchiveService;
+
+    public record Report(List<TableSize> current, LastRun lastRun) {}
+
+    @ReadOperation
+    public Report report() {
+        return new Report(urlArchiveService.tableSizes(), urlArchiveService.getLastRun());
+    }
+
+    @WriteOperation
+    public LastRun archive() {
+        urlArchiveService.archive();
+        return urlArchiveService.getLastRun();
+    }
+}
@@ -0,0 +1,31 @@
+package com.urlshortener.urlservice.actuator;
+
+import com.urlshortener.urlservice.service.HotLinkService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * GET /actuator/heavyhitters
+ *
+ * Current top-K links by decayed access count, and whether each is pinned.
+ */
+@Component
+@Endpoint(id = "heavyhitters")
+@RequiredArgsConstructor
+public class HeavyHittersEndpoint {
+
+    private final HotLinkService hotLinkService;
+
+    public record Entry(String shortCode, long estimate, boolean pinned) {}
+
+    @ReadOperation
+    public List<Entry> heavyHitters() {
+        return hotLinkService.heavyHitters().stream()
+                .map(h -> new Entry(h.key(), h.estimate(), hotLinkService.isPinned(h.key())))
+                .toList();
+    }
+}
@@ -0,0 +1,44 @@
+package com.urlshortener.urlservice.actuator;
+
+import com.urlshortener.urlservice.service.LocalIndexService;
+import com.urlshortener.urlservice.service.LocalIndexService.Stats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * GET  /actuator/localindex          — size and generation of the local fallback index.
+ * POST /actuator/localindex/verify   — check every record checksum and index slot.
+ * POST /actuator/localindex/compact  — drop superseded and expired records.
+ * POST /actuator/localindex/rebuild  — rebuild the index from PostgreSQL.
+ *
+ * 404 while {@code app.local-index.enabled} is false.
+ */
+@Component
+@Endpoint(id = "localindex")
+@RequiredArgsConstructor
+public class LocalIndexEndpoint {
+
+    private final LocalIndexService localIndexService;
+
+    @ReadOperation
+    public Stats stats() {
+        return localIndexService.stats();
+    }
+
+    @WriteOperation
+    public Object run(@Selector String action) throws IOException {
+        return switch (action) {
+            case "verify" -> localIndexService.verify();
+            case "compact" -> localIndexService.compact();
+            case "rebuild" -> localIndexService.rebuildFromDatabase();
+            default -> throw new IllegalArgumentException("Unknown action '" + action
+                    + "'; expected verify, compact or rebuild");
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.urlshortener.urlservice.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class GrpcConfig {
+
+    /**
+     * Runs partial-batch flushes for streaming Resolve calls. Those flushes
+     * block on Redis/Postgres, so the pool is sized like a small worker pool
+     * rather than a single timer thread.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService grpcBatchTimer() {
+        AtomicInteger counter = new AtomicInteger();
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        return Executors.newScheduledThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "grpc-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -1,9 +1,12 @@
 package com.urlshortener.urlservice.config;
 
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -14,6 +17,10 @@ public class RabbitMQConfig {
     public static final String CLICK_QUEUE = "click.events.queue";
     public static final String CLICK_ROUTING_KEY = "click.event";
 
+    // Own queue on the same routing key, so click stats don't compete with
+    // analytics-service for messages on click.events.queue
+    public static final String STATS_QUEUE = "url.stats.queue";
+
     @Bean
     public TopicExchange exchange() {
         return new TopicExchange(EXCHANGE_NAME);
@@ -29,6 +36,42 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(clickQueue).to(exchange).with(CLICK_ROUTING_KEY);
     }
 
+    @Bean
+    public Queue statsQueue() {
+        return QueueBuilder.durable(STATS_QUEUE).build();
+    }
+
+    @Bean
+    public Binding statsBinding(Queue statsQueue, TopicExchange exchange) {
+        return BindingBuilder.bind(statsQueue).to(exchange).with(CLICK_ROUTING_KEY);
+    }
+
+    /**
+     * Throughput-oriented container for the click stats consumer: a high
+     * prefetch keeps the channel full, and consumer-side batching hands the
+     * listener a list and acks the whole batch with one multiple-ack.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory clickStatsContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            Jackson2JsonMessageConverter converter,
+            @Value("${app.click-stats.prefetch:500}") int prefetch,
+            @Value("${app.click-stats.batch-size:200}") int batchSize,
+            @Value("${app.click-stats.consumers:2}") int consumers) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setMessageConverter(converter);
+        factory.setPrefetchCount(prefetch);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        // Hand over a partial batch when traffic is light instead of waiting for a full one
+        factory.setReceiveTimeout(200L);
+        factory.setConcurrentConsumers(consumers);
+        return factory;
+    }
+
     @Bean
     public Jackson2JsonMessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
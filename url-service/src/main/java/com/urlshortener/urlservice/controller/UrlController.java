@@ -1,7 +1,14 @@
 package com.urlshortener.urlservice.controller;
 
+import com.urlshortener.urlservice.dto.BatchLookupRequest;
+import com.urlshortener.urlservice.dto.BatchLookupResponse;
+import com.urlshortener.urlservice.dto.ClickStatsResponse;
 import com.urlshortener.urlservice.dto.CreateUrlRequest;
 import com.urlshortener.urlservice.dto.CreateUrlResponse;
+import com.urlshortener.urlservice.exception.UrlNotFoundException;
+import com.urlshortener.urlservice.service.Base62Encoder;
+import com.urlshortener.urlservice.service.ClickStatsService;
+import com.urlshortener.urlservice.service.UrlLookupService;
 import com.urlshortener.urlservice.service.UrlService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +22,8 @@ import org.springframework.web.bind.annotation.*;
 public class UrlController {
 
     private final UrlService urlService;
+    private final ClickStatsService clickStatsService;
+    private final UrlLookupService urlLookupService;
 
     /**
      * POST /api/v1/urls
@@ -26,16 +35,39 @@ public class UrlController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * POST /api/v1/urls/lookup
+     * Resolve up to 1000 short codes in one call: one Redis MGET, one IN query
+     * for the misses. Unknown, inactive and expired codes come back with found=false.
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<BatchLookupResponse> lookupUrls(@Valid @RequestBody BatchLookupRequest request) {
+        BatchLookupResponse response = urlLookupService.lookup(request.getShortCodes());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * GET /api/v1/urls/{shortCode}
      * Get URL info (not redirect – useful for admin/debug).
      */
     @GetMapping("/{shortCode}")
     public ResponseEntity<CreateUrlResponse> getUrlInfo(@PathVariable String shortCode) {
+        requireShortCode(shortCode);
         CreateUrlResponse response = urlService.getUrlInfo(shortCode);
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * GET /api/v1/urls/{shortCode}/stats
+     * Click totals and unique visitors, aggregated in-service from click events.
+     */
+    @GetMapping("/{shortCode}/stats")
+    public ResponseEntity<ClickStatsResponse> getClickStats(@PathVariable String shortCode) {
+        requireShortCode(shortCode);
+        ClickStatsResponse response = clickStatsService.getStats(shortCode);
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Health check for the service.
      */
@@ -43,4 +75,14 @@ public class UrlController {
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("URL Service is up");
     }
+
+    /**
+     * A code with characters outside base62 can never have been issued, so
+     * answer 404 without touching Redis or the database.
+     */
+    private static void requireShortCode(String shortCode) {
+        if (!Base62Encoder.isValid(shortCode)) {
+            throw new UrlNotFoundException("Short code not found: " + shortCode);
+        }
+    }
 }
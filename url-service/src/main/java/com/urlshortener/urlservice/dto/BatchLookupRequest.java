@@ -0,0 +1,22 @@
+package com.urlshortener.urlservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchLookupRequest {
+
+    public static final int MAX_CODES = 1000;
+
+    @NotEmpty(message = "shortCodes is required")
+    @Size(max = MAX_CODES, message = "At most " + MAX_CODES + " short codes per lookup")
+    private List<@NotBlank(message = "Short code must not be blank") String> shortCodes;
+}
@@ -0,0 +1,17 @@
+package com.urlshortener.urlservice.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchLookupResponse {
+
+    private int requested;
+    private int found;
+    private List<UrlLookupResult> results;
+}
@@ -0,0 +1,21 @@
+package com.urlshortener.urlservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.*;
+
+/**
+ * Click event as published by redirect-service on {@code click.event}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ClickEvent {
+    private String shortCode;
+    private String timestamp;
+    private String ipAddress;
+    private String userAgent;
+    private String referrer;
+}
@@ -0,0 +1,17 @@
+package com.urlshortener.urlservice.dto;
+
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClickStatsResponse {
+
+    private String shortCode;
+    private long totalClicks;
+    private long uniqueVisitors;
+    private LocalDateTime lastClickAt;
+}
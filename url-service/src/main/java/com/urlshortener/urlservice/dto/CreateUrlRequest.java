@@ -1,9 +1,10 @@
 package com.urlshortener.urlservice.dto;
 
+import com.urlshortener.urlservice.validation.ShortCode;
+import com.urlshortener.urlservice.validation.ValidUrl;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
-import org.hibernate.validator.constraints.URL;
 
 import java.time.LocalDateTime;
 
@@ -15,11 +16,12 @@ import java.time.LocalDateTime;
 public class CreateUrlRequest {
 
     @NotBlank(message = "longUrl is required")
-    @URL(message = "Must be a valid URL")
+    @ValidUrl
     @Size(max = 2048, message = "URL must not exceed 2048 characters")
     private String longUrl;
 
     @Size(min = 3, max = 10, message = "Custom alias must be 3-10 characters")
+    @ShortCode(message = "Custom alias must contain only letters and digits")
     private String customAlias;
 
     private LocalDateTime expiryDate;
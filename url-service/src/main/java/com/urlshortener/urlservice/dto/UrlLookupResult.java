@@ -0,0 +1,15 @@
+package com.urlshortener.urlservice.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UrlLookupResult {
+
+    private String shortCode;
+    private boolean found;
+    private String longUrl;
+}
@@ -0,0 +1,7 @@
+package com.urlshortener.urlservice.exception;
+
+public class BlockedUrlException extends RuntimeException {
+    public BlockedUrlException(String message) {
+        super(message);
+    }
+}
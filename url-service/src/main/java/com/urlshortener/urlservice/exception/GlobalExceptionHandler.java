@@ -24,6 +24,17 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(BlockedUrlException.class)
+    public ResponseEntity<ErrorResponse> handleBlocked(BlockedUrlException ex) {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(
+                ErrorResponse.builder()
+                        .status(403)
+                        .message(ex.getMessage())
+                        .timestamp(LocalDateTime.now())
+                        .build()
+        );
+    }
+
     @ExceptionHandler(UrlNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleNotFound(UrlNotFoundException ex) {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
@@ -0,0 +1,73 @@
+package com.urlshortener.urlservice.grpc;
+
+import io.grpc.Server;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the gRPC server alongside Tomcat on {@code app.grpc.port}.
+ * Disabled with {@code app.grpc.enabled=false}.
+ */
+@Component
+@Slf4j
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+    private final UrlLookupGrpcService urlLookupGrpcService;
+
+    @Value("${app.grpc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.grpc.port:9091}")
+    private int port;
+
+    private Server server;
+
+    public GrpcServerLifecycle(UrlLookupGrpcService urlLookupGrpcService) {
+        this.urlLookupGrpcService = urlLookupGrpcService;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            server = NettyServerBuilder.forPort(port)
+                    .addService(urlLookupGrpcService)
+                    .build()
+                    .start();
+            log.info("gRPC server started on port {}", port);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start gRPC server on port " + port, e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (server == null) {
+            return;
+        }
+        server.shutdown();
+        try {
+            if (!server.awaitTermination(10, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            server.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null && !server.isShutdown();
+    }
+}
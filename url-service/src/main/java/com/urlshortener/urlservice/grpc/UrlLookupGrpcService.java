@@ -0,0 +1,209 @@
+package com.urlshortener.urlservice.grpc;
+
+import com.urlshortener.urlservice.grpc.v1.LookupRequest;
+import com.urlshortener.urlservice.grpc.v1.LookupResponse;
+import com.urlshortener.urlservice.grpc.v1.UrlLookupGrpc;
+import com.urlshortener.urlservice.service.UrlLookupService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gRPC front end for {@link UrlLookupService}.
+ *
+ * {@code Resolve} buffers incoming codes per call and resolves them as one
+ * batch when {@code app.grpc.batch-size} codes have arrived or
+ * {@code app.grpc.batch-delay-ms} has passed since the first buffered code,
+ * whichever comes first. Full batches are resolved on the inbound thread, so
+ * a slow database naturally slows how fast the call reads more requests.
+ *
+ * Inbound messages are requested one at a time, and only while the outbound
+ * side is ready. A client that stops reading responses therefore stops the
+ * call from reading its requests too, after at most one batch of responses
+ * has been queued for it.
+ *
+ * Both RPCs fail with {@code UNAVAILABLE} when the database cannot be reached
+ * and no local index answers instead.
+ */
+@Component
+@Slf4j
+public class UrlLookupGrpcService extends UrlLookupGrpc.UrlLookupImplBase {
+
+    private final UrlLookupService urlLookupService;
+    private final ScheduledExecutorService batchTimer;
+    private final int batchSize;
+    private final long batchDelayMillis;
+
+    public UrlLookupGrpcService(UrlLookupService urlLookupService,
+                                ScheduledExecutorService grpcBatchTimer,
+                                @Value("${app.grpc.batch-size:256}") int batchSize,
+                                @Value("${app.grpc.batch-delay-ms:2}") long batchDelayMillis) {
+        this.urlLookupService = urlLookupService;
+        this.batchTimer = grpcBatchTimer;
+        this.batchSize = batchSize;
+        this.batchDelayMillis = batchDelayMillis;
+    }
+
+    @Override
+    public void lookup(LookupRequest request, StreamObserver<LookupResponse> responseObserver) {
+        String code = request.getShortCode();
+        Map<String, String> resolved;
+        try {
+            resolved = urlLookupService.resolve(List.of(code));
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Lookup of {} failed: {}", code, e.getMessage());
+            responseObserver.onError(unavailable(e));
+            return;
+        }
+        responseObserver.onNext(toResponse(code, resolved.get(code)));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public StreamObserver<LookupRequest> resolve(StreamObserver<LookupResponse> responseObserver) {
+        ServerCallStreamObserver<LookupResponse> call = (ServerCallStreamObserver<LookupResponse>) responseObserver;
+        call.disableAutoRequest();
+        BatchingObserver observer = new BatchingObserver(call);
+        call.setOnReadyHandler(observer::onReady);
+        return observer;
+    }
+
+    private static StatusRuntimeException unavailable(Exception cause) {
+        return Status.UNAVAILABLE
+                .withDescription("Lookup failed")
+                .withCause(cause)
+                .asRuntimeException();
+    }
+
+    private static LookupResponse toResponse(String code, String longUrl) {
+        LookupResponse.Builder builder = LookupResponse.newBuilder()
+                .setShortCode(code)
+                .setFound(longUrl != null);
+        if (longUrl != null) {
+            builder.setLongUrl(longUrl);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Per-call buffer. All buffer access and all writes to the response
+     * observer (which is not thread-safe) happen under {@code this}.
+     */
+    private final class BatchingObserver implements StreamObserver<LookupRequest> {
+
+        private final ServerCallStreamObserver<LookupResponse> responseObserver;
+        private List<String> buffer = new ArrayList<>();
+        private ScheduledFuture<?> pendingFlush;
+        private boolean closed;
+        // True while no inbound message is requested because the outbound side was not ready
+        private boolean awaitingReady = true;
+
+        BatchingObserver(ServerCallStreamObserver<LookupResponse> responseObserver) {
+            this.responseObserver = responseObserver;
+        }
+
+        /**
+         * Outbound became ready (also fires once when the call starts): resume
+         * reading if reading was paused.
+         */
+        synchronized void onReady() {
+            if (awaitingReady && !closed && responseObserver.isReady()) {
+                awaitingReady = false;
+                responseObserver.request(1);
+            }
+        }
+
+        @Override
+        public synchronized void onNext(LookupRequest request) {
+            if (closed) {
+                return;
+            }
+            buffer.add(request.getShortCode());
+            if (buffer.size() >= batchSize) {
+                flush();
+            } else if (pendingFlush == null) {
+                pendingFlush = batchTimer.schedule(this::timedFlush, batchDelayMillis, TimeUnit.MILLISECONDS);
+            }
+            requestNext();
+        }
+
+        @Override
+        public synchronized void onError(Throwable t) {
+            closed = true;
+            cancelTimer();
+            buffer = new ArrayList<>();
+            log.debug("Resolve stream cancelled by client: {}", t.getMessage());
+        }
+
+        @Override
+        public synchronized void onCompleted() {
+            if (closed) {
+                return;
+            }
+            flush();
+            if (closed) {
+                // The final batch failed and the call was already closed with an error
+                return;
+            }
+            closed = true;
+            responseObserver.onCompleted();
+        }
+
+        private synchronized void timedFlush() {
+            pendingFlush = null;
+            if (!closed) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            cancelTimer();
+            if (buffer.isEmpty()) {
+                return;
+            }
+            List<String> batch = buffer;
+            buffer = new ArrayList<>(batchSize);
+            try {
+                Map<String, String> resolved = urlLookupService.resolve(batch);
+                for (String code : batch) {
+                    responseObserver.onNext(toResponse(code, resolved.get(code)));
+                }
+            } catch (Exception e) {
+                log.warn("Batch resolve of {} code(s) failed: {}", batch.size(), e.getMessage());
+                closed = true;
+                responseObserver.onError(unavailable(e));
+            }
+        }
+
+        private void requestNext() {
+            if (closed) {
+                return;
+            }
+            if (responseObserver.isReady()) {
+                responseObserver.request(1);
+            } else {
+                awaitingReady = true;
+            }
+        }
+
+        private void cancelTimer() {
+            if (pendingFlush != null) {
+                pendingFlush.cancel(false);
+                pendingFlush = null;
+            }
+        }
+    }
+}
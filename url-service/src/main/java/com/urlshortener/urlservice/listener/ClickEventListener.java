@@ -0,0 +1,28 @@
+package com.urlshortener.urlservice.listener;
+
+import com.urlshortener.urlservice.config.RabbitMQConfig;
+import com.urlshortener.urlservice.dto.ClickEvent;
+import com.urlshortener.urlservice.service.ClickStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Consumes click events in batches; the whole batch is acked with a single
+ * multiple-ack once this method returns.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClickEventListener {
+
+    private final ClickStatsService clickStatsService;
+
+    @RabbitListener(queues = RabbitMQConfig.STATS_QUEUE, containerFactory = "clickStatsContainerFactory")
+    public void onClicks(List<ClickEvent> events) {
+        for (ClickEvent event : events) {
+            clickStatsService.record(event);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.urlshortener.urlservice.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one Redis write of a {@code url:<shortCode>} mapping.
+ */
+@Name("com.urlshortener.CacheUrl")
+@Label("Cache URL")
+@Category({"URL Service", "Redis"})
+@Description("One write of a short code mapping into Redis")
+@StackTrace(false)
+public class CacheUrlEvent extends Event {
+
+    @Label("Short Code")
+    public String shortCode;
+
+    @Label("TTL Seconds")
+    @Description("Expiry applied to the key, or -1 for none")
+    public long ttlSeconds = -1;
+
+    @Label("Success")
+    public boolean success;
+}
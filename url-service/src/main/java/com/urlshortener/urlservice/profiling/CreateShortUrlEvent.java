@@ -0,0 +1,63 @@
+package com.urlshortener.urlservice.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event covering one {@code UrlService.createShortUrl} call.
+ * Free when no recording is running — {@code commit()} is a no-op then.
+ */
+@Name("com.urlshortener.CreateShortUrl")
+@Label("Create Short URL")
+@Category({"URL Service", "Write Path"})
+@Description("One createShortUrl call with per-phase timings")
+@StackTrace(false)
+public class CreateShortUrlEvent extends Event {
+
+    public static final String CREATED = "CREATED";
+    public static final String ALIAS_CONFLICT = "ALIAS_CONFLICT";
+    public static final String BLOCKED = "BLOCKED";
+    public static final String EXHAUSTED = "EXHAUSTED";
+    public static final String ERROR = "ERROR";
+
+    @Label("Short Code")
+    public String shortCode;
+
+    @Label("Custom Alias")
+    public boolean customAlias;
+
+    @Label("Attempts")
+    @Description("Number of short codes tried, including collisions")
+    public int attempts;
+
+    @Label("Blocklist Time")
+    @Description("Time spent checking the long URL against the blocklist")
+    @Timespan(Timespan.NANOSECONDS)
+    public long blocklistNanos;
+
+    @Label("Lookup Time")
+    @Description("Total time spent in existsByShortCode")
+    @Timespan(Timespan.NANOSECONDS)
+    public long lookupNanos;
+
+    @Label("Save Time")
+    @Description("Time spent saving; with group commit, waiting for the batch to be committed and cached")
+    @Timespan(Timespan.NANOSECONDS)
+    public long saveNanos;
+
+    @Label("Cache Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long cacheNanos;
+
+    @Label("Batch Size")
+    @Description("Creates in the group-commit batch that carried this one; 0 without group commit")
+    public int batchSize;
+
+    @Label("Outcome")
+    public String outcome = ERROR;
+}
@@ -0,0 +1,20 @@
+package com.urlshortener.urlservice.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one {@code ExpiryCleanupService} run.
+ */
+@Name("com.urlshortener.ExpiryCleanup")
+@Label("Expiry Cleanup")
+@Category({"URL Service", "Background"})
+@StackTrace(false)
+public class ExpiryCleanupEvent extends Event {
+
+    @Label("Deactivated")
+    public int deactivated;
+}
@@ -0,0 +1,125 @@
+package com.urlshortener.urlservice.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * POST /actuator/jfr?seconds=N
+ *
+ * Starts a time-boxed Flight Recorder recording on this replica, waits for it
+ * to finish and returns the {@code .jfr} file. On top of the JDK "profile"
+ * settings it samples allocations and records lock contention (monitor enter
+ * and thread park over 1 ms) with stack traces, plus the url-service events.
+ *
+ * Events that capture the process environment, system and security
+ * properties or JVM arguments are turned off. They carry database and broker
+ * credentials, and the endpoint has no authentication of its own.
+ *
+ * The request thread waits for the recording, so its length is capped by
+ * {@code app.profiling.max-seconds}. Only one recording runs at a time; a
+ * concurrent request gets 429.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+@Slf4j
+public class JfrRecordingEndpoint {
+
+    private static final int DEFAULT_SECONDS = 30;
+
+    // Events whose payload can include secrets passed through env vars, -D flags or JVM arguments
+    static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.InitialSecurityProperty",
+            "jdk.JVMInformation");
+
+    private final AtomicBoolean recording = new AtomicBoolean();
+
+    @Value("${app.profiling.max-seconds:60}")
+    private int maxSeconds;
+
+    @WriteOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> record(@Nullable Integer seconds) throws Exception {
+        int duration = seconds == null ? DEFAULT_SECONDS : seconds;
+        if (duration <= 0 || duration > maxSeconds) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        if (!recording.compareAndSet(false, true)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+        }
+        try {
+            Path file = Files.createTempFile("url-service-", ".jfr");
+            try {
+                record(Duration.ofSeconds(duration), file);
+            } catch (Exception e) {
+                Files.deleteIfExists(file);
+                throw e;
+            }
+            return new WebEndpointResponse<>(new DeleteOnCloseResource(file), WebEndpointResponse.STATUS_OK);
+        } finally {
+            recording.set(false);
+        }
+    }
+
+    void record(Duration duration, Path destination) throws Exception {
+        try (Recording jfr = new Recording(Configuration.getConfiguration("profile"))) {
+            jfr.setName("url-service-on-demand");
+            SENSITIVE_EVENTS.forEach(jfr::disable);
+            jfr.enable("jdk.ObjectAllocationSample").with("throttle", "300/s").withStackTrace();
+            jfr.enable("jdk.JavaMonitorEnter").withThreshold(Duration.ofMillis(1)).withStackTrace();
+            jfr.enable("jdk.ThreadPark").withThreshold(Duration.ofMillis(1)).withStackTrace();
+            jfr.enable(CreateShortUrlEvent.class);
+            jfr.enable(CacheUrlEvent.class);
+            jfr.enable(ExpiryCleanupEvent.class);
+
+            log.info("Starting {}s JFR recording", duration.toSeconds());
+            jfr.start();
+            Thread.sleep(duration.toMillis());
+            jfr.stop();
+            jfr.dump(destination);
+            log.info("JFR recording written to {} ({} bytes)", destination, Files.size(destination));
+        }
+    }
+
+    /**
+     * Temp file that removes itself once the response body has been streamed.
+     */
+    private static final class DeleteOnCloseResource extends FileSystemResource {
+
+        DeleteOnCloseResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+    }
+}
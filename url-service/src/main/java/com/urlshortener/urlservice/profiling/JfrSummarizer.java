@@ -0,0 +1,138 @@
+package com.urlshortener.urlservice.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Prints the top allocation sites and the hottest url-service events from a
+ * {@code .jfr} file produced by {@link JfrRecordingEndpoint}.
+ *
+ * <pre>
+ * ./gradlew jfrSummary --args="recording.jfr [topN]"
+ * </pre>
+ *
+ * Allocation sites are keyed by the first {@code com.urlshortener} frame on
+ * the sampled stack, so the output points at our code rather than at the
+ * JDK or Hibernate internals it calls into.
+ */
+public class JfrSummarizer {
+
+    private static final String APP_PACKAGE = "com.urlshortener.";
+    private static final String EVENT_PREFIX = "com.urlshortener.";
+
+    private final Map<String, Long> allocationBytesBySite = new HashMap<>();
+    private final Map<String, Long> contentionNanosBySite = new HashMap<>();
+    private final Map<String, EventStats> eventStats = new HashMap<>();
+
+    private static final class EventStats {
+        long count;
+        long totalNanos;
+        long maxNanos;
+
+        void add(Duration duration) {
+            long nanos = duration.toNanos();
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: JfrSummarizer <recording.jfr> [topN]");
+            System.exit(1);
+        }
+        int topN = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        JfrSummarizer summarizer = new JfrSummarizer();
+        summarizer.read(Path.of(args[0]));
+        summarizer.print(System.out, topN);
+    }
+
+    public void read(Path recording) throws IOException {
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                accept(file.readEvent());
+            }
+        }
+    }
+
+    void accept(RecordedEvent event) {
+        String type = event.getEventType().getName();
+        switch (type) {
+            case "jdk.ObjectAllocationSample" ->
+                    allocationBytesBySite.merge(site(event.getStackTrace()), event.getLong("weight"), Long::sum);
+            case "jdk.JavaMonitorEnter", "jdk.ThreadPark" ->
+                    contentionNanosBySite.merge(site(event.getStackTrace()), event.getDuration().toNanos(), Long::sum);
+            default -> {
+                if (type.startsWith(EVENT_PREFIX)) {
+                    String key = event.hasField("outcome")
+                            ? type + " [" + event.getString("outcome") + "]"
+                            : type;
+                    eventStats.computeIfAbsent(key, k -> new EventStats()).add(event.getDuration());
+                }
+            }
+        }
+    }
+
+    public void print(PrintStream out, int topN) {
+        out.println("── Top allocation sites (sampled bytes) ──");
+        top(allocationBytesBySite, topN).forEach(e ->
+                out.printf("  %,15d  %s%n", e.getValue(), e.getKey()));
+
+        out.println("── Top lock contention sites (blocked time) ──");
+        top(contentionNanosBySite, topN).forEach(e ->
+                out.printf("  %12.2f ms  %s%n", e.getValue() / 1e6, e.getKey()));
+
+        out.println("── Hottest url-service events (total time) ──");
+        eventStats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, EventStats> e) -> e.getValue().totalNanos).reversed())
+                .limit(topN)
+                .forEach(e -> out.printf("  %-45s count=%-8d total=%10.2f ms  avg=%8.3f ms  max=%8.3f ms%n",
+                        e.getKey(), e.getValue().count,
+                        e.getValue().totalNanos / 1e6,
+                        e.getValue().totalNanos / 1e6 / e.getValue().count,
+                        e.getValue().maxNanos / 1e6));
+    }
+
+    Map<String, Long> allocationBytesBySite() {
+        return allocationBytesBySite;
+    }
+
+    Map<String, Long> eventCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        eventStats.forEach((k, v) -> counts.put(k, v.count));
+        return counts;
+    }
+
+    private static List<Map.Entry<String, Long>> top(Map<String, Long> totals, int topN) {
+        return totals.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(topN)
+                .toList();
+    }
+
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "<no stack>";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            String typeName = frame.getMethod().getType().getName();
+            if (typeName.startsWith(APP_PACKAGE) && !typeName.contains("$$")) {
+                return typeName + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        RecordedFrame top = stackTrace.getFrames().get(0);
+        return top.getMethod().getType().getName() + "." + top.getMethod().getName() + " (no app frame)";
+    }
+}
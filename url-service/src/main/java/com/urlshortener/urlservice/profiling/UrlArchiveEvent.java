@@ -0,0 +1,23 @@
+package com.urlshortener.urlservice.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one {@code UrlArchiveService} run.
+ */
+@Name("com.urlshortener.UrlArchive")
+@Label("URL Archive")
+@Category({"URL Service", "Background"})
+@StackTrace(false)
+public class UrlArchiveEvent extends Event {
+
+    @Label("Batches")
+    public int batches;
+
+    @Label("Archived")
+    public int archived;
+}
@@ -0,0 +1,130 @@
+package com.urlshortener.urlservice.repository;
+
+import com.urlshortener.urlservice.service.HyperLogLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Plain-JDBC access to {@code url_click_stats}. Upserts with
+ * {@code ON CONFLICT} and JDBC batching are not expressible through
+ * Spring Data JPA, so this one bypasses it.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ClickStatsRepository {
+
+    private static final int CHUNK_SIZE = 500;
+
+    // Empty row for a link's first flush, so there is always a row to lock
+    private static final String ENSURE_ROW = """
+            INSERT INTO url_click_stats (short_code) VALUES (?)
+            ON CONFLICT (short_code) DO NOTHING
+            """;
+
+    private static final String APPLY = """
+            UPDATE url_click_stats SET
+                total_clicks    = total_clicks + ?,
+                unique_visitors = ?,
+                visitors_hll    = ?,
+                last_click_at   = GREATEST(last_click_at, ?),
+                updated_at      = NOW()
+            WHERE short_code = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Clicks accumulated for one link since the last flush.
+     */
+    public record ClickDelta(String shortCode, long clicks, HyperLogLog visitors, LocalDateTime lastClickAt) {}
+
+    /**
+     * Persisted totals for one link; {@code visitorSketch} is null until its first flush.
+     */
+    public record StoredStats(long totalClicks, byte[] visitorSketch, LocalDateTime lastClickAt) {}
+
+    /**
+     * Stats for a short code, or empty if the short code itself does not exist
+     * in either the hot table or the archive.
+     */
+    public Optional<StoredStats> findByShortCode(String shortCode) {
+        List<StoredStats> rows = jdbcTemplate.query("""
+                        SELECT COALESCE(s.total_clicks, 0), s.visitors_hll, s.last_click_at
+                        FROM (SELECT short_code FROM urls WHERE short_code = ?
+                              UNION ALL
+                              SELECT short_code FROM urls_archive WHERE short_code = ?) u
+                        LEFT JOIN url_click_stats s ON s.short_code = u.short_code
+                        LIMIT 1
+                        """,
+                (rs, rowNum) -> new StoredStats(rs.getLong(1), rs.getBytes(2), toLocalDateTime(rs.getTimestamp(3))),
+                shortCode, shortCode);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Add click deltas to the stored totals and merge visitor sketches.
+     *
+     * Missing rows are inserted empty first, then every row is locked in
+     * short-code order before the merge. Two replicas flushing the same link
+     * therefore serialize on its row, even on its first flush, and the second
+     * merges into the first one's sketch instead of overwriting it. The fixed
+     * order means they cannot deadlock.
+     */
+    @Transactional
+    public void applyDeltas(Collection<ClickDelta> deltas) {
+        List<ClickDelta> sorted = new ArrayList<>(deltas);
+        sorted.sort(Comparator.comparing(ClickDelta::shortCode));
+
+        for (int from = 0; from < sorted.size(); from += CHUNK_SIZE) {
+            List<ClickDelta> chunk = sorted.subList(from, Math.min(from + CHUNK_SIZE, sorted.size()));
+            jdbcTemplate.batchUpdate(ENSURE_ROW, chunk.stream()
+                    .map(delta -> new Object[]{delta.shortCode()})
+                    .toList());
+            Map<String, byte[]> stored = lockSketches(chunk);
+
+            List<Object[]> rows = new ArrayList<>(chunk.size());
+            for (ClickDelta delta : chunk) {
+                HyperLogLog merged = HyperLogLog.fromBytes(stored.get(delta.shortCode()));
+                merged.merge(delta.visitors());
+                rows.add(new Object[]{
+                        delta.clicks(),
+                        merged.estimate(),
+                        merged.toBytes(),
+                        delta.lastClickAt() == null ? null : Timestamp.valueOf(delta.lastClickAt()),
+                        delta.shortCode()
+                });
+            }
+            jdbcTemplate.batchUpdate(APPLY, rows);
+        }
+    }
+
+    private Map<String, byte[]> lockSketches(List<ClickDelta> chunk) {
+        Map<String, byte[]> sketches = new HashMap<>();
+        String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+        jdbcTemplate.query(
+                "SELECT short_code, visitors_hll FROM url_click_stats WHERE short_code IN (" + placeholders
+                        + ") ORDER BY short_code FOR UPDATE",
+                rs -> {
+                    sketches.put(rs.getString(1), rs.getBytes(2));
+                },
+                chunk.stream().map(ClickDelta::shortCode).toArray());
+        return sketches;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
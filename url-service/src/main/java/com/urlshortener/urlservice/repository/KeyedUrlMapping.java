@@ -0,0 +1,9 @@
+package com.urlshortener.urlservice.repository;
+
+/**
+ * {@link UrlMapping} plus the row id, for keyset-paginated scans of {@code urls}.
+ */
+public interface KeyedUrlMapping extends UrlMapping {
+
+    Long getId();
+}
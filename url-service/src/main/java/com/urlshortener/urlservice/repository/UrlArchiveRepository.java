@@ -0,0 +1,123 @@
+package com.urlshortener.urlservice.repository;
+
+import com.urlshortener.urlservice.entity.Url;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Plain-JDBC access to {@code urls_archive}, the cold tier for links that
+ * expired longer than the retention window ago.
+ *
+ * The archive is hash-partitioned on {@code short_code} and keeps only the
+ * primary key, so a point lookup touches one small partition index while the
+ * hot {@code urls} table and its three indexes shed the dead rows.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UrlArchiveRepository {
+
+    // One statement = one transaction: the batch is either moved or left in place.
+    // SKIP LOCKED lets several replicas archive concurrently without waiting on each other.
+    // A code already in the archive (reserved codes make this a race, not a normal case)
+    // is overwritten with the newer row rather than dropped, so every deleted row lands
+    // somewhere. The count is taken from the DELETE, not the INSERT.
+    private static final String MOVE_BATCH = """
+            WITH moved AS (
+                DELETE FROM urls
+                WHERE id IN (
+                    SELECT id FROM urls
+                    WHERE expiry_at < ?
+                    ORDER BY expiry_at
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING short_code, long_url, created_at, expiry_at, user_id
+            ), archived AS (
+                INSERT INTO urls_archive (short_code, long_url, created_at, expiry_at, user_id, archived_at)
+                SELECT short_code, long_url, created_at, expiry_at, user_id, NOW() FROM moved
+                ON CONFLICT (short_code) DO UPDATE SET
+                    long_url    = EXCLUDED.long_url,
+                    created_at  = EXCLUDED.created_at,
+                    expiry_at   = EXCLUDED.expiry_at,
+                    user_id     = EXCLUDED.user_id,
+                    archived_at = EXCLUDED.archived_at
+            )
+            SELECT COUNT(*) FROM moved
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Row count and on-disk size of one table, indexes reported separately.
+     */
+    public record TableSize(String table, long rows, long tableBytes, long indexBytes) {}
+
+    /**
+     * Move up to {@code limit} rows whose expiry is older than {@code cutoff}
+     * from {@code urls} into the archive.
+     *
+     * @return number of rows moved; less than {@code limit} means the backlog is drained
+     */
+    public int moveBatch(LocalDateTime cutoff, int limit) {
+        Integer moved = jdbcTemplate.queryForObject(MOVE_BATCH, Integer.class, Timestamp.valueOf(cutoff), limit);
+        return moved == null ? 0 : moved;
+    }
+
+    /**
+     * Archived link as a detached, inactive {@link Url}; {@code id} is null.
+     */
+    public Optional<Url> findByShortCode(String shortCode) {
+        List<Url> rows = jdbcTemplate.query("""
+                        SELECT short_code, long_url, created_at, expiry_at, user_id
+                        FROM urls_archive WHERE short_code = ?
+                        """,
+                (rs, rowNum) -> Url.builder()
+                        .shortCode(rs.getString(1))
+                        .longUrl(rs.getString(2))
+                        .createdAt(toLocalDateTime(rs.getTimestamp(3)))
+                        .expiryAt(toLocalDateTime(rs.getTimestamp(4)))
+                        .userId(rs.getObject(5, Long.class))
+                        .isActive(false)
+                        .build(),
+                shortCode);
+        return rows.stream().findFirst();
+    }
+
+    public boolean existsByShortCode(String shortCode) {
+        Boolean exists = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM urls_archive WHERE short_code = ?)", Boolean.class, shortCode);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    /**
+     * Sizes of the hot table and the archive (all partitions), for reporting.
+     * Row counts come from planner statistics, so they lag until the next ANALYZE.
+     */
+    public List<TableSize> tableSizes() {
+        return jdbcTemplate.query("""
+                        SELECT c.relname,
+                               GREATEST(c.reltuples, 0)::bigint,
+                               pg_table_size(c.oid),
+                               pg_indexes_size(c.oid)
+                        FROM pg_class c
+                        WHERE c.relname = 'urls'
+                        UNION ALL
+                        SELECT 'urls_archive',
+                               COALESCE(SUM(GREATEST(c.reltuples, 0)), 0)::bigint,
+                               COALESCE(SUM(pg_table_size(c.oid)), 0),
+                               COALESCE(SUM(pg_indexes_size(c.oid)), 0)
+                        FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                        WHERE i.inhparent = 'urls_archive'::regclass
+                        """,
+                (rs, rowNum) -> new TableSize(rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,88 @@
+package com.urlshortener.urlservice.repository;
+
+import com.urlshortener.urlservice.entity.Url;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-row inserts into {@code urls} for group commit.
+ *
+ * A whole batch is one statement, so one transaction and one WAL flush. Rows
+ * whose short code is taken — in {@code urls} or, since archived codes stay
+ * reserved, in {@code urls_archive} — are skipped rather than failing the
+ * statement, and show up as missing from the result.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UrlBatchInsertRepository {
+
+    private static final String INSERT_HEAD = """
+            INSERT INTO urls (short_code, long_url, created_at, expiry_at, user_id, is_active)
+            SELECT v.short_code, v.long_url, v.created_at, v.expiry_at, v.user_id, v.is_active
+            FROM (VALUES\s""";
+
+    private static final String ROW = "(?::varchar, ?::text, ?::timestamp, ?::timestamp, ?::bigint, ?::boolean)";
+
+    private static final String INSERT_TAIL = """
+            ) AS v (short_code, long_url, created_at, expiry_at, user_id, is_active)
+            WHERE NOT EXISTS (SELECT 1 FROM urls_archive a WHERE a.short_code = v.short_code)
+            ON CONFLICT (short_code) DO NOTHING
+            RETURNING short_code, id
+            """;
+
+    private static final int COLUMNS = 6;
+
+    /**
+     * Most rows one statement can carry: PostgreSQL allows 65535 bind parameters.
+     */
+    public static final int MAX_ROWS = 65_535 / COLUMNS;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert {@code urls} in one statement. Short codes must be distinct within
+     * the batch and {@code createdAt} must be set.
+     *
+     * @return short code → generated id for every row inserted; a code that is
+     *         absent was already taken
+     */
+    public Map<String, Long> insertAll(List<Url> urls) {
+        StringBuilder sql = new StringBuilder(INSERT_HEAD.length() + urls.size() * (ROW.length() + 2) + 256)
+                .append(INSERT_HEAD);
+        Object[] args = new Object[urls.size() * COLUMNS];
+        int[] types = new int[args.length];
+        int i = 0;
+        for (Url url : urls) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+            args[i] = url.getShortCode();
+            types[i++] = Types.VARCHAR;
+            args[i] = url.getLongUrl();
+            types[i++] = Types.VARCHAR;
+            args[i] = Timestamp.valueOf(url.getCreatedAt());
+            types[i++] = Types.TIMESTAMP;
+            args[i] = url.getExpiryAt() == null ? null : Timestamp.valueOf(url.getExpiryAt());
+            types[i++] = Types.TIMESTAMP;
+            args[i] = url.getUserId();
+            types[i++] = Types.BIGINT;
+            args[i] = url.getIsActive() == null || url.getIsActive();
+            types[i++] = Types.BOOLEAN;
+        }
+        sql.append(INSERT_TAIL);
+
+        Map<String, Long> inserted = new HashMap<>(urls.size() * 2);
+        jdbcTemplate.query(sql.toString(), args, types, rs -> {
+            inserted.put(rs.getString(1), rs.getLong(2));
+        });
+        return inserted;
+    }
+}
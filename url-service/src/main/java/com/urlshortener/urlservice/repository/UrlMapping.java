@@ -0,0 +1,16 @@
+package com.urlshortener.urlservice.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection used by batch lookups — just what a redirect needs, without
+ * hydrating full {@code Url} entities into the persistence context.
+ */
+public interface UrlMapping {
+
+    String getShortCode();
+
+    String getLongUrl();
+
+    LocalDateTime getExpiryAt();
+}
@@ -1,12 +1,14 @@
 package com.urlshortener.urlservice.repository;
 
 import com.urlshortener.urlservice.entity.Url;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,6 +19,18 @@ public interface UrlRepository extends JpaRepository<Url, Long> {
 
     boolean existsByShortCode(String shortCode);
 
+    @Query("SELECT u.shortCode AS shortCode, u.longUrl AS longUrl, u.expiryAt AS expiryAt FROM Url u "
+            + "WHERE u.shortCode IN :shortCodes AND u.isActive = true AND (u.expiryAt IS NULL OR u.expiryAt > :now)")
+    List<UrlMapping> findActiveMappings(Collection<String> shortCodes, LocalDateTime now);
+
+    /**
+     * One keyset page of active, unexpired mappings with {@code id > afterId}, in id order.
+     */
+    @Query("SELECT u.id AS id, u.shortCode AS shortCode, u.longUrl AS longUrl, u.expiryAt AS expiryAt FROM Url u "
+            + "WHERE u.id > :afterId AND u.isActive = true AND (u.expiryAt IS NULL OR u.expiryAt > :now) "
+            + "ORDER BY u.id")
+    List<KeyedUrlMapping> findActiveMappingsAfter(long afterId, LocalDateTime now, Pageable page);
+
     @Query("SELECT u FROM Url u WHERE u.expiryAt IS NOT NULL AND u.expiryAt < :now AND u.isActive = true")
     List<Url> findExpiredUrls(LocalDateTime now);
 
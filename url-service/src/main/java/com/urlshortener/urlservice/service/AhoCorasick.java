@@ -0,0 +1,173 @@
+package com.urlshortener.urlservice.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+
+/**
+ * Aho-Corasick automaton for blocked URL substrings. One left-to-right pass
+ * over the URL finds any of the patterns, however many there are.
+ *
+ * Matching is ASCII case-insensitive. Once built, transitions are stored
+ * per state as sorted runs in flat arrays (binary-searched) plus a direct
+ * 128-entry table for the root, where matching spends most of its time.
+ */
+final class AhoCorasick {
+
+    private final String[] patterns;
+    private final int[] rootNext;
+    // Transitions of state s: edgeChars/edgeTargets[firstEdge[s], firstEdge[s + 1])
+    private final int[] firstEdge;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final int[] fail;
+    // Pattern ending at this state or at one of its suffixes, -1 if none
+    private final int[] output;
+
+    private AhoCorasick(String[] patterns, List<TreeMap<Character, Integer>> children,
+                       int[] fail, int[] output) {
+        this.patterns = patterns;
+        this.fail = fail;
+        this.output = output;
+        int states = children.size();
+        this.firstEdge = new int[states + 1];
+        int edges = 0;
+        for (int s = 0; s < states; s++) {
+            firstEdge[s] = edges;
+            edges += children.get(s).size();
+        }
+        firstEdge[states] = edges;
+        this.edgeChars = new char[edges];
+        this.edgeTargets = new int[edges];
+        int e = 0;
+        for (TreeMap<Character, Integer> next : children) {
+            for (var edge : next.entrySet()) {
+                edgeChars[e] = edge.getKey();
+                edgeTargets[e++] = edge.getValue();
+            }
+        }
+        this.rootNext = new int[128];
+        children.get(0).forEach((c, target) -> {
+            if (c < 128) {
+                rootNext[c] = target;
+            }
+        });
+    }
+
+    /**
+     * Builds the automaton. Patterns are lowercased; empty ones are ignored.
+     */
+    static AhoCorasick build(List<String> patterns) {
+        List<String> kept = new ArrayList<>(patterns.size());
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        children.add(new TreeMap<>());
+        List<Integer> terminal = new ArrayList<>();
+        terminal.add(-1);
+
+        for (String pattern : patterns) {
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            String lower = pattern.toLowerCase(Locale.ROOT);
+            int state = 0;
+            for (int k = 0; k < lower.length(); k++) {
+                Integer next = children.get(state).get(lower.charAt(k));
+                if (next == null) {
+                    next = children.size();
+                    children.get(state).put(lower.charAt(k), next);
+                    children.add(new TreeMap<>());
+                    terminal.add(-1);
+                }
+                state = next;
+            }
+            if (terminal.get(state) < 0) {
+                terminal.set(state, kept.size());
+                kept.add(lower);
+            }
+        }
+
+        // Breadth-first, so a state's failure target is final before its children need it
+        int states = children.size();
+        int[] fail = new int[states];
+        int[] output = new int[states];
+        output[0] = -1;
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        for (int child : children.get(0).values()) {
+            output[child] = terminal.get(child);
+            queue[tail++] = child;
+        }
+        while (head < tail) {
+            int state = queue[head++];
+            for (var edge : children.get(state).entrySet()) {
+                char c = edge.getKey();
+                int child = edge.getValue();
+                int f = fail[state];
+                while (f != 0 && !children.get(f).containsKey(c)) {
+                    f = fail[f];
+                }
+                fail[child] = children.get(f).getOrDefault(c, 0);
+                output[child] = terminal.get(child) >= 0 ? terminal.get(child) : output[fail[child]];
+                queue[tail++] = child;
+            }
+        }
+        return new AhoCorasick(kept.toArray(String[]::new), children, fail, output);
+    }
+
+    /**
+     * @return the first pattern found in {@code text}, or null
+     */
+    String find(CharSequence text) {
+        int state = 0;
+        for (int i = 0, n = text.length(); i < n; i++) {
+            char c = text.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                c = (char) (c | 0x20);
+            }
+            state = next(state, c);
+            if (output[state] >= 0) {
+                return patterns[output[state]];
+            }
+        }
+        return null;
+    }
+
+    int size() {
+        return patterns.length;
+    }
+
+    /** Approximate heap footprint of the automaton, in bytes. */
+    long memoryBytes() {
+        long bytes = 4L * rootNext.length + 4L * firstEdge.length + 2L * edgeChars.length
+                + 4L * edgeTargets.length + 4L * fail.length + 4L * output.length;
+        for (String pattern : patterns) {
+            bytes += 40 + pattern.length();
+        }
+        return bytes;
+    }
+
+    private int next(int state, char c) {
+        while (true) {
+            if (state == 0) {
+                return c < 128 ? rootNext[c] : edge(0, c);
+            }
+            int target = edge(state, c);
+            if (target >= 0) {
+                return target;
+            }
+            state = fail[state];
+        }
+    }
+
+    /** @return the target of the transition on {@code c}, -1 if none (0 at the root) */
+    private int edge(int state, char c) {
+        int index = Arrays.binarySearch(edgeChars, firstEdge[state], firstEdge[state + 1], c);
+        if (index >= 0) {
+            return edgeTargets[index];
+        }
+        return state == 0 ? 0 : -1;
+    }
+}
@@ -1,33 +1,310 @@
 package com.urlshortener.urlservice.service;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 /**
  * Base62 encoder/decoder.
  * Alphabet: 0-9, a-z, A-Z  (62 characters)
  *
- * Used to convert the auto-incremented DB id into a short, URL-safe string.
+ * Converts non-negative longs to short, URL-safe codes and back, and checks
+ * whether a string can be a code at all. Decoding goes through a 128-entry
+ * table instead of searching the alphabet, rejects anything outside it, and
+ * detects values that do not fit in a long.
+ *
+ * Besides the {@code String} convenience methods, every operation works
+ * directly on {@code byte[]} (ASCII), {@code char[]} or a
+ * {@link CharSequence} range without allocating. Fixed-width encodings are
+ * left-padded with {@code '0'}.
  */
-public class Base62Encoder {
+public final class Base62Encoder {
 
     private static final String ALPHABET = "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
     private static final int BASE = ALPHABET.length(); // 62
 
+    /**
+     * Length of the longest encoding: {@link Long#MAX_VALUE} takes 11 digits.
+     */
+    public static final int MAX_LENGTH = 11;
+
+    private static final byte[] DIGITS = ALPHABET.getBytes(StandardCharsets.US_ASCII);
+
+    // ASCII code → digit value, -1 for characters outside the alphabet
+    private static final byte[] VALUES = new byte[128];
+
+    // POWERS[n] = 62^n; 62^11 does not fit in a long
+    private static final long[] POWERS = new long[MAX_LENGTH];
+
+    // Largest value that can still be multiplied by 62 without overflowing
+    private static final long MAX_BEFORE_SHIFT = Long.MAX_VALUE / BASE;
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < BASE; i++) {
+            VALUES[DIGITS[i]] = (byte) i;
+        }
+        POWERS[0] = 1;
+        for (int i = 1; i < MAX_LENGTH; i++) {
+            POWERS[i] = POWERS[i - 1] * BASE;
+        }
+    }
+
     private Base62Encoder() {}
 
+    // ── Encoding ────────────────────────────────────────────
+
+    /**
+     * Shortest encoding of {@code value}; {@code "0"} for zero.
+     *
+     * @throws IllegalArgumentException if {@code value} is negative
+     */
     public static String encode(long value) {
-        if (value == 0) return String.valueOf(ALPHABET.charAt(0));
+        return encode(value, encodedLength(value));
+    }
+
+    /**
+     * Encoding of {@code value} left-padded with {@code '0'} to exactly
+     * {@code width} characters.
+     *
+     * @throws IllegalArgumentException if {@code value} is negative or needs more than {@code width} digits
+     */
+    public static String encode(long value, int width) {
+        byte[] ascii = new byte[width];
+        encode(value, ascii, 0, width);
+        return new String(ascii, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Write {@code value} as exactly {@code width} ASCII digits at
+     * {@code dst[offset]}, left-padded with {@code '0'}. Nothing is written
+     * if the value does not fit.
+     *
+     * @return the offset just past the last digit written
+     * @throws IllegalArgumentException if {@code value} is negative or needs more than {@code width} digits
+     */
+    public static int encode(long value, byte[] dst, int offset, int width) {
+        checkFits(value, width);
+        int end = offset + width;
+        for (int i = end - 1; i >= offset; i--) {
+            dst[i] = DIGITS[(int) (value % BASE)];
+            value /= BASE;
+        }
+        return end;
+    }
 
-        StringBuilder sb = new StringBuilder();
-        while (value > 0) {
-            sb.append(ALPHABET.charAt((int) (value % BASE)));
+    /**
+     * {@link #encode(long, byte[], int, int)} into a {@code char[]}.
+     */
+    public static int encode(long value, char[] dst, int offset, int width) {
+        checkFits(value, width);
+        int end = offset + width;
+        for (int i = end - 1; i >= offset; i--) {
+            dst[i] = (char) DIGITS[(int) (value % BASE)];
             value /= BASE;
         }
-        return sb.reverse().toString();
+        return end;
+    }
+
+    /**
+     * Append {@code value} to {@code dst} in its shortest encoding.
+     */
+    public static StringBuilder encode(long value, StringBuilder dst) {
+        int width = encodedLength(value);
+        for (int i = width - 1; i >= 0; i--) {
+            dst.append((char) DIGITS[(int) (value / POWERS[i] % BASE)]);
+        }
+        return dst;
+    }
+
+    /**
+     * Number of digits in the shortest encoding of {@code value}.
+     *
+     * @throws IllegalArgumentException if {@code value} is negative
+     */
+    public static int encodedLength(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        int length = 1;
+        while (length < MAX_LENGTH && value >= POWERS[length]) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * 62^{@code width}, the number of distinct codes of that width.
+     *
+     * @throws IllegalArgumentException unless {@code 0 <= width < MAX_LENGTH}
+     */
+    public static long capacity(int width) {
+        if (width < 0 || width >= MAX_LENGTH) {
+            throw new IllegalArgumentException("No long capacity for width " + width);
+        }
+        return POWERS[width];
+    }
+
+    // ── Decoding ────────────────────────────────────────────
+
+    /**
+     * Value of a code; leading {@code '0'} padding is allowed.
+     *
+     * @throws IllegalArgumentException if {@code encoded} is empty, contains a
+     *         character outside the alphabet or exceeds {@link Long#MAX_VALUE}
+     */
+    public static long decode(CharSequence encoded) {
+        return decode(encoded, 0, encoded.length());
+    }
+
+    /**
+     * {@link #decode(CharSequence)} of {@code encoded[from, to)}.
+     */
+    public static long decode(CharSequence encoded, int from, int to) {
+        checkNotEmpty(from, to);
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            result = shift(result, digit(encoded.charAt(i), i));
+        }
+        return result;
     }
 
-    public static long decode(String encoded) {
+    /**
+     * {@link #decode(CharSequence)} of {@code length} ASCII bytes at {@code src[offset]}.
+     */
+    public static long decode(byte[] src, int offset, int length) {
+        checkNotEmpty(offset, offset + length);
         long result = 0;
-        for (char c : encoded.toCharArray()) {
-            result = result * BASE + ALPHABET.indexOf(c);
+        for (int i = offset; i < offset + length; i++) {
+            // Bytes >= 0x80 are negative and must not index the table
+            result = shift(result, digit((char) (src[i] & 0xFF), i));
+        }
+        return result;
+    }
+
+    /**
+     * {@link #decode(CharSequence)} of {@code length} chars at {@code src[offset]}.
+     */
+    public static long decode(char[] src, int offset, int length) {
+        checkNotEmpty(offset, offset + length);
+        long result = 0;
+        for (int i = offset; i < offset + length; i++) {
+            result = shift(result, digit(src[i], i));
+        }
+        return result;
+    }
+
+    /**
+     * True if {@code code} is non-empty and made only of alphabet characters.
+     * Length is not checked; callers bound it separately.
+     */
+    public static boolean isValid(CharSequence code) {
+        int length = code.length();
+        if (length == 0) {
+            return false;
+        }
+        // OR of all table entries is negative iff any character is invalid
+        int invalid = 0;
+        for (int i = 0; i < length; i++) {
+            char c = code.charAt(i);
+            invalid |= c < 128 ? VALUES[c] : -1;
+        }
+        return invalid >= 0;
+    }
+
+    // ── Bulk ────────────────────────────────────────────────
+
+    /**
+     * Encode every value as a {@code width}-digit code, back to back in
+     * {@code dst}: value {@code i} occupies {@code dst[i * width, (i + 1) * width)}.
+     * The inner loop has a fixed trip count and no data-dependent branches,
+     * so the JIT can unroll it and pipeline the divisions across values.
+     *
+     * @throws IllegalArgumentException if any value is negative or does not
+     *         fit; {@code dst} is not written in that case
+     */
+    public static void encodeAll(long[] values, int width, byte[] dst) {
+        for (long value : values) {
+            checkFits(value, width);
+        }
+        for (int v = 0, end = width; v < values.length; v++, end += width) {
+            long value = values[v];
+            for (int i = end - 1; i >= end - width; i--) {
+                long quotient = value / BASE;
+                dst[i] = DIGITS[(int) (value - quotient * BASE)];
+                value = quotient;
+            }
+        }
+    }
+
+    /**
+     * Decode {@code dst.length} back-to-back {@code width}-digit codes from
+     * {@code src}, the layout written by {@link #encodeAll}. Validity is
+     * accumulated branch-free and checked once per code.
+     *
+     * @throws IllegalArgumentException if a code contains a character outside
+     *         the alphabet or exceeds {@link Long#MAX_VALUE}
+     */
+    public static void decodeAll(byte[] src, int width, long[] dst) {
+        if (width <= 0 || width > MAX_LENGTH) {
+            // Wider codes can still be valid with enough '0' padding; decode those one by one
+            for (int v = 0; v < dst.length; v++) {
+                dst[v] = decode(src, v * width, width);
+            }
+            return;
+        }
+        for (int v = 0, start = 0; v < dst.length; v++, start += width) {
+            long result = 0;
+            int invalid = 0;
+            for (int i = start; i < start + width; i++) {
+                int digit = VALUES[src[i] & 0x7F] | (src[i] >> 7);
+                invalid |= digit;
+                result = result * BASE + digit;
+            }
+            // Up to 10 digits always fit; 11 fit when the leading digit is at most 9
+            if (invalid < 0 || (width == MAX_LENGTH && VALUES[src[start] & 0x7F] > 9)) {
+                // Slow path for the error message and the overflow check
+                dst[v] = decode(src, start, width);
+            } else {
+                dst[v] = result;
+            }
+        }
+    }
+
+    // ── Helpers ─────────────────────────────────────────────
+
+    private static void checkFits(long value, int width) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        if (width < 0) {
+            throw new IllegalArgumentException("Negative width: " + width);
+        }
+        if (width < MAX_LENGTH && value >= POWERS[width]) {
+            throw new IllegalArgumentException(value + " does not fit in " + width + " base62 digits");
+        }
+    }
+
+    private static void checkNotEmpty(int from, int to) {
+        if (from >= to) {
+            throw new IllegalArgumentException("Empty base62 code");
+        }
+    }
+
+    private static int digit(char c, int index) {
+        int digit = c < 128 ? VALUES[c] : -1;
+        if (digit < 0) {
+            throw new IllegalArgumentException("Invalid base62 character '" + c + "' at index " + index);
+        }
+        return digit;
+    }
+
+    private static long shift(long result, int digit) {
+        if (result > MAX_BEFORE_SHIFT) {
+            throw new IllegalArgumentException("Base62 code exceeds Long.MAX_VALUE");
+        }
+        result = result * BASE + digit;
+        if (result < 0) {
+            throw new IllegalArgumentException("Base62 code exceeds Long.MAX_VALUE");
         }
         return result;
     }
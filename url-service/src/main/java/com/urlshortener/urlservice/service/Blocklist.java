@@ -0,0 +1,148 @@
+package com.urlshortener.urlservice.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.net.IDN;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable snapshot of the blocklist file: blocked domains in a
+ * {@link DomainTrie} and blocked URL substrings in an {@link AhoCorasick}
+ * automaton.
+ *
+ * File format, one entry per line:
+ * <pre>
+ * # comment
+ * evil.example                 blocks evil.example and every subdomain
+ * 0.0.0.0 tracker.example      hosts-file lines work too
+ * contains:/wp-login.php?phish blocks any URL containing the text
+ * </pre>
+ * A {@code #} starts a comment at the start of a line or after whitespace.
+ * Domains are matched against the lowercase host of a canonical URL;
+ * substrings against the whole URL, ignoring ASCII case.
+ */
+final class Blocklist {
+
+    static final String CONTAINS_PREFIX = "contains:";
+
+    static final Blocklist EMPTY = new Blocklist(new DomainTrie(), AhoCorasick.build(List.of()), 0);
+
+    private final DomainTrie domains;
+    private final AhoCorasick substrings;
+    private final int skipped;
+
+    private Blocklist(DomainTrie domains, AhoCorasick substrings, int skipped) {
+        this.domains = domains;
+        this.substrings = substrings;
+        this.skipped = skipped;
+    }
+
+    static Blocklist load(Path path) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    static Blocklist parse(BufferedReader reader) throws IOException {
+        DomainTrie domains = new DomainTrie();
+        List<String> substrings = new ArrayList<>();
+        int skipped = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String entry = stripComment(line).strip();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            if (entry.regionMatches(true, 0, CONTAINS_PREFIX, 0, CONTAINS_PREFIX.length())) {
+                String text = entry.substring(CONTAINS_PREFIX.length()).strip();
+                if (!text.isEmpty()) {
+                    substrings.add(text);
+                } else {
+                    skipped++;
+                }
+                continue;
+            }
+            // "0.0.0.0 evil.example" → the last field
+            int space = Math.max(entry.lastIndexOf(' '), entry.lastIndexOf('\t'));
+            String domain = toAsciiDomain(entry.substring(space + 1));
+            if (domain == null || !domains.add(domain)) {
+                skipped++;
+            }
+        }
+        domains.trimToSize();
+        return new Blocklist(domains, AhoCorasick.build(substrings), skipped);
+    }
+
+    /**
+     * @param url a canonical URL, as produced by {@code UrlCanonicalizer}
+     * @return the entry that blocks {@code url}, or null if it is allowed
+     */
+    String match(String url) {
+        int hostStart = url.indexOf("://") + 3;
+        if (hostStart > 2 && hostStart < url.length() && url.charAt(hostStart) != '[') {
+            int hostEnd = hostStart;
+            while (hostEnd < url.length() && url.charAt(hostEnd) != ':' && url.charAt(hostEnd) != '/'
+                    && url.charAt(hostEnd) != '?' && url.charAt(hostEnd) != '#') {
+                hostEnd++;
+            }
+            int suffix = domains.match(url, hostStart, hostEnd);
+            if (suffix >= 0) {
+                return url.substring(suffix, hostEnd);
+            }
+        }
+        String text = substrings.find(url);
+        return text == null ? null : CONTAINS_PREFIX + text;
+    }
+
+    int domainCount() {
+        return domains.size();
+    }
+
+    int substringCount() {
+        return substrings.size();
+    }
+
+    /** Lines that were neither a valid domain nor a substring entry. */
+    int skipped() {
+        return skipped;
+    }
+
+    long memoryBytes() {
+        return domains.memoryBytes() + substrings.memoryBytes();
+    }
+
+    /** "#" starts a comment at the start of a line or after whitespace. */
+    private static String stripComment(String line) {
+        for (int k = line.indexOf('#'); k >= 0; k = line.indexOf('#', k + 1)) {
+            if (k == 0 || Character.isWhitespace(line.charAt(k - 1))) {
+                return line.substring(0, k);
+            }
+        }
+        return line;
+    }
+
+    /** Lowercase ASCII (punycode) form of a domain entry, or null if it is not one. */
+    private static String toAsciiDomain(String entry) {
+        String domain = entry.startsWith("*.") ? entry.substring(2) : entry;
+        if (!domain.chars().allMatch(c -> c < 0x80)) {
+            try {
+                domain = IDN.toASCII(domain);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        domain = domain.toLowerCase(Locale.ROOT);
+        for (int k = 0; k < domain.length(); k++) {
+            char c = domain.charAt(k);
+            if (!(c >= 'a' && c <= 'z') && !(c >= '0' && c <= '9') && c != '-' && c != '_' && c != '.') {
+                return null;
+            }
+        }
+        return domain;
+    }
+}
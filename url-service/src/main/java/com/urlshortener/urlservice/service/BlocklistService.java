@@ -0,0 +1,140 @@
+package com.urlshortener.urlservice.service;
+
+import com.urlshortener.urlservice.exception.BlockedUrlException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects long URLs on the malware / phishing blocklist.
+ *
+ * The list is read from {@code app.blocklist.path} into an in-memory
+ * {@link Blocklist}, so a check is a trie walk plus one automaton pass over
+ * the URL and never leaves the process. The file is polled every
+ * {@code reload-interval-ms}; when its size or modification time changes a
+ * new snapshot is built on the scheduler thread and swapped in with a single
+ * volatile write. Checks keep using the old snapshot until then and never
+ * wait on a reload. A file that fails to load leaves the current list in place.
+ *
+ * Metrics: {@code blocklist.check} (per-check timer),
+ * {@code blocklist.blocked}, {@code blocklist.domains},
+ * {@code blocklist.substrings}, {@code blocklist.memory} (bytes) and the
+ * {@code blocklist.load} timer.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BlocklistService {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.blocklist.path:}")
+    private String path;
+
+    private volatile Blocklist blocklist = Blocklist.EMPTY;
+    private FileVersion loadedVersion;
+    private boolean missing;
+    private Timer checkTimer;
+    private Timer loadTimer;
+    private Counter blocked;
+
+    private record FileVersion(long size, long modifiedMillis) {}
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("blocklist.domains", this, s -> s.blocklist.domainCount())
+                .description("Blocked domains, not counting subdomains of blocked domains")
+                .register(meterRegistry);
+        Gauge.builder("blocklist.substrings", this, s -> s.blocklist.substringCount())
+                .description("Blocked URL substrings")
+                .register(meterRegistry);
+        Gauge.builder("blocklist.memory", this, s -> s.blocklist.memoryBytes())
+                .description("Approximate heap footprint of the loaded blocklist")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        checkTimer = meterRegistry.timer("blocklist.check");
+        loadTimer = meterRegistry.timer("blocklist.load");
+        blocked = meterRegistry.counter("blocklist.blocked");
+
+        if (path.isBlank()) {
+            log.info("No blocklist configured (app.blocklist.path); every URL is allowed");
+        } else {
+            reloadIfChanged();
+        }
+    }
+
+    /**
+     * @param url a canonical URL
+     * @throws BlockedUrlException if the URL's host or text is on the blocklist
+     */
+    public void check(String url) {
+        long start = System.nanoTime();
+        String entry = blocklist.match(url);
+        checkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (entry != null) {
+            blocked.increment();
+            log.info("Rejected blocked URL {} (entry: {})", url, entry);
+            throw new BlockedUrlException("URL is blocked: it points to a known malware or phishing destination");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.blocklist.reload-interval-ms:10000}",
+            initialDelayString = "${app.blocklist.reload-interval-ms:10000}")
+    public void reloadIfChanged() {
+        if (path.isBlank()) {
+            return;
+        }
+        Path file = Path.of(path);
+        FileVersion version;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            version = new FileVersion(attributes.size(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            if (!missing) {
+                log.warn("Blocklist {} not readable ({}); keeping the current list", file, e.toString());
+            }
+            missing = true;
+            loadedVersion = null;
+            return;
+        }
+        missing = false;
+        if (version.equals(loadedVersion)) {
+            return;
+        }
+        // Remember the version even if it fails to load, so a broken file is retried once it changes
+        loadedVersion = version;
+        try {
+            long start = System.nanoTime();
+            Blocklist loaded = Blocklist.load(file);
+            long nanos = System.nanoTime() - start;
+            loadTimer.record(nanos, TimeUnit.NANOSECONDS);
+            blocklist = loaded;
+            log.info("Loaded blocklist {}: {} domains, {} substrings, {} lines skipped, ~{} KB in {} ms",
+                    file, loaded.domainCount(), loaded.substringCount(), loaded.skipped(),
+                    loaded.memoryBytes() / 1024, TimeUnit.NANOSECONDS.toMillis(nanos));
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to load blocklist {}; keeping the current list", file, e);
+        }
+    }
+
+    int domainCount() {
+        return blocklist.domainCount();
+    }
+
+    int substringCount() {
+        return blocklist.substringCount();
+    }
+}
@@ -0,0 +1,211 @@
+package com.urlshortener.urlservice.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Bounded append-only file of cache writes that could not reach Redis.
+ *
+ * Record layout: {@code [int payloadLength][int crc32][payload]} with
+ * payload {@code [long expireAtMillis][int keyLength][key][value]} (UTF-8;
+ * {@code expireAtMillis = 0} means no TTL). The expiry is absolute so a late
+ * replay never extends a link past its own lifetime.
+ *
+ * Entries are consumed from a read offset; once the reader catches up the
+ * file is truncated to zero. On open, a torn record at the tail (crash
+ * mid-append) is cut off and everything before it is kept for replay.
+ * Appends are not fsync'ed — the database stays the source of truth, the
+ * journal only saves the cache misses a lost write would cost.
+ */
+final class CacheJournal implements Closeable {
+
+    private static final int HEADER_BYTES = 8;
+    private static final int READ_CHUNK_BYTES = 256 * 1024;
+
+    record Entry(String key, String value, long expireAtMillis) {}
+
+    /**
+     * Entries read from the journal, plus the offset just past the last one.
+     */
+    record Batch(List<Entry> entries, long endOffset) {}
+
+    private final FileChannel channel;
+    private final long maxBytes;
+    private long readOffset;
+    private long writeOffset;
+    private long depth;
+
+    CacheJournal(Path path, long maxBytes) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.maxBytes = maxBytes;
+        recover();
+    }
+
+    /**
+     * @return false if the journal is full and the entry was not written
+     */
+    synchronized boolean append(Entry entry) throws IOException {
+        byte[] key = entry.key().getBytes(StandardCharsets.UTF_8);
+        byte[] value = entry.value().getBytes(StandardCharsets.UTF_8);
+        int payloadLength = Long.BYTES + Integer.BYTES + key.length + value.length;
+        if (HEADER_BYTES + payloadLength > READ_CHUNK_BYTES
+                || writeOffset + HEADER_BYTES + payloadLength > maxBytes) {
+            return false;
+        }
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + payloadLength);
+        record.putInt(payloadLength).putInt(0)
+                .putLong(entry.expireAtMillis()).putInt(key.length).put(key).put(value);
+        record.putInt(Integer.BYTES, crc(record.array(), HEADER_BYTES, payloadLength));
+        record.flip();
+        while (record.hasRemaining()) {
+            writeOffset += channel.write(record, writeOffset);
+        }
+        depth++;
+        return true;
+    }
+
+    /**
+     * Read up to {@code max} entries from the read offset without consuming
+     * them; pass the result to {@link #commit(Batch)} once they are replayed.
+     */
+    synchronized Batch read(int max) throws IOException {
+        List<Entry> entries = new ArrayList<>(Math.min(max, 1024));
+        long offset = readOffset;
+        ByteBuffer chunk = ByteBuffer.allocate(READ_CHUNK_BYTES);
+        while (entries.size() < max && offset < writeOffset) {
+            chunk.clear();
+            chunk.limit((int) Math.min(chunk.capacity(), writeOffset - offset));
+            channel.read(chunk, offset);
+            chunk.flip();
+            int consumed = 0;
+            while (entries.size() < max) {
+                Entry entry = parse(chunk);
+                if (entry == null) {
+                    break;
+                }
+                entries.add(entry);
+                consumed = chunk.position();
+            }
+            if (consumed == 0) {
+                throw new IOException("Corrupt journal record at offset " + offset);
+            }
+            offset += consumed;
+        }
+        return new Batch(entries, offset);
+    }
+
+    synchronized void commit(Batch batch) throws IOException {
+        readOffset = batch.endOffset();
+        depth -= batch.entries().size();
+        if (readOffset >= writeOffset) {
+            channel.truncate(0);
+            readOffset = 0;
+            writeOffset = 0;
+            depth = 0;
+        }
+    }
+
+    /**
+     * Entries appended but not yet committed as replayed.
+     */
+    synchronized long depth() {
+        return depth;
+    }
+
+    synchronized long sizeBytes() {
+        return writeOffset - readOffset;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    // ── Helpers ─────────────────────────────────────────────
+
+    /**
+     * Scan the file, count intact records and cut off anything after the
+     * first torn or corrupt one.
+     */
+    private void recover() throws IOException {
+        long size = channel.size();
+        long offset = 0;
+        ByteBuffer chunk = ByteBuffer.allocate(READ_CHUNK_BYTES);
+        scan:
+        while (offset < size) {
+            chunk.clear();
+            chunk.limit((int) Math.min(chunk.capacity(), size - offset));
+            channel.read(chunk, offset);
+            chunk.flip();
+            int consumed = 0;
+            while (true) {
+                Entry entry = parse(chunk);
+                if (entry == null) {
+                    break;
+                }
+                depth++;
+                consumed = chunk.position();
+            }
+            if (consumed == 0) {
+                break scan;
+            }
+            offset += consumed;
+        }
+        if (offset < size) {
+            channel.truncate(offset);
+        }
+        writeOffset = offset;
+    }
+
+    /**
+     * Parse one record at the buffer's position. Returns null, leaving the
+     * position unchanged, if the record is incomplete or fails its checksum.
+     */
+    private static Entry parse(ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_BYTES) {
+            return null;
+        }
+        int payloadLength = buffer.getInt(start);
+        int expectedCrc = buffer.getInt(start + Integer.BYTES);
+        if (payloadLength < Long.BYTES + Integer.BYTES || payloadLength > READ_CHUNK_BYTES - HEADER_BYTES
+                || buffer.remaining() < HEADER_BYTES + payloadLength) {
+            return null;
+        }
+        if (crc(buffer.array(), buffer.arrayOffset() + start + HEADER_BYTES, payloadLength) != expectedCrc) {
+            return null;
+        }
+        buffer.position(start + HEADER_BYTES);
+        long expireAt = buffer.getLong();
+        int keyLength = buffer.getInt();
+        if (keyLength < 0 || keyLength > payloadLength - Long.BYTES - Integer.BYTES) {
+            buffer.position(start);
+            return null;
+        }
+        byte[] key = new byte[keyLength];
+        buffer.get(key);
+        byte[] value = new byte[payloadLength - Long.BYTES - Integer.BYTES - keyLength];
+        buffer.get(value);
+        return new Entry(new String(key, StandardCharsets.UTF_8), new String(value, StandardCharsets.UTF_8), expireAt);
+    }
+
+    private static int crc(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+}
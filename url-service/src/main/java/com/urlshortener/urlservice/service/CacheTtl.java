@@ -0,0 +1,33 @@
+package com.urlshortener.urlservice.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * TTL rules for {@code url:<shortCode>} Redis keys, shared by the create
+ * path and heavy-hitter pinning so both agree on what a key's TTL should be.
+ */
+final class CacheTtl {
+
+    static final long NONE = -1;
+    static final long EXPIRED = 0;
+
+    private CacheTtl() {}
+
+    /**
+     * @param expiryAt   link expiry, or null
+     * @param capSeconds longest TTL to apply; zero or negative means unlimited
+     * @return seconds to set on the key, {@link #NONE} for no TTL,
+     *         or {@link #EXPIRED} if the link has already expired
+     */
+    static long seconds(LocalDateTime expiryAt, long capSeconds) {
+        if (expiryAt == null) {
+            return capSeconds > 0 ? capSeconds : NONE;
+        }
+        Duration ttl = Duration.between(LocalDateTime.now(), expiryAt);
+        if (ttl.isNegative() || ttl.isZero()) {
+            return EXPIRED;
+        }
+        return capSeconds > 0 ? Math.min(ttl.getSeconds(), capSeconds) : ttl.getSeconds();
+    }
+}
@@ -0,0 +1,175 @@
+package com.urlshortener.urlservice.service;
+
+import com.urlshortener.urlservice.dto.ClickEvent;
+import com.urlshortener.urlservice.dto.ClickStatsResponse;
+import com.urlshortener.urlservice.exception.UrlNotFoundException;
+import com.urlshortener.urlservice.repository.ClickStatsRepository;
+import com.urlshortener.urlservice.repository.ClickStatsRepository.ClickDelta;
+import com.urlshortener.urlservice.repository.ClickStatsRepository.StoredStats;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory click aggregation with periodic batched flush to Postgres.
+ *
+ * Clicks land in the current window: a per-link {@link LongAdder} (striped,
+ * so a viral link does not serialize consumers on one counter) plus a
+ * {@link HyperLogLog} of visitor fingerprints. Every flush swaps in a fresh
+ * window under a brief write lock and upserts the old one in one batch.
+ * A failed flush folds its deltas back into the current window.
+ *
+ * Delivery is at-least-once from RabbitMQ but counts held in memory are lost
+ * if the process dies between flushes — at most one flush interval of clicks.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClickStatsService {
+
+    private final ClickStatsRepository clickStatsRepository;
+    private final HotLinkService hotLinkService;
+
+    // Read lock = record into the window; write lock = swap the window out
+    private final ReadWriteLock windowLock = new ReentrantReadWriteLock();
+    private volatile Map<String, LinkWindow> window = new ConcurrentHashMap<>();
+
+    static final class LinkWindow {
+        final LongAdder clicks = new LongAdder();
+        final HyperLogLog visitors = new HyperLogLog();
+        final LongAccumulator lastClickMillis = new LongAccumulator(Math::max, 0L);
+    }
+
+    public void record(ClickEvent event) {
+        if (event.getShortCode() == null || event.getShortCode().isBlank()) {
+            return;
+        }
+        // Redirect traffic is the strongest hotness signal we get. redirect-service only
+        // emits clicks for codes it resolved, so unknown codes never reach the sketch.
+        hotLinkService.recordAccess(event.getShortCode());
+
+        String visitor = event.getIpAddress() + "|" + event.getUserAgent();
+        long clickedAt = parseTimestamp(event.getTimestamp());
+
+        windowLock.readLock().lock();
+        try {
+            LinkWindow link = window.computeIfAbsent(event.getShortCode(), k -> new LinkWindow());
+            link.clicks.increment();
+            link.visitors.offer(visitor);
+            link.lastClickMillis.accumulate(clickedAt);
+        } finally {
+            windowLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Write the current window's deltas to Postgres in one batched transaction.
+     */
+    @Scheduled(fixedDelayString = "${app.click-stats.flush-interval-ms:5000}")
+    public void flush() {
+        Map<String, LinkWindow> flushing;
+        windowLock.writeLock().lock();
+        try {
+            if (window.isEmpty()) {
+                return;
+            }
+            flushing = window;
+            window = new ConcurrentHashMap<>();
+        } finally {
+            windowLock.writeLock().unlock();
+        }
+
+        List<ClickDelta> deltas = new ArrayList<>(flushing.size());
+        flushing.forEach((shortCode, link) -> deltas.add(new ClickDelta(
+                shortCode, link.clicks.sum(), link.visitors, toLocalDateTime(link.lastClickMillis.get()))));
+
+        try {
+            clickStatsRepository.applyDeltas(deltas);
+            log.debug("Flushed click stats for {} link(s)", deltas.size());
+        } catch (Exception e) {
+            log.warn("Click stats flush failed for {} link(s) — retrying next cycle: {}",
+                    deltas.size(), e.getMessage());
+            requeue(flushing);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Persisted totals plus whatever this replica has not flushed yet.
+     */
+    public ClickStatsResponse getStats(String shortCode) {
+        StoredStats stored = clickStatsRepository.findByShortCode(shortCode)
+                .orElseThrow(() -> new UrlNotFoundException("Short code not found: " + shortCode));
+
+        long totalClicks = stored.totalClicks();
+        HyperLogLog visitors = HyperLogLog.fromBytes(stored.visitorSketch());
+        LocalDateTime lastClickAt = stored.lastClickAt();
+
+        LinkWindow pending = window.get(shortCode);
+        if (pending != null) {
+            totalClicks += pending.clicks.sum();
+            visitors.merge(pending.visitors);
+            LocalDateTime pendingLast = toLocalDateTime(pending.lastClickMillis.get());
+            if (pendingLast != null && (lastClickAt == null || pendingLast.isAfter(lastClickAt))) {
+                lastClickAt = pendingLast;
+            }
+        }
+
+        return ClickStatsResponse.builder()
+                .shortCode(shortCode)
+                .totalClicks(totalClicks)
+                .uniqueVisitors(visitors.estimate())
+                .lastClickAt(lastClickAt)
+                .build();
+    }
+
+    // ── Helpers ─────────────────────────────────────────────
+
+    private void requeue(Map<String, LinkWindow> failed) {
+        windowLock.readLock().lock();
+        try {
+            failed.forEach((shortCode, old) -> {
+                LinkWindow link = window.computeIfAbsent(shortCode, k -> new LinkWindow());
+                link.clicks.add(old.clicks.sum());
+                link.visitors.merge(old.visitors);
+                link.lastClickMillis.accumulate(old.lastClickMillis.get());
+            });
+        } finally {
+            windowLock.readLock().unlock();
+        }
+    }
+
+    private static long parseTimestamp(String timestamp) {
+        if (timestamp != null) {
+            try {
+                return Instant.parse(timestamp).toEpochMilli();
+            } catch (DateTimeParseException e) {
+                // fall through to receive time
+            }
+        }
+        return System.currentTimeMillis();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return epochMillis == 0L ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,303 @@
+package com.urlshortener.urlservice.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Reversed-label trie of blocked domains.
+ *
+ * {@code evil.example} is stored as {@code example → evil}. A host matches if
+ * walking its labels from the right reaches a terminal node, so one entry
+ * covers the domain and all of its subdomains. Entries under an already
+ * blocked domain add nothing and are skipped.
+ *
+ * Labels ({@code com}, {@code www}, ...) repeat across millions of entries,
+ * so each is interned once into a shared ASCII byte array. Edges live in a single
+ * open-addressing table keyed by {@code (parent node, label id)}. The trie is
+ * a handful of primitive arrays and a lookup allocates nothing.
+ *
+ * Not thread-safe while it is being built; publish it safely afterwards.
+ */
+final class DomainTrie {
+
+    private static final int ROOT = 0;
+    private static final double LOAD_FACTOR = 0.75;
+
+    // Interned labels (ASCII): label i is labelBytes[labelOffsets[i], labelOffsets[i + 1])
+    private byte[] labelBytes = new byte[1024];
+    private int[] labelOffsets = new int[256];
+    private int labelCount;
+    // Open-addressing index over the labels: label id + 1, 0 for an empty slot
+    private int[] labelTable = new int[256];
+
+    // Open-addressing edges: (parent << 32 | label id) → child node, 0 for an empty slot
+    private long[] edgeKeys = new long[1024];
+    private int[] edgeChildren = new int[1024];
+    private int edgeCount;
+
+    private final BitSet terminal = new BitSet();
+    private int nodeCount = 1;
+    private int size;
+
+    /**
+     * Block {@code domain} and its subdomains. A leading {@code *.} or
+     * {@code .} and a trailing dot are ignored; the domain must already be
+     * lowercase ASCII.
+     *
+     * @return false if the domain is empty or has an empty label
+     */
+    boolean add(CharSequence domain) {
+        int from = 0;
+        int to = domain.length();
+        if (to - from >= 2 && domain.charAt(0) == '*' && domain.charAt(1) == '.') {
+            from += 2;
+        } else if (to > from && domain.charAt(0) == '.') {
+            from++;
+        }
+        if (to > from && domain.charAt(to - 1) == '.') {
+            to--;
+        }
+        if (to == from) {
+            return false;
+        }
+        for (int k = from; k < to; k++) {
+            if (domain.charAt(k) == '.' && (k == from || domain.charAt(k - 1) == '.')) {
+                return false;
+            }
+        }
+
+        int node = ROOT;
+        int labelEnd = to;
+        while (labelEnd > from) {
+            int labelStart = lastDot(domain, from, labelEnd) + 1;
+            int label = internLabel(domain, labelStart, labelEnd);
+            int child = child(node, label);
+            if (child == 0) {
+                child = addChild(node, label);
+            }
+            node = child;
+            if (terminal.get(node)) {
+                // Already covered by a blocked parent domain
+                return true;
+            }
+            labelEnd = labelStart - 1;
+        }
+        terminal.set(node);
+        size++;
+        return true;
+    }
+
+    /**
+     * @return the index in {@code host} where the blocked suffix starts
+     *         ({@code from} for an exact match), or -1 if none matches
+     */
+    int match(CharSequence host, int from, int to) {
+        int node = ROOT;
+        int labelEnd = to;
+        while (labelEnd > from) {
+            int labelStart = lastDot(host, from, labelEnd) + 1;
+            int label = findLabel(host, labelStart, labelEnd);
+            if (label < 0) {
+                return -1;
+            }
+            node = child(node, label);
+            if (node == 0) {
+                return -1;
+            }
+            if (terminal.get(node)) {
+                return labelStart;
+            }
+            labelEnd = labelStart - 1;
+        }
+        return -1;
+    }
+
+    /**
+     * Releases the spare capacity left by growth once loading is done: the
+     * label arrays are cut to size and both hash tables are rebuilt at the
+     * load factor.
+     */
+    void trimToSize() {
+        labelBytes = Arrays.copyOf(labelBytes, labelOffsets[labelCount]);
+        labelOffsets = Arrays.copyOf(labelOffsets, labelCount + 1);
+        rehashLabels(capacityFor(labelCount));
+        rehashEdges(capacityFor(edgeCount));
+    }
+
+    /** Number of blocked domains, not counting entries covered by a parent. */
+    int size() {
+        return size;
+    }
+
+    /** Approximate heap footprint of the arrays, in bytes. */
+    long memoryBytes() {
+        return labelBytes.length + 4L * labelOffsets.length + 4L * labelTable.length
+                + 8L * edgeKeys.length + 4L * edgeChildren.length + terminal.size() / 8;
+    }
+
+    // ── Labels ──────────────────────────────────────────────
+
+    private int findLabel(CharSequence s, int from, int to) {
+        int capacity = labelTable.length;
+        for (int slot = slot(hash(s, from, to), capacity); ; slot = next(slot, capacity)) {
+            int id = labelTable[slot] - 1;
+            if (id < 0) {
+                return -1;
+            }
+            if (labelEquals(id, s, from, to)) {
+                return id;
+            }
+        }
+    }
+
+    private int internLabel(CharSequence s, int from, int to) {
+        int existing = findLabel(s, from, to);
+        if (existing >= 0) {
+            return existing;
+        }
+        int length = to - from;
+        int offset = labelOffsets[labelCount];
+        if (offset + length > labelBytes.length) {
+            labelBytes = Arrays.copyOf(labelBytes, Math.max(labelBytes.length * 2, offset + length));
+        }
+        for (int k = 0; k < length; k++) {
+            labelBytes[offset + k] = (byte) s.charAt(from + k);
+        }
+        if (labelCount + 2 > labelOffsets.length) {
+            labelOffsets = Arrays.copyOf(labelOffsets, labelOffsets.length * 2);
+        }
+        int id = labelCount++;
+        labelOffsets[labelCount] = offset + length;
+
+        if (labelCount > labelTable.length * LOAD_FACTOR) {
+            rehashLabels(labelTable.length * 2);
+        } else {
+            insertLabel(id);
+        }
+        return id;
+    }
+
+    private void insertLabel(int id) {
+        int slot = slot(hash(labelBytes, labelOffsets[id], labelOffsets[id + 1]), labelTable.length);
+        while (labelTable[slot] != 0) {
+            slot = next(slot, labelTable.length);
+        }
+        labelTable[slot] = id + 1;
+    }
+
+    private void rehashLabels(int capacity) {
+        labelTable = new int[capacity];
+        for (int id = 0; id < labelCount; id++) {
+            insertLabel(id);
+        }
+    }
+
+    private boolean labelEquals(int id, CharSequence s, int from, int to) {
+        int offset = labelOffsets[id];
+        if (labelOffsets[id + 1] - offset != to - from) {
+            return false;
+        }
+        for (int k = from; k < to; k++) {
+            if (labelBytes[offset++] != s.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ── Edges ───────────────────────────────────────────────
+
+    private int child(int parent, int label) {
+        long key = edgeKey(parent, label);
+        int capacity = edgeKeys.length;
+        for (int slot = slot(mix(key), capacity); edgeChildren[slot] != 0; slot = next(slot, capacity)) {
+            if (edgeKeys[slot] == key) {
+                return edgeChildren[slot];
+            }
+        }
+        return 0;
+    }
+
+    private int addChild(int parent, int label) {
+        if (edgeCount + 1 > edgeKeys.length * LOAD_FACTOR) {
+            rehashEdges(edgeKeys.length * 2);
+        }
+        int child = nodeCount++;
+        putEdge(edgeKey(parent, label), child);
+        edgeCount++;
+        return child;
+    }
+
+    private void putEdge(long key, int child) {
+        int slot = slot(mix(key), edgeKeys.length);
+        while (edgeChildren[slot] != 0) {
+            slot = next(slot, edgeKeys.length);
+        }
+        edgeKeys[slot] = key;
+        edgeChildren[slot] = child;
+    }
+
+    private void rehashEdges(int capacity) {
+        long[] oldKeys = edgeKeys;
+        int[] oldChildren = edgeChildren;
+        edgeKeys = new long[capacity];
+        edgeChildren = new int[capacity];
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldChildren[slot] != 0) {
+                putEdge(oldKeys[slot], oldChildren[slot]);
+            }
+        }
+    }
+
+    private static int capacityFor(int count) {
+        return Math.max(16, (int) Math.ceil(count / LOAD_FACTOR) + 1);
+    }
+
+    private static long edgeKey(int parent, int label) {
+        return (long) parent << 32 | label;
+    }
+
+    // ── Hashing ─────────────────────────────────────────────
+
+    private static int hash(CharSequence s, int from, int to) {
+        int h = 0;
+        for (int k = from; k < to; k++) {
+            h = 31 * h + s.charAt(k);
+        }
+        return h * 0x9E3779B9;
+    }
+
+    private static int hash(byte[] s, int from, int to) {
+        int h = 0;
+        for (int k = from; k < to; k++) {
+            h = 31 * h + s[k];
+        }
+        return h * 0x9E3779B9;
+    }
+
+    private static int mix(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key >>> 32);
+    }
+
+    /**
+     * Maps a hash onto [0, capacity) by its high bits, so tables need not be
+     * a power of two and {@link #trimToSize} can size them to the load factor.
+     */
+    private static int slot(int hash, int capacity) {
+        return (int) (((hash & 0xFFFFFFFFL) * capacity) >>> 32);
+    }
+
+    private static int next(int slot, int capacity) {
+        return slot + 1 == capacity ? 0 : slot + 1;
+    }
+
+    private static int lastDot(CharSequence s, int from, int to) {
+        for (int k = to - 1; k >= from; k--) {
+            if (s.charAt(k) == '.') {
+                return k;
+            }
+        }
+        return from - 1;
+    }
+}
@@ -1,5 +1,6 @@
 package com.urlshortener.urlservice.service;
 
+import com.urlshortener.urlservice.profiling.ExpiryCleanupEvent;
 import com.urlshortener.urlservice.repository.UrlRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,7 +24,11 @@ public class ExpiryCleanupService {
     @Scheduled(fixedRate = 300_000) // every 5 min
     @Transactional
     public void cleanupExpiredUrls() {
+        ExpiryCleanupEvent event = new ExpiryCleanupEvent();
+        event.begin();
         int count = urlRepository.deactivateExpiredUrls(LocalDateTime.now());
+        event.deactivated = count;
+        event.commit();
         if (count > 0) {
             log.info("Deactivated {} expired URL(s)", count);
         }
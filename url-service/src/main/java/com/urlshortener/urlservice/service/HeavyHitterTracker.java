@@ -0,0 +1,147 @@
+package com.urlshortener.urlservice.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Streaming top-K tracker: a count-min sketch estimates per-key frequency in
+ * fixed memory, and a size-K min-heap keeps the keys with the highest
+ * estimates. {@link #decay()} halves every counter so the ranking follows
+ * recent traffic rather than all-time totals.
+ *
+ * {@link #record} is lock-free on the common path — sketch counters are
+ * atomic, and the heap lock is only taken when the key is already tracked or
+ * its estimate beats the current heap minimum.
+ */
+public class HeavyHitterTracker {
+
+    public record HeavyHitter(String key, long estimate) {}
+
+    private static final class Candidate {
+        final String key;
+        long count;
+
+        Candidate(String key, long count) {
+            this.key = key;
+            this.count = count;
+        }
+    }
+
+    private final int capacity;
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+
+    private final PriorityQueue<Candidate> heap =
+            new PriorityQueue<>(Comparator.comparingLong((Candidate c) -> c.count));
+    private final Map<String, Candidate> members = new ConcurrentHashMap<>();
+    // Estimate a new key must beat to enter a full heap
+    private volatile long floor;
+
+    /**
+     * @param capacity number of heavy hitters to keep (K)
+     * @param depth    sketch rows (hash functions)
+     * @param width    counters per row; rounded up to a power of two
+     */
+    public HeavyHitterTracker(int capacity, int depth, int width) {
+        this.capacity = capacity;
+        this.depth = depth;
+        this.width = Integer.highestOneBit(Math.max(width - 1, 1)) << 1;
+        this.counters = new AtomicLongArray(depth * this.width);
+    }
+
+    public void record(String key) {
+        long estimate = increment(key);
+        if (estimate <= floor && !members.containsKey(key)) {
+            return;
+        }
+        synchronized (heap) {
+            Candidate candidate = members.get(key);
+            if (candidate != null) {
+                heap.remove(candidate);
+                candidate.count = estimate;
+                heap.add(candidate);
+            } else if (heap.size() < capacity) {
+                candidate = new Candidate(key, estimate);
+                heap.add(candidate);
+                members.put(key, candidate);
+            } else if (estimate > heap.peek().count) {
+                members.remove(heap.poll().key);
+                candidate = new Candidate(key, estimate);
+                heap.add(candidate);
+                members.put(key, candidate);
+            }
+            floor = heap.size() < capacity ? 0 : heap.peek().count;
+        }
+    }
+
+    /**
+     * Current heavy hitters, highest estimate first.
+     */
+    public List<HeavyHitter> topK() {
+        List<HeavyHitter> result;
+        synchronized (heap) {
+            result = new ArrayList<>(heap.size());
+            for (Candidate c : heap) {
+                result.add(new HeavyHitter(c.key, c.count));
+            }
+        }
+        result.sort(Comparator.comparingLong(HeavyHitter::estimate).reversed());
+        return result;
+    }
+
+    /**
+     * Halve every counter. Keys whose count reaches zero leave the heap.
+     */
+    public void decay() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, v -> v >>> 1);
+        }
+        synchronized (heap) {
+            List<Candidate> survivors = new ArrayList<>(heap.size());
+            for (Candidate c : heap) {
+                c.count >>>= 1;
+                if (c.count > 0) {
+                    survivors.add(c);
+                } else {
+                    members.remove(c.key);
+                }
+            }
+            heap.clear();
+            heap.addAll(survivors);
+            floor = heap.size() < capacity ? 0 : heap.peek().count;
+        }
+    }
+
+    public long estimate(String key) {
+        long h = HyperLogLog.hash64(key);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(index(row, h1, h2)));
+        }
+        return min;
+    }
+
+    private long increment(String key) {
+        long h = HyperLogLog.hash64(key);
+        int h1 = (int) h;
+        int h2 = (int) (h >>> 32);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.incrementAndGet(index(row, h1, h2)));
+        }
+        return min;
+    }
+
+    // Kirsch–Mitzenmacher: row hashes derived from two halves of one 64-bit hash
+    private int index(int row, int h1, int h2) {
+        return row * width + ((h1 + row * h2) & (width - 1));
+    }
+}
@@ -0,0 +1,222 @@
+package com.urlshortener.urlservice.service;
+
+import com.urlshortener.urlservice.entity.Url;
+import com.urlshortener.urlservice.repository.UrlMapping;
+import com.urlshortener.urlservice.repository.UrlRepository;
+import com.urlshortener.urlservice.service.HeavyHitterTracker.HeavyHitter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the hottest links pinned.
+ *
+ * Lookups, creates and click events for links that resolved feed a
+ * {@link HeavyHitterTracker}. On every refresh, links in the top K with at
+ * least {@code min-count} recent hits are pinned: their Redis key is re-set
+ * with the extended pin TTL (never past the link's own expiry), and a copy of
+ * the row is kept in memory so {@code getUrlInfo} skips the database. Links
+ * that drop out are unpinned — the local copy is released and the key goes
+ * back to the normal TTL.
+ *
+ * A pinned copy is never served once it has expired, and every refresh
+ * re-checks the pinned links against the database, so a link deactivated
+ * elsewhere stops resolving within one refresh interval.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotLinkService {
+
+    private final UrlRepository urlRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+
+    @Value("${app.heavy-hitters.capacity:100}")
+    private int capacity;
+
+    @Value("${app.heavy-hitters.sketch-depth:4}")
+    private int sketchDepth;
+
+    @Value("${app.heavy-hitters.sketch-width:4096}")
+    private int sketchWidth;
+
+    @Value("${app.heavy-hitters.min-count:50}")
+    private long minCount;
+
+    @Value("${app.heavy-hitters.pin-ttl-seconds:604800}")
+    private long pinTtlSeconds;
+
+    @Value("${app.cache.ttl-seconds:0}")
+    private long cacheTtlSeconds;
+
+    private HeavyHitterTracker tracker;
+    private final Map<String, Url> pinned = new ConcurrentHashMap<>();
+
+    // Hot codes with no active row; not looked up again until they cool off
+    private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        tracker = new HeavyHitterTracker(capacity, sketchDepth, sketchWidth);
+    }
+
+    public void recordAccess(String shortCode) {
+        tracker.record(shortCode);
+    }
+
+    /**
+     * The pinned copy of a link, if it is currently a heavy hitter and still
+     * active and unexpired.
+     */
+    public Optional<Url> getPinned(String shortCode) {
+        Url url = pinned.get(shortCode);
+        if (url == null) {
+            return Optional.empty();
+        }
+        if (!isLive(url, LocalDateTime.now())) {
+            pinned.remove(shortCode, url);
+            return Optional.empty();
+        }
+        return Optional.of(url);
+    }
+
+    public List<HeavyHitter> heavyHitters() {
+        return tracker.topK();
+    }
+
+    public boolean isPinned(String shortCode) {
+        return pinned.containsKey(shortCode);
+    }
+
+    @Scheduled(fixedDelayString = "${app.heavy-hitters.refresh-interval-ms:10000}")
+    public void refreshPins() {
+        Set<String> hot = new HashSet<>();
+        for (HeavyHitter hitter : tracker.topK()) {
+            if (hitter.estimate() >= minCount) {
+                hot.add(hitter.key());
+            }
+        }
+
+        rejected.retainAll(hot);
+        LocalDateTime now = LocalDateTime.now();
+        revalidate(hot, now);
+
+        for (String shortCode : hot) {
+            if (rejected.contains(shortCode)) {
+                continue;
+            }
+            Url url = pinned.get(shortCode);
+            if (url == null) {
+                url = urlRepository.findByShortCode(shortCode)
+                        .filter(u -> isLive(u, now))
+                        .orElse(null);
+                if (url == null) {
+                    rejected.add(shortCode);
+                    continue;
+                }
+                pinned.put(shortCode, url);
+                log.info("Pinned heavy hitter {}", shortCode);
+            }
+            writeKey(url, pinnedTtlCap());
+        }
+
+        for (String shortCode : Set.copyOf(pinned.keySet())) {
+            if (!hot.contains(shortCode)) {
+                Url url = pinned.remove(shortCode);
+                if (url != null) {
+                    writeKey(url, cacheTtlSeconds);
+                    log.info("Unpinned {}", shortCode);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.heavy-hitters.decay-interval-ms:60000}")
+    public void decay() {
+        tracker.decay();
+    }
+
+    // ── Helpers ─────────────────────────────────────────────
+
+    /**
+     * Drop pinned copies whose row is no longer active, in one query, along
+     * with the Redis key the pin kept alive.
+     */
+    private void revalidate(Set<String> hot, LocalDateTime now) {
+        List<String> codes = hot.stream().filter(pinned::containsKey).toList();
+        if (codes.isEmpty()) {
+            return;
+        }
+        Set<String> live = new HashSet<>();
+        for (UrlMapping mapping : urlRepository.findActiveMappings(codes, now)) {
+            live.add(mapping.getShortCode());
+        }
+        for (String shortCode : codes) {
+            if (!live.contains(shortCode)) {
+                pinned.remove(shortCode);
+                rejected.add(shortCode);
+                deleteKey(shortCode);
+                log.info("Unpinned {}: no longer active", shortCode);
+            }
+        }
+    }
+
+    private static boolean isLive(Url url, LocalDateTime now) {
+        return Boolean.TRUE.equals(url.getIsActive())
+                && (url.getExpiryAt() == null || url.getExpiryAt().isAfter(now));
+    }
+
+    private long pinnedTtlCap() {
+        // An unlimited base TTL is already the longest possible
+        return cacheTtlSeconds <= 0 ? 0 : Math.max(cacheTtlSeconds, pinTtlSeconds);
+    }
+
+    private void writeKey(Url url, long capSeconds) {
+        long ttl = CacheTtl.seconds(url.getExpiryAt(), capSeconds);
+        if (ttl == CacheTtl.EXPIRED) {
+            pinned.remove(url.getShortCode());
+            return;
+        }
+        // Pins are re-written every refresh, so a skipped write just waits for the next one
+        if (!redisCircuitBreaker.tryAcquire()) {
+            return;
+        }
+        try {
+            String key = "url:" + url.getShortCode();
+            if (ttl == CacheTtl.NONE) {
+                redisTemplate.opsForValue().set(key, url.getLongUrl());
+            } else {
+                redisTemplate.opsForValue().set(key, url.getLongUrl(), ttl, TimeUnit.SECONDS);
+            }
+            redisCircuitBreaker.onSuccess();
+        } catch (Exception e) {
+            redisCircuitBreaker.onFailure(e);
+        }
+    }
+
+    private void deleteKey(String shortCode) {
+        if (!redisCircuitBreaker.tryAcquire()) {
+            return;
+        }
+        try {
+            redisTemplate.delete("url:" + shortCode);
+            redisCircuitBreaker.onSuccess();
+        } catch (Exception e) {
+            redisCircuitBreaker.onFailure(e);
+        }
+    }
+}
@@ -0,0 +1,663 @@
+package com.urlshortener.urlservice.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Memory-mapped code → URL index kept on local disk, for lookups while
+ * Redis and PostgreSQL are both unreachable.
+ *
+ * Two files per generation {@code N} in one directory:
+ * <pre>
+ * urls-N.dat  [header 16 B] then records [int payloadLength][int crc32][payload]
+ *             payload = [long expireAtMillis][short codeLength][code][url] (UTF-8)
+ * urls-N.idx  [header 32 B: magic, version, capacity, size, dataEnd, generation]
+ *             then open-addressing slots [long fingerprint][long offset][long expireAtMillis]
+ * </pre>
+ * {@code CURRENT} names the live generation; {@code expireAtMillis = 0} means
+ * no expiry. The data file is append-only and mapped in fixed segments (a
+ * record never straddles two); the index uses linear probing over a
+ * power-of-two table and doubles at 70% load. Re-putting a code appends a new
+ * record and repoints its slot, so superseded and expired records pile up
+ * until {@link #rewrite} copies the live ones into generation {@code N + 1}
+ * and switches {@code CURRENT}.
+ *
+ * {@link #get} is lock-free and may run on any thread: a slot's offset is
+ * stored with release semantics after its record and fingerprint are
+ * written, and read with acquire semantics. Everything else must be called by
+ * one thread at a time. Entries live in the page cache, not on the heap; a
+ * lookup allocates only the returned {@link Entry}.
+ *
+ * Appends are not fsync'ed. On open, records written after the last index
+ * update are re-indexed, and an unreadable index is rebuilt from the data file.
+ */
+final class LocalIndex implements Closeable {
+
+    record Entry(String shortCode, String longUrl, long expireAtMillis) {}
+
+    /**
+     * Result of {@link #verify}: every record's checksum and every slot's
+     * pointer, fingerprint, expiry and probe position were checked.
+     */
+    record Verification(long records, long corruptAt, int entries, int expired, int badSlots) {
+
+        boolean ok() {
+            return corruptAt < 0 && badSlots == 0;
+        }
+    }
+
+    @FunctionalInterface
+    interface Sink {
+        boolean put(String shortCode, String longUrl, long expireAtMillis) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface Source {
+        void writeTo(Sink sink) throws IOException;
+    }
+
+    static final int MAX_RECORD_BYTES = 16 * 1024;
+
+    private static final int DATA_MAGIC = 0x534E5044;   // "SNPD"
+    private static final int INDEX_MAGIC = 0x534E5049;  // "SNPI"
+    private static final int VERSION = 1;
+    private static final int DATA_HEADER_BYTES = 16;
+    private static final int INDEX_HEADER_BYTES = 32;
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int SLOT_BYTES = 24;
+    private static final int MIN_CAPACITY = 1 << 10;
+    // Largest table whose mapping stays under 2 GB
+    private static final int MAX_CAPACITY = 1 << 26;
+    private static final double LOAD_FACTOR = 0.7;
+
+    // Index header fields
+    private static final int H_CAPACITY = 8;
+    private static final int H_SIZE = 12;
+    private static final int H_DATA_END = 16;
+    private static final int H_GENERATION = 24;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * What readers see. Replaced, never mutated, when a segment is mapped,
+     * the table grows or a new generation is adopted.
+     */
+    private record View(MappedByteBuffer index, int mask, MappedByteBuffer[] segments) {}
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final int initialCapacity;
+
+    private volatile View view;
+    private long generation;
+    private FileChannel dataChannel;
+    private FileChannel indexChannel;
+    private long dataEnd;
+    private int size;
+
+    /**
+     * Open the live generation in {@code dir}, or start an empty one.
+     *
+     * @param segmentBytes    data file mapping unit; at least {@link #MAX_RECORD_BYTES}
+     * @param initialCapacity starting slot count, rounded up to a power of two
+     */
+    static LocalIndex open(Path dir, int segmentBytes, int initialCapacity) throws IOException {
+        Files.createDirectories(dir);
+        Path current = dir.resolve("CURRENT");
+        LocalIndex index;
+        if (Files.exists(current)) {
+            long generation = Long.parseLong(Files.readString(current).strip());
+            index = new LocalIndex(dir, segmentBytes, initialCapacity, generation, false);
+        } else {
+            index = new LocalIndex(dir, segmentBytes, initialCapacity, 1, true);
+            index.commitGeneration();
+        }
+        index.deleteOtherGenerations();
+        return index;
+    }
+
+    private LocalIndex(Path dir, int segmentBytes, int initialCapacity, long generation, boolean create)
+            throws IOException {
+        if (segmentBytes < MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("segmentBytes must be at least " + MAX_RECORD_BYTES);
+        }
+        this.dir = dir;
+        this.segmentBytes = segmentBytes;
+        this.initialCapacity = tableSize(initialCapacity);
+        this.generation = generation;
+        if (create) {
+            Files.deleteIfExists(dataPath(generation));
+            Files.deleteIfExists(indexPath(generation));
+        }
+        dataChannel = FileChannel.open(dataPath(generation), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer[] segments = mapSegments(dataChannel, Math.max(dataChannel.size(), 1), segmentBytes);
+        if (create || segments[0].getInt(0) != DATA_MAGIC) {
+            segments[0].putInt(0, DATA_MAGIC).putInt(4, VERSION).putLong(8, generation);
+        } else if (segments[0].getInt(4) != VERSION || segments[0].getLong(8) != generation) {
+            throw new IOException("Data file " + dataPath(generation) + " does not belong to generation " + generation);
+        }
+        recover(segments, create);
+    }
+
+    /**
+     * @return the entry, or null if the code is unknown or expired at {@code nowMillis}
+     */
+    Entry get(String shortCode, long nowMillis) {
+        byte[] code = shortCode.getBytes(StandardCharsets.UTF_8);
+        long fingerprint = fingerprint(code);
+        retry:
+        for (int attempt = 0; attempt < 3; attempt++) {
+            View v = view;
+            int slot = (int) fingerprint & v.mask;
+            for (int probes = 0; probes <= v.mask; probes++, slot = (slot + 1) & v.mask) {
+                int position = INDEX_HEADER_BYTES + slot * SLOT_BYTES;
+                long offset = (long) LONGS.getAcquire(v.index, position + 8);
+                if (offset == 0) {
+                    return null;
+                }
+                if ((long) LONGS.get(v.index, position) != fingerprint) {
+                    continue;
+                }
+                int segment = (int) (offset / segmentBytes);
+                if (segment >= v.segments.length) {
+                    // Appended to a segment mapped after we read the view
+                    continue retry;
+                }
+                Entry entry = read(v.segments[segment], (int) (offset % segmentBytes), code, false);
+                if (entry != null) {
+                    return entry.expireAtMillis() != 0 && entry.expireAtMillis() <= nowMillis ? null : entry;
+                }
+            }
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * Insert or replace a mapping.
+     *
+     * @return false if the record is too large or the table is full
+     */
+    boolean put(String shortCode, String longUrl, long expireAtMillis) throws IOException {
+        byte[] code = shortCode.getBytes(StandardCharsets.UTF_8);
+        byte[] url = longUrl.getBytes(StandardCharsets.UTF_8);
+        int payloadLength = Long.BYTES + Short.BYTES + code.length + url.length;
+        if (code.length > Short.MAX_VALUE || RECORD_HEADER_BYTES + payloadLength > MAX_RECORD_BYTES) {
+            return false;
+        }
+        if (size + 1 > view.mask * LOAD_FACTOR && !grow()) {
+            if (findSlot(view, code, fingerprint(code)) < 0) {
+                return false;
+            }
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + payloadLength);
+        record.putInt(payloadLength).putInt(0)
+                .putLong(expireAtMillis).putShort((short) code.length).put(code).put(url);
+        record.putInt(Integer.BYTES, crc(record.array(), RECORD_HEADER_BYTES, payloadLength));
+
+        long offset = dataEnd;
+        if (offset % segmentBytes + record.capacity() > segmentBytes) {
+            // Leave the zeroed tail of this segment as padding
+            offset = (offset / segmentBytes + 1) * segmentBytes;
+        }
+        int segment = (int) (offset / segmentBytes);
+        View v = view;
+        if (segment >= v.segments.length) {
+            MappedByteBuffer[] segments = Arrays.copyOf(v.segments, segment + 1);
+            segments[segment] = dataChannel.map(FileChannel.MapMode.READ_WRITE,
+                    (long) segment * segmentBytes, segmentBytes);
+            v = new View(v.index, v.mask, segments);
+            view = v;
+        }
+        v.segments[segment].put((int) (offset % segmentBytes), record.array());
+        dataEnd = offset + record.capacity();
+        index(v, code, offset, expireAtMillis);
+        v.index.putLong(H_DATA_END, dataEnd);
+        return true;
+    }
+
+    /**
+     * Call {@code sink} for every indexed entry not expired at {@code nowMillis}.
+     */
+    void forEachLive(long nowMillis, Sink sink) throws IOException {
+        View v = view;
+        for (int slot = 0; slot <= v.mask; slot++) {
+            int position = INDEX_HEADER_BYTES + slot * SLOT_BYTES;
+            long offset = v.index.getLong(position + 8);
+            long expireAt = v.index.getLong(position + 16);
+            if (offset == 0 || (expireAt != 0 && expireAt <= nowMillis)) {
+                continue;
+            }
+            Entry entry = read(v.segments[(int) (offset / segmentBytes)], (int) (offset % segmentBytes), null, false);
+            sink.put(entry.shortCode(), entry.longUrl(), entry.expireAtMillis());
+        }
+    }
+
+    /**
+     * Build generation {@code N + 1} from {@code source}, sync it, switch
+     * {@code CURRENT} to it and delete generation {@code N}. Readers keep
+     * using generation {@code N} until the switch. On failure the live
+     * generation is left untouched.
+     */
+    void rewrite(Source source) throws IOException {
+        LocalIndex next = new LocalIndex(dir, segmentBytes, initialCapacity, generation + 1, true);
+        try {
+            source.writeTo(next::put);
+            next.force();
+            next.commitGeneration();
+        } catch (IOException | RuntimeException e) {
+            next.close();
+            next.deleteFiles();
+            throw e;
+        }
+        long previous = generation;
+        FileChannel oldData = dataChannel;
+        FileChannel oldIndex = indexChannel;
+        generation = next.generation;
+        dataChannel = next.dataChannel;
+        indexChannel = next.indexChannel;
+        dataEnd = next.dataEnd;
+        size = next.size;
+        view = next.view;
+        // Old mappings stay valid for readers still holding them after the channels close
+        oldData.close();
+        oldIndex.close();
+        Files.deleteIfExists(dataPath(previous));
+        Files.deleteIfExists(indexPath(previous));
+    }
+
+    /**
+     * Copy live entries into a fresh generation, dropping superseded and expired records.
+     */
+    void compact(long nowMillis) throws IOException {
+        rewrite(sink -> forEachLive(nowMillis, sink));
+    }
+
+    /**
+     * Check every record up to the data end and every occupied slot.
+     */
+    Verification verify(long nowMillis) {
+        View v = view;
+        long records = 0;
+        long corruptAt = -1;
+        long offset = DATA_HEADER_BYTES;
+        while (offset < dataEnd) {
+            MappedByteBuffer segment = v.segments[(int) (offset / segmentBytes)];
+            int within = (int) (offset % segmentBytes);
+            if (within + RECORD_HEADER_BYTES > segmentBytes || segment.getInt(within) == 0) {
+                offset = (offset / segmentBytes + 1) * segmentBytes;
+                continue;
+            }
+            int length = recordLength(segment, within);
+            if (length < 0) {
+                corruptAt = offset;
+                break;
+            }
+            records++;
+            offset += length;
+        }
+
+        int entries = 0;
+        int expired = 0;
+        int badSlots = 0;
+        for (int slot = 0; slot <= v.mask; slot++) {
+            int position = INDEX_HEADER_BYTES + slot * SLOT_BYTES;
+            long fingerprint = v.index.getLong(position);
+            long recordOffset = v.index.getLong(position + 8);
+            long expireAt = v.index.getLong(position + 16);
+            if (recordOffset == 0) {
+                continue;
+            }
+            entries++;
+            int segment = (int) (recordOffset / segmentBytes);
+            int within = (int) (recordOffset % segmentBytes);
+            Entry entry = recordOffset < DATA_HEADER_BYTES || recordOffset >= dataEnd
+                    || within + RECORD_HEADER_BYTES > segmentBytes
+                    ? null : read(v.segments[segment], within, null, true);
+            if (entry == null || entry.expireAtMillis() != expireAt
+                    || fingerprint(entry.shortCode().getBytes(StandardCharsets.UTF_8)) != fingerprint
+                    || !reachable(v, fingerprint, slot)) {
+                badSlots++;
+            } else if (expireAt != 0 && expireAt <= nowMillis) {
+                expired++;
+            }
+        }
+        if (entries != size) {
+            badSlots += Math.abs(entries - size);
+        }
+        return new Verification(records, corruptAt, entries, expired, badSlots);
+    }
+
+    /**
+     * Indexed entries, including expired ones not yet compacted away.
+     */
+    int size() {
+        return size;
+    }
+
+    long dataBytes() {
+        return dataEnd;
+    }
+
+    long indexBytes() {
+        return view.index.capacity();
+    }
+
+    long generation() {
+        return generation;
+    }
+
+    void force() {
+        View v = view;
+        for (MappedByteBuffer segment : v.segments) {
+            segment.force();
+        }
+        v.index.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        dataChannel.close();
+        indexChannel.close();
+    }
+
+    // ── Helpers ─────────────────────────────────────────────
+
+    /**
+     * Adopt the index file if it matches the data file, then index any
+     * records appended after its last update; otherwise rebuild it by
+     * scanning the whole data file.
+     */
+    private void recover(MappedByteBuffer[] segments, boolean create) throws IOException {
+        Path indexFile = indexPath(generation);
+        boolean valid = false;
+        if (!create && Files.exists(indexFile) && Files.size(indexFile) >= INDEX_HEADER_BYTES) {
+            indexChannel = FileChannel.open(indexFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, indexChannel.size());
+            int capacity = index.getInt(H_CAPACITY);
+            valid = index.getInt(0) == INDEX_MAGIC && index.getInt(4) == VERSION
+                    && index.getLong(H_GENERATION) == generation
+                    && Integer.bitCount(capacity) == 1 && capacity <= MAX_CAPACITY
+                    && index.capacity() == INDEX_HEADER_BYTES + (long) capacity * SLOT_BYTES
+                    && index.getLong(H_DATA_END) >= DATA_HEADER_BYTES
+                    && index.getLong(H_DATA_END) <= (long) segments.length * segmentBytes;
+            if (valid) {
+                view = new View(index, capacity - 1, segments);
+                size = index.getInt(H_SIZE);
+                dataEnd = index.getLong(H_DATA_END);
+            } else {
+                indexChannel.close();
+            }
+        }
+        if (!valid) {
+            view = new View(createIndex(indexFile, initialCapacity), initialCapacity - 1, segments);
+            indexChannel = FileChannel.open(indexFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            size = 0;
+            dataEnd = DATA_HEADER_BYTES;
+        }
+
+        long fileEnd = (long) segments.length * segmentBytes;
+        long offset = dataEnd;
+        while (offset < fileEnd) {
+            MappedByteBuffer segment = segments[(int) (offset / segmentBytes)];
+            int within = (int) (offset % segmentBytes);
+            int length = within + RECORD_HEADER_BYTES > segmentBytes ? -1 : recordLength(segment, within);
+            if (length < 0) {
+                // Padding, or the end: a record can only follow in the next segment
+                long next = (offset / segmentBytes + 1) * segmentBytes;
+                if (next < fileEnd && recordLength(segments[(int) (next / segmentBytes)], 0) > 0) {
+                    offset = next;
+                    continue;
+                }
+                break;
+            }
+            Entry entry = read(segment, within, null, false);
+            if (size + 1 > view.mask * LOAD_FACTOR && !grow()) {
+                break;
+            }
+            dataEnd = offset + length;
+            index(view, entry.shortCode().getBytes(StandardCharsets.UTF_8), offset, entry.expireAtMillis());
+            offset += length;
+        }
+        view.index.putLong(H_DATA_END, dataEnd);
+    }
+
+    /**
+     * Point the code's slot at {@code offset}, reusing its slot if the code
+     * is already indexed.
+     */
+    private void index(View v, byte[] code, long offset, long expireAtMillis) {
+        long fingerprint = fingerprint(code);
+        int slot = findSlot(v, code, fingerprint);
+        if (slot < 0) {
+            slot = -slot - 1;
+            size++;
+            v.index.putInt(H_SIZE, size);
+        }
+        int position = INDEX_HEADER_BYTES + slot * SLOT_BYTES;
+        v.index.putLong(position, fingerprint);
+        v.index.putLong(position + 16, expireAtMillis);
+        LONGS.setRelease(v.index, position + 8, offset);
+    }
+
+    /**
+     * @return the slot holding {@code code}, or {@code -(empty slot) - 1} where it would go
+     */
+    private int findSlot(View v, byte[] code, long fingerprint) {
+        int slot = (int) fingerprint & v.mask;
+        while (true) {
+            int position = INDEX_HEADER_BYTES + slot * SLOT_BYTES;
+            long offset = v.index.getLong(position + 8);
+            if (offset == 0) {
+                return -slot - 1;
+            }
+            if (v.index.getLong(position) == fingerprint
+                    && read(v.segments[(int) (offset / segmentBytes)], (int) (offset % segmentBytes), code, false) != null) {
+                return slot;
+            }
+            slot = (slot + 1) & v.mask;
+        }
+    }
+
+    /**
+     * Double the table into a new index file and publish it.
+     *
+     * @return false if the table is already at {@link #MAX_CAPACITY}
+     */
+    private boolean grow() throws IOException {
+        View old = view;
+        int capacity = old.mask + 1;
+        if (capacity >= MAX_CAPACITY) {
+            return false;
+        }
+        int grown = capacity * 2;
+        Path indexFile = indexPath(generation);
+        Path tmp = dir.resolve(indexFile.getFileName() + ".tmp");
+        Files.deleteIfExists(tmp);
+        MappedByteBuffer index = createIndex(tmp, grown);
+        int mask = grown - 1;
+        for (int slot = 0; slot < capacity; slot++) {
+            int from = INDEX_HEADER_BYTES + slot * SLOT_BYTES;
+            long offset = old.index.getLong(from + 8);
+            if (offset == 0) {
+                continue;
+            }
+            long fingerprint = old.index.getLong(from);
+            int to = (int) fingerprint & mask;
+            while (index.getLong(INDEX_HEADER_BYTES + to * SLOT_BYTES + 8) != 0) {
+                to = (to + 1) & mask;
+            }
+            int position = INDEX_HEADER_BYTES + to * SLOT_BYTES;
+            index.putLong(position, fingerprint)
+                    .putLong(position + 8, offset)
+                    .putLong(position + 16, old.index.getLong(from + 16));
+        }
+        index.putInt(H_SIZE, size).putLong(H_DATA_END, dataEnd);
+        Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        indexChannel.close();
+        indexChannel = FileChannel.open(indexFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        view = new View(index, mask, old.segments);
+        return true;
+    }
+
+    private MappedByteBuffer createIndex(Path file, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    INDEX_HEADER_BYTES + (long) capacity * SLOT_BYTES);
+            index.putInt(0, INDEX_MAGIC).putInt(4, VERSION).putInt(H_CAPACITY, capacity)
+                    .putInt(H_SIZE, 0).putLong(H_DATA_END, DATA_HEADER_BYTES).putLong(H_GENERATION, generation);
+            return index;
+        }
+    }
+
+    private void commitGeneration() throws IOException {
+        Path tmp = dir.resolve("CURRENT.tmp");
+        Files.writeString(tmp, Long.toString(generation));
+        Files.move(tmp, dir.resolve("CURRENT"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void deleteOtherGenerations() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "urls-*")) {
+            for (Path file : files) {
+                if (!file.equals(dataPath(generation)) && !file.equals(indexPath(generation))) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private void deleteFiles() throws IOException {
+        Files.deleteIfExists(dataPath(generation));
+        Files.deleteIfExists(indexPath(generation));
+    }
+
+    private Path dataPath(long generation) {
+        return dir.resolve("urls-" + generation + ".dat");
+    }
+
+    private Path indexPath(long generation) {
+        return dir.resolve("urls-" + generation + ".idx");
+    }
+
+    /**
+     * Decode the record at {@code position}. With {@code code} set, returns
+     * null unless the record is for that code. With {@code checked}, returns
+     * null for a record that fails its checksum instead of trusting it.
+     */
+    private static Entry read(ByteBuffer segment, int position, byte[] code, boolean checked) {
+        if (checked && recordLength(segment, position) < 0) {
+            return null;
+        }
+        int payloadLength = segment.getInt(position);
+        int codeLength = segment.getShort(position + RECORD_HEADER_BYTES + Long.BYTES);
+        int codeStart = position + RECORD_HEADER_BYTES + Long.BYTES + Short.BYTES;
+        if (code != null) {
+            if (codeLength != code.length) {
+                return null;
+            }
+            for (int i = 0; i < codeLength; i++) {
+                if (segment.get(codeStart + i) != code[i]) {
+                    return null;
+                }
+            }
+        }
+        long expireAt = segment.getLong(position + RECORD_HEADER_BYTES);
+        int urlLength = payloadLength - Long.BYTES - Short.BYTES - codeLength;
+        byte[] bytes = new byte[codeLength + urlLength];
+        segment.get(codeStart, bytes);
+        return new Entry(new String(bytes, 0, codeLength, StandardCharsets.UTF_8),
+                new String(bytes, codeLength, urlLength, StandardCharsets.UTF_8), expireAt);
+    }
+
+    /**
+     * @return the length of the intact record at {@code position}, or -1 if
+     *         there is none or it fails its checksum
+     */
+    private static int recordLength(ByteBuffer segment, int position) {
+        int payloadLength = segment.getInt(position);
+        if (payloadLength < Long.BYTES + Short.BYTES || payloadLength > MAX_RECORD_BYTES - RECORD_HEADER_BYTES
+                || position + RECORD_HEADER_BYTES + payloadLength > segment.capacity()) {
+            return -1;
+        }
+        int codeLength = segment.getShort(position + RECORD_HEADER_BYTES + Long.BYTES);
+        if (codeLength < 0 || codeLength > payloadLength - Long.BYTES - Short.BYTES) {
+            return -1;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(segment.slice(position + RECORD_HEADER_BYTES, payloadLength));
+        if ((int) crc.getValue() != segment.getInt(position + Integer.BYTES)) {
+            return -1;
+        }
+        return RECORD_HEADER_BYTES + payloadLength;
+    }
+
+    /**
+     * @return true if no empty slot lies between the fingerprint's home slot
+     *         and {@code slot}, i.e. a probe would find it
+     */
+    private static boolean reachable(View v, long fingerprint, int slot) {
+        for (int s = (int) fingerprint & v.mask; s != slot; s = (s + 1) & v.mask) {
+            if (v.index.getLong(INDEX_HEADER_BYTES + s * SLOT_BYTES + 8) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MappedByteBuffer[] mapSegments(FileChannel channel, long bytes, int segmentBytes)
+            throws IOException {
+        int count = (int) ((bytes + segmentBytes - 1) / segmentBytes);
+        MappedByteBuffer[] segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, (long) i * segmentBytes, segmentBytes);
+        }
+        return segments;
+    }
+
+    private static int tableSize(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, MIN_CAPACITY) - 1) << 1;
+        return Math.min(size, MAX_CAPACITY);
+    }
+
+    /**
+     * 64-bit FNV-1a with a murmur3 finalizer, so the low bits used for the
+     * home slot depend on every byte of the code.
+     */
+    private static long fingerprint(byte[] code) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : code) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int crc(byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,341 @@
+package com.urlshortener.urlservice.service;
+
+import com.urlshortener.urlservice.entity.Url;
+import com.urlshortener.urlservice.repository.KeyedUrlMapping;
+import com.urlshortener.urlservice.repository.UrlRepository;
+import com.urlshortener.urlservice.service.LocalIndex.Entry;
+import com.urlshortener.urlservice.service.LocalIndex.Verification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Last-resort read tier for when Redis and PostgreSQL are both unavailable.
+ *
+ * Keeps every active link in a memory-mapped {@link LocalIndex} under
+ * {@code app.local-index.dir}. New links are added as they are created;
+ * every {@code rebuild-interval-ms} the index is rebuilt from PostgreSQL so it
+ * also learns links created on other replicas, and every
+ * {@code compact-interval-ms} superseded and expired records are dropped.
+ * {@code getUrlInfo} and batch lookups consult it only after the database
+ * call has failed or timed out.
+ *
+ * Creates never wait on maintenance: while a rebuild or compaction holds the
+ * index, new entries queue up and are applied when it finishes.
+ *
+ * Metrics: {@code localindex.entries}, {@code localindex.data.bytes},
+ * {@code localindex.index.bytes}, {@code localindex.lookup} (per-code timer),
+ * {@code localindex.fallback} (tagged {@code result=hit|miss}) and
+ * {@code localindex.dropped}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LocalIndexService {
+
+    private final UrlRepository urlRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.local-index.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.local-index.dir:${java.io.tmpdir}/url-service/local-index}")
+    private String dir;
+
+    @Value("${app.local-index.segment-bytes:67108864}")
+    private int segmentBytes;
+
+    @Value("${app.local-index.initial-capacity:65536}")
+    private int initialCapacity;
+
+    @Value("${app.local-index.rebuild-page-size:5000}")
+    private int rebuildPageSize;
+
+    private LocalIndex index;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+    private Timer lookupTimer;
+    private Counter hits;
+    private Counter misses;
+    private Counter dropped;
+
+    public record Stats(long generation, int entries, long dataBytes, long indexBytes, int pending) {}
+
+    /**
+     * Outcome of {@link #verify()}; {@code corruptAt} is the first bad data offset, -1 if none.
+     */
+    public record Check(boolean ok, long records, int entries, int expired, int badSlots, long corruptAt,
+                        Duration took) {}
+
+    /**
+     * Outcome of a rebuild or compaction.
+     */
+    public record Rewrite(long generation, int entries, long dataBytes, Duration took) {}
+
+    @PostConstruct
+    void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        index = LocalIndex.open(Path.of(dir), segmentBytes, initialCapacity);
+        log.info("Local index {} opened: {} entries, generation {}", dir, index.size(), index.generation());
+
+        Gauge.builder("localindex.entries", index, LocalIndex::size)
+                .description("Links in the local fallback index, including expired ones not yet compacted")
+                .register(meterRegistry);
+        Gauge.builder("localindex.data.bytes", index, LocalIndex::dataBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("localindex.index.bytes", index, LocalIndex::indexBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        lookupTimer = meterRegistry.timer("localindex.lookup");
+        hits = meterRegistry.counter("localindex.fallback", "result", "hit");
+        misses = meterRegistry.counter("localindex.fallback", "result", "miss");
+        dropped = meterRegistry.counter("localindex.dropped");
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (index != null) {
+            writeLock.lock();
+            try {
+                index.close();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return index != null;
+    }
+
+    /**
+     * Add or replace a link. Never blocks on maintenance and never throws.
+     */
+    public void record(String shortCode, String longUrl, LocalDateTime expiryAt) {
+        if (index == null) {
+            return;
+        }
+        pending.add(new Entry(shortCode, longUrl, toMillis(expiryAt)));
+        drain();
+    }
+
+    /**
+     * The link as a detached {@link Url} ({@code id} and {@code createdAt}
+     * are null), if it is indexed and not expired.
+     */
+    public Optional<Url> find(String shortCode) {
+        if (index == null) {
+            return Optional.empty();
+        }
+        Entry entry = get(shortCode, System.currentTimeMillis());
+        return Optional.ofNullable(entry).map(e -> Url.builder()
+                .shortCode(e.shortCode())
+                .longUrl(e.longUrl())
+                .expiryAt(e.expireAtMillis() == 0 ? null
+                        : LocalDateTime.ofInstant(Instant.ofEpochMilli(e.expireAtMillis()), ZoneId.systemDefault()))
+                .isActive(true)
+                .build());
+    }
+
+    /**
+     * @return code → long URL for every indexed, unexpired code
+     */
+    public Map<String, String> resolve(Collection<String> shortCodes) {
+        Map<String, String> resolved = new HashMap<>(shortCodes.size() * 2);
+        if (index == null) {
+            return resolved;
+        }
+        long now = System.currentTimeMillis();
+        for (String code : shortCodes) {
+            Entry entry = get(code, now);
+            if (entry != null) {
+                resolved.put(code, entry.longUrl());
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Replace the index with every active, unexpired link in PostgreSQL,
+     * read in keyset pages. Lookups keep using the old index until the new one
+     * is complete.
+     */
+    public Rewrite rebuildFromDatabase() throws IOException {
+        return rewrite("Rebuilt", () -> index.rewrite(sink -> {
+            LocalDateTime now = LocalDateTime.now();
+            PageRequest page = PageRequest.of(0, rebuildPageSize);
+            long afterId = 0;
+            List<KeyedUrlMapping> rows;
+            do {
+                rows = urlRepository.findActiveMappingsAfter(afterId, now, page);
+                for (KeyedUrlMapping row : rows) {
+                    if (!sink.put(row.getShortCode(), row.getLongUrl(), toMillis(row.getExpiryAt()))) {
+                        dropped.increment();
+                    }
+                }
+                if (!rows.isEmpty()) {
+                    afterId = rows.get(rows.size() - 1).getId();
+                }
+            } while (rows.size() == rebuildPageSize);
+        }));
+    }
+
+    /**
+     * Rewrite the index without superseded and expired records.
+     */
+    public Rewrite compact() throws IOException {
+        return rewrite("Compacted", () -> index.compact(System.currentTimeMillis()));
+    }
+
+    @Scheduled(fixedDelayString = "${app.local-index.rebuild-interval-ms:21600000}",
+            initialDelayString = "${app.local-index.rebuild-initial-delay-ms:60000}")
+    public void scheduledRebuild() {
+        if (index == null) {
+            return;
+        }
+        try {
+            rebuildFromDatabase();
+        } catch (IOException | RuntimeException e) {
+            // Typically the database outage this index exists for; keep serving the current one
+            log.warn("Local index rebuild failed, keeping generation {}: {}", index.generation(), e.toString());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.local-index.compact-interval-ms:3600000}",
+            initialDelayString = "${app.local-index.compact-interval-ms:3600000}")
+    public void scheduledCompact() {
+        if (index == null) {
+            return;
+        }
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            log.error("Local index compaction failed", e);
+        }
+    }
+
+    /**
+     * Check every record checksum and every index slot.
+     */
+    public Check verify() {
+        if (index == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            Verification v = index.verify(System.currentTimeMillis());
+            Check check = new Check(v.ok(), v.records(), v.entries(), v.expired(), v.badSlots(), v.corruptAt(),
+                    Duration.ofNanos(System.nanoTime() - start));
+            if (!check.ok()) {
+                log.warn("Local index failed verification: {}", check);
+            }
+            return check;
+        } finally {
+            writeLock.unlock();
+            drain();
+        }
+    }
+
+    public Stats stats() {
+        if (index == null) {
+            return null;
+        }
+        return new Stats(index.generation(), index.size(), index.dataBytes(), index.indexBytes(), pending.size());
+    }
+
+    // ── Helpers ─────────────────────────────────────────────
+
+    private Entry get(String shortCode, long now) {
+        long start = System.nanoTime();
+        Entry entry;
+        try {
+            entry = index.get(shortCode, now);
+        } catch (RuntimeException e) {
+            // A damaged index must not turn a fallback into a second failure
+            log.debug("Local index lookup failed for {}: {}", shortCode, e.toString());
+            entry = null;
+        }
+        lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        (entry != null ? hits : misses).increment();
+        return entry;
+    }
+
+    @FunctionalInterface
+    private interface IndexAction {
+        void run() throws IOException;
+    }
+
+    private Rewrite rewrite(String verb, IndexAction action) throws IOException {
+        if (index == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        writeLock.lock();
+        try {
+            action.run();
+            Rewrite result = new Rewrite(index.generation(), index.size(), index.dataBytes(),
+                    Duration.ofNanos(System.nanoTime() - start));
+            log.info("{} local index: generation {}, {} entries, {} KB data in {} ms", verb, result.generation(),
+                    result.entries(), result.dataBytes() / 1024, result.took().toMillis());
+            return result;
+        } finally {
+            writeLock.unlock();
+            drain();
+        }
+    }
+
+    /**
+     * Apply queued entries unless another thread holds the index; that
+     * thread drains the queue again once it lets go.
+     */
+    private void drain() {
+        while (!pending.isEmpty() && writeLock.tryLock()) {
+            try {
+                Entry entry;
+                while ((entry = pending.poll()) != null) {
+                    if (!index.put(entry.shortCode(), entry.longUrl(), entry.expireAtMillis())) {
+                        dropped.increment();
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                dropped.increment();
+                log.warn("Local index append failed: {}", e.toString());
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    private static long toMillis(LocalDateTime expiryAt) {
+        return expiryAt == null ? 0 : expiryAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
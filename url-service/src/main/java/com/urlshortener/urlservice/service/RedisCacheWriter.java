@@ -0,0 +1,236 @@
+package com.urlshortener.urlservice.service;
+
+import com.urlshortener.urlservice.service.CacheJournal.Batch;
+import com.urlshortener.urlservice.service.CacheJournal.Entry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache writes that survive a Redis outage.
+ *
+ * While {@link RedisCircuitBreaker} is closed, {@link #write} is a plain
+ * {@code SET}. When the breaker is open (or the write itself fails) the
+ * mapping is appended to a bounded local {@link CacheJournal} instead, so the
+ * create request neither waits on a dead connection nor loses its cache entry.
+ * Once the breaker closes again, {@link #replay()} drains the journal to Redis
+ * in pipelined batches. {@link #writeAll} does the same for a group of fresh
+ * writes, e.g. one group-committed batch of creates.
+ *
+ * Metrics: {@code redis.breaker.state} (0 closed, 1 open, 2 half-open),
+ * {@code redis.breaker.rejected}, {@code redis.journal.depth},
+ * {@code redis.journal.bytes}, {@code redis.journal.appended},
+ * {@code redis.journal.dropped}, {@code redis.journal.replayed} and the
+ * {@code redis.journal.replay} batch timer.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RedisCacheWriter {
+
+    public enum Outcome { WRITTEN, JOURNALED, DROPPED }
+
+    /**
+     * One cache write for {@link #writeAll}; {@code ttlSeconds} as for {@link #write}.
+     */
+    public record Write(String key, String value, long ttlSeconds) {}
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.redis.journal.path:${java.io.tmpdir}/url-service/redis-journal.bin}")
+    private String journalPath;
+
+    @Value("${app.redis.journal.max-bytes:67108864}")
+    private long journalMaxBytes;
+
+    @Value("${app.redis.journal.replay-batch-size:500}")
+    private int replayBatchSize;
+
+    private CacheJournal journal;
+    private Counter appended;
+    private Counter dropped;
+    private Counter replayed;
+    private Timer replayTimer;
+
+    @PostConstruct
+    void init() throws IOException {
+        journal = new CacheJournal(Path.of(journalPath), journalMaxBytes);
+        if (journal.depth() > 0) {
+            log.info("Redis journal holds {} cache write(s) from a previous run; replaying once Redis is up",
+                    journal.depth());
+        }
+
+        Gauge.builder("redis.breaker.state", circuitBreaker, b -> b.getState().ordinal())
+                .description("Redis circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        FunctionCounter.builder("redis.breaker.rejected", circuitBreaker, RedisCircuitBreaker::getRejected)
+                .description("Redis calls rejected while the breaker was open")
+                .register(meterRegistry);
+        Gauge.builder("redis.journal.depth", journal, CacheJournal::depth)
+                .description("Cache writes waiting to be replayed to Redis")
+                .register(meterRegistry);
+        Gauge.builder("redis.journal.bytes", journal, CacheJournal::sizeBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        appended = meterRegistry.counter("redis.journal.appended");
+        dropped = meterRegistry.counter("redis.journal.dropped");
+        replayed = meterRegistry.counter("redis.journal.replayed");
+        replayTimer = meterRegistry.timer("redis.journal.replay");
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        journal.close();
+    }
+
+    /**
+     * Set {@code key} to {@code value}, expiring after {@code ttlSeconds}
+     * ({@link CacheTtl#NONE} for no TTL). Never throws.
+     */
+    public Outcome write(String key, String value, long ttlSeconds) {
+        if (circuitBreaker.tryAcquire()) {
+            try {
+                if (ttlSeconds == CacheTtl.NONE) {
+                    redisTemplate.opsForValue().set(key, value);
+                } else {
+                    redisTemplate.opsForValue().set(key, value, ttlSeconds, TimeUnit.SECONDS);
+                }
+                circuitBreaker.onSuccess();
+                return Outcome.WRITTEN;
+            } catch (Exception e) {
+                circuitBreaker.onFailure(e);
+            }
+        }
+        return journal(toEntry(key, value, ttlSeconds, System.currentTimeMillis()));
+    }
+
+    /**
+     * {@link #write} for several keys in one Redis pipeline. If the pipeline
+     * cannot run, every write is journaled. Never throws.
+     *
+     * @return the worst outcome of any single write
+     */
+    public Outcome writeAll(List<Write> writes) {
+        long now = System.currentTimeMillis();
+        List<Entry> entries = new ArrayList<>(writes.size());
+        for (Write write : writes) {
+            entries.add(toEntry(write.key(), write.value(), write.ttlSeconds(), now));
+        }
+        if (entries.isEmpty()) {
+            return Outcome.WRITTEN;
+        }
+        if (circuitBreaker.tryAcquire()) {
+            try {
+                pipeline(entries);
+                circuitBreaker.onSuccess();
+                return Outcome.WRITTEN;
+            } catch (Exception e) {
+                circuitBreaker.onFailure(e);
+            }
+        }
+        Outcome worst = Outcome.JOURNALED;
+        for (Entry entry : entries) {
+            if (journal(entry) == Outcome.DROPPED) {
+                worst = Outcome.DROPPED;
+            }
+        }
+        return worst;
+    }
+
+    /**
+     * Drain the journal while the breaker is closed. Runs on a fixed delay;
+     * one batch is one Redis pipeline.
+     */
+    @Scheduled(fixedDelayString = "${app.redis.journal.replay-interval-ms:1000}")
+    public synchronized void replay() {
+        try {
+            while (journal.depth() > 0 && circuitBreaker.tryAcquire()) {
+                Batch batch = journal.read(replayBatchSize);
+                if (batch.entries().isEmpty()) {
+                    break;
+                }
+                try {
+                    replayTimer.record(() -> pipeline(batch.entries()));
+                    circuitBreaker.onSuccess();
+                } catch (Exception e) {
+                    circuitBreaker.onFailure(e);
+                    return;
+                }
+                journal.commit(batch);
+                replayed.increment(batch.entries().size());
+                if (journal.depth() == 0) {
+                    log.info("Redis journal drained");
+                }
+            }
+        } catch (IOException e) {
+            log.error("Redis journal unreadable: {}", e.getMessage());
+        }
+    }
+
+    public long journalDepth() {
+        return journal.depth();
+    }
+
+    // ── Helpers ─────────────────────────────────────────────
+
+    private static Entry toEntry(String key, String value, long ttlSeconds, long now) {
+        return new Entry(key, value, ttlSeconds == CacheTtl.NONE ? 0 : now + ttlSeconds * 1000);
+    }
+
+    private Outcome journal(Entry entry) {
+        try {
+            if (journal.append(entry)) {
+                appended.increment();
+                return Outcome.JOURNALED;
+            }
+        } catch (IOException e) {
+            log.debug("Redis journal append failed: {}", e.getMessage());
+        }
+        dropped.increment();
+        return Outcome.DROPPED;
+    }
+
+    private void pipeline(List<Entry> entries) {
+        long now = System.currentTimeMillis();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Entry entry : entries) {
+                Expiration expiration;
+                if (entry.expireAtMillis() == 0) {
+                    expiration = Expiration.persistent();
+                } else if (entry.expireAtMillis() > now) {
+                    expiration = Expiration.milliseconds(entry.expireAtMillis() - now);
+                } else {
+                    continue;
+                }
+                connection.stringCommands().set(
+                        entry.key().getBytes(StandardCharsets.UTF_8),
+                        entry.value().getBytes(StandardCharsets.UTF_8),
+                        expiration,
+                        SetOption.upsert());
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,135 @@
+package com.urlshortener.urlservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker shared by every Redis call site.
+ *
+ * CLOSED: calls go through; {@code failureThreshold} consecutive failures open
+ * the breaker. OPEN: calls are rejected immediately for {@code openMillis}, so
+ * an outage costs nothing per request instead of a connect timeout each.
+ * HALF_OPEN: exactly one probe call is let through; its outcome closes or
+ * re-opens the breaker.
+ *
+ * Usage: {@code if (tryAcquire()) { try { call; onSuccess(); } catch (e) { onFailure(e); } }}.
+ * State changes are logged once; individual failures only at DEBUG.
+ */
+@Component
+@Slf4j
+public class RedisCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+    private final LongAdder rejected = new LongAdder();
+    private volatile State state = State.CLOSED;
+    private volatile long openedAt;
+
+    @Autowired
+    public RedisCircuitBreaker(@Value("${app.redis.breaker.failure-threshold:5}") int failureThreshold,
+                               @Value("${app.redis.breaker.open-ms:10000}") long openMillis) {
+        this(failureThreshold, openMillis, System::nanoTime);
+    }
+
+    RedisCircuitBreaker(int failureThreshold, long openMillis, LongSupplier nanoClock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openMillis * 1_000_000;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return true if the caller may talk to Redis now; it must then report
+     *         {@link #onSuccess()} or {@link #onFailure(Exception)}
+     */
+    public boolean tryAcquire() {
+        State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            halfOpen();
+        }
+        if (state == State.HALF_OPEN && probeInFlight.compareAndSet(false, true)) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state != State.CLOSED) {
+            close();
+        }
+    }
+
+    public void onFailure(Exception e) {
+        log.debug("Redis call failed: {}", e.getMessage());
+        if (state == State.HALF_OPEN) {
+            open(e);
+        } else if (consecutiveFailures.incrementAndGet() >= failureThreshold && state == State.CLOSED) {
+            open(e);
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isClosed() {
+        return state == State.CLOSED;
+    }
+
+    /**
+     * Calls rejected without touching Redis since start-up.
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    // ── Transitions ─────────────────────────────────────────
+
+    private synchronized void open(Exception cause) {
+        if (state == State.OPEN) {
+            return;
+        }
+        State previous = state;
+        openedAt = nanoClock.getAsLong();
+        state = State.OPEN;
+        probeInFlight.set(false);
+        if (previous == State.CLOSED) {
+            log.warn("Redis circuit OPEN after {} consecutive failures: {}", failureThreshold, cause.getMessage());
+        } else {
+            log.debug("Redis probe failed, circuit stays open: {}", cause.getMessage());
+        }
+    }
+
+    private synchronized void halfOpen() {
+        if (state == State.OPEN) {
+            state = State.HALF_OPEN;
+            probeInFlight.set(false);
+        }
+    }
+
+    private synchronized void close() {
+        if (state != State.CLOSED) {
+            state = State.CLOSED;
+            probeInFlight.set(false);
+            consecutiveFailures.set(0);
+            log.info("Redis circuit CLOSED – Redis is reachable again");
+        }
+    }
+}
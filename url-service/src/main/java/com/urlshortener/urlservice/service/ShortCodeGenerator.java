@@ -1,5 +1,6 @@
 package com.urlshortener.urlservice.service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
 
 /**
@@ -8,11 +9,15 @@ import java.security.SecureRandom;
  * Uses a 62-character alphabet (0-9, a-z, A-Z) and {@link SecureRandom}.
  * A 7-character code yields 62^7 ≈ 3.5 trillion combinations — effectively
  * collision-free for any practical workload.
+ *
+ * A code is one uniform draw below 62^length, written as a fixed-width
+ * {@link Base62Encoder} number — one SecureRandom call per code instead of
+ * one per character.
  */
 public class ShortCodeGenerator {
 
-    private static final String ALPHABET =
-            "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    // Widest chunk whose code count still fits in a long
+    private static final int CHUNK = Base62Encoder.MAX_LENGTH - 1;
     private static final SecureRandom RANDOM = new SecureRandom();
 
     private ShortCodeGenerator() {}
@@ -24,10 +29,11 @@ public class ShortCodeGenerator {
      * @return a random alphanumeric string
      */
     public static String generate(int length) {
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            sb.append(ALPHABET.charAt(RANDOM.nextInt(ALPHABET.length())));
+        byte[] code = new byte[length];
+        for (int offset = 0; offset < length; offset += CHUNK) {
+            int width = Math.min(CHUNK, length - offset);
+            Base62Encoder.encode(RANDOM.nextLong(Base62Encoder.capacity(width)), code, offset, width);
         }
-        return sb.toString();
+        return new String(code, StandardCharsets.ISO_8859_1);
     }
 }
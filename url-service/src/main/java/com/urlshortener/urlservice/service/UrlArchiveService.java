@@ -0,0 +1,113 @@
+package com.urlshortener.urlservice.service;
+
+import com.urlshortener.urlservice.profiling.UrlArchiveEvent;
+import com.urlshortener.urlservice.repository.UrlArchiveRepository;
+import com.urlshortener.urlservice.repository.UrlArchiveRepository.TableSize;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Background job that moves long-dead links out of the hot {@code urls}
+ * table into {@code urls_archive}.
+ *
+ * A link is archived once it has been expired for longer than
+ * {@code app.archive.retention-days}. Rows move in batches of
+ * {@code app.archive.batch-size}, each in its own short transaction, with a
+ * pause between batches so a large backlog never holds locks or saturates
+ * I/O for long. A run stops after {@code app.archive.max-batches-per-run};
+ * the remainder is picked up by the next run.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UrlArchiveService {
+
+    private final UrlArchiveRepository urlArchiveRepository;
+
+    @Value("${app.archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.archive.retention-days:90}")
+    private long retentionDays;
+
+    @Value("${app.archive.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.archive.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.archive.batch-pause-ms:100}")
+    private long batchPauseMillis;
+
+    private volatile LastRun lastRun;
+
+    /**
+     * Outcome of the most recent run, with table sizes before and after.
+     */
+    public record LastRun(LocalDateTime finishedAt, int batches, int archived, Duration took,
+                          List<TableSize> before, List<TableSize> after) {}
+
+    @Scheduled(fixedDelayString = "${app.archive.interval-ms:3600000}",
+            initialDelayString = "${app.archive.initial-delay-ms:600000}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archive();
+        }
+    }
+
+    /**
+     * Run one archival pass now.
+     *
+     * @return rows moved to the archive
+     */
+    public int archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        UrlArchiveEvent event = new UrlArchiveEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        List<TableSize> before = urlArchiveRepository.tableSizes();
+        int archived = 0;
+        int batches = 0;
+        try {
+            while (batches < maxBatchesPerRun) {
+                int moved = urlArchiveRepository.moveBatch(cutoff, batchSize);
+                batches++;
+                archived += moved;
+                if (moved < batchSize) {
+                    break;
+                }
+                Thread.sleep(batchPauseMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            event.batches = batches;
+            event.archived = archived;
+            event.commit();
+        }
+
+        List<TableSize> after = archived > 0 ? urlArchiveRepository.tableSizes() : before;
+        lastRun = new LastRun(LocalDateTime.now(), batches, archived,
+                Duration.ofNanos(System.nanoTime() - start), before, after);
+        if (archived > 0) {
+            log.info("Archived {} URL(s) expired before {} in {} batch(es)", archived, cutoff, batches);
+        }
+        return archived;
+    }
+
+    public LastRun getLastRun() {
+        return lastRun;
+    }
+
+    public List<TableSize> tableSizes() {
+        return urlArchiveRepository.tableSizes();
+    }
+}
@@ -0,0 +1,214 @@
+package com.urlshortener.urlservice.service;
+
+import com.urlshortener.urlservice.dto.BatchLookupResponse;
+import com.urlshortener.urlservice.dto.UrlLookupResult;
+import com.urlshortener.urlservice.entity.Url;
+import com.urlshortener.urlservice.repository.UrlMapping;
+import com.urlshortener.urlservice.repository.UrlRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Batch code → URL resolution for high-rate internal callers.
+ *
+ * For a batch of codes: pinned heavy hitters are answered from memory, the
+ * rest go to Redis in one MGET, and whatever Redis misses is fetched with one
+ * {@code short_code IN (...)} projection query per chunk. Mappings found in
+ * the database are written back to Redis in a single pipeline so the next
+ * batch hits the cache.
+ *
+ * If the database query fails or times out, the misses are answered from the
+ * {@link LocalIndexService local index} instead, when one is enabled.
+ *
+ * Only active, unexpired links resolve — the same rule redirect-service applies.
+ */
+@Service
+@RequiredArgsConstructor
+public class UrlLookupService {
+
+    // Keeps the IN list and bind-parameter count well under driver limits
+    private static final int SQL_CHUNK_SIZE = 1_000;
+
+    private final UrlRepository urlRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final HotLinkService hotLinkService;
+    private final RedisCircuitBreaker redisCircuitBreaker;
+    private final LocalIndexService localIndexService;
+
+    @Value("${app.cache.ttl-seconds:0}")
+    private long cacheTtlSeconds;
+
+    /**
+     * Resolve a batch of short codes for {@code POST /api/v1/urls/lookup}.
+     *
+     * @return one result per requested code, in request order (duplicates included)
+     */
+    public BatchLookupResponse lookup(List<String> shortCodes) {
+        Map<String, String> resolved = resolve(shortCodes);
+        List<UrlLookupResult> results = new ArrayList<>(shortCodes.size());
+        int found = 0;
+        for (String code : shortCodes) {
+            String longUrl = resolved.get(code);
+            if (longUrl != null) {
+                found++;
+            }
+            results.add(UrlLookupResult.builder()
+                    .shortCode(code)
+                    .found(longUrl != null)
+                    .longUrl(longUrl)
+                    .build());
+        }
+        return BatchLookupResponse.builder()
+                .requested(shortCodes.size())
+                .found(found)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Resolve a batch of short codes.
+     *
+     * @return code → long URL for every code that resolves; unresolved codes are absent
+     */
+    public Map<String, String> resolve(Collection<String> shortCodes) {
+        List<String> pending = new ArrayList<>(new LinkedHashSet<>(shortCodes));
+        Map<String, String> resolved = new HashMap<>(pending.size() * 2);
+        if (pending.isEmpty()) {
+            return resolved;
+        }
+
+        pending.removeIf(code -> {
+            Optional<Url> pinned = hotLinkService.getPinned(code);
+            pinned.ifPresent(url -> resolved.put(code, url.getLongUrl()));
+            return pinned.isPresent();
+        });
+
+        List<String> misses = readCache(pending, resolved);
+        if (!misses.isEmpty()) {
+            List<UrlMapping> loaded;
+            try {
+                loaded = readDatabase(misses);
+            } catch (DataAccessException | TransactionException e) {
+                if (!localIndexService.isEnabled()) {
+                    throw e;
+                }
+                // Not written back to Redis: the index can lag the database, so it never seeds the cache
+                resolved.putAll(localIndexService.resolve(misses));
+                return recordAccess(resolved);
+            }
+            for (UrlMapping mapping : loaded) {
+                resolved.put(mapping.getShortCode(), mapping.getLongUrl());
+            }
+            fillCache(loaded);
+        }
+        return recordAccess(resolved);
+    }
+
+    // ── Helpers ─────────────────────────────────────────────
+
+    /**
+     * Count hits for resolved codes only, so unknown codes never reach the
+     * heavy-hitter sketch.
+     */
+    private Map<String, String> recordAccess(Map<String, String> resolved) {
+        for (String code : resolved.keySet()) {
+            hotLinkService.recordAccess(code);
+        }
+        return resolved;
+    }
+
+    /**
+     * MGET the codes, put hits into {@code resolved} and return the misses.
+     * A Redis failure, or an open circuit breaker, makes every code a miss
+     * rather than failing the batch.
+     */
+    private List<String> readCache(List<String> codes, Map<String, String> resolved) {
+        if (codes.isEmpty()) {
+            return codes;
+        }
+        List<String> keys = new ArrayList<>(codes.size());
+        for (String code : codes) {
+            keys.add("url:" + code);
+        }
+        if (!redisCircuitBreaker.tryAcquire()) {
+            return codes;
+        }
+        List<String> values;
+        try {
+            values = redisTemplate.opsForValue().multiGet(keys);
+            redisCircuitBreaker.onSuccess();
+        } catch (Exception e) {
+            redisCircuitBreaker.onFailure(e);
+            return codes;
+        }
+        if (values == null) {
+            return codes;
+        }
+        List<String> misses = new ArrayList<>();
+        for (int i = 0; i < codes.size(); i++) {
+            String value = values.get(i);
+            if (value != null) {
+                resolved.put(codes.get(i), value);
+            } else {
+                misses.add(codes.get(i));
+            }
+        }
+        return misses;
+    }
+
+    private List<UrlMapping> readDatabase(List<String> codes) {
+        LocalDateTime now = LocalDateTime.now();
+        if (codes.size() <= SQL_CHUNK_SIZE) {
+            return urlRepository.findActiveMappings(codes, now);
+        }
+        List<UrlMapping> mappings = new ArrayList<>(codes.size());
+        for (int from = 0; from < codes.size(); from += SQL_CHUNK_SIZE) {
+            List<String> chunk = codes.subList(from, Math.min(from + SQL_CHUNK_SIZE, codes.size()));
+            mappings.addAll(urlRepository.findActiveMappings(chunk, now));
+        }
+        return mappings;
+    }
+
+    private void fillCache(List<UrlMapping> mappings) {
+        // Backfills are re-derivable, so they are skipped rather than journaled while Redis is down
+        if (mappings.isEmpty() || !redisCircuitBreaker.tryAcquire()) {
+            return;
+        }
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (UrlMapping mapping : mappings) {
+                    long ttl = CacheTtl.seconds(mapping.getExpiryAt(), cacheTtlSeconds);
+                    if (ttl == CacheTtl.EXPIRED) {
+                        continue;
+                    }
+                    connection.stringCommands().set(
+                            ("url:" + mapping.getShortCode()).getBytes(StandardCharsets.UTF_8),
+                            mapping.getLongUrl().getBytes(StandardCharsets.UTF_8),
+                            ttl == CacheTtl.NONE ? Expiration.persistent() : Expiration.seconds(ttl),
+                            SetOption.upsert());
+                }
+                return null;
+            });
+            redisCircuitBreaker.onSuccess();
+        } catch (Exception e) {
+            redisCircuitBreaker.onFailure(e);
+        }
+    }
+}
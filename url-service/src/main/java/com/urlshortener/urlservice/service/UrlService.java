@@ -4,17 +4,21 @@ import com.urlshortener.urlservice.dto.CreateUrlRequest;
 import com.urlshortener.urlservice.dto.CreateUrlResponse;
 import com.urlshortener.urlservice.entity.Url;
 import com.urlshortener.urlservice.exception.AliasConflictException;
+import com.urlshortener.urlservice.exception.BlockedUrlException;
 import com.urlshortener.urlservice.exception.UrlNotFoundException;
+import com.urlshortener.urlservice.profiling.CacheUrlEvent;
+import com.urlshortener.urlservice.profiling.CreateShortUrlEvent;
+import com.urlshortener.urlservice.repository.UrlArchiveRepository;
 import com.urlshortener.urlservice.repository.UrlRepository;
+import com.urlshortener.urlservice.validation.UrlCanonicalizer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.TransactionException;
 
-import java.time.Duration;
-import java.util.concurrent.TimeUnit;
+import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
@@ -22,7 +26,12 @@ import java.util.concurrent.TimeUnit;
 public class UrlService {
 
     private final UrlRepository urlRepository;
-    private final StringRedisTemplate redisTemplate;
+    private final RedisCacheWriter redisCacheWriter;
+    private final HotLinkService hotLinkService;
+    private final UrlArchiveRepository urlArchiveRepository;
+    private final BlocklistService blocklistService;
+    private final LocalIndexService localIndexService;
+    private final GroupCommitService groupCommitService;
 
     @Value("${app.base-url}")
     private String baseUrl;
@@ -30,55 +39,74 @@ public class UrlService {
     @Value("${app.short-code-length:7}")
     private int shortCodeLength;
 
+    @Value("${app.cache.ttl-seconds:0}")
+    private long cacheTtlSeconds;
+
+    @Value("${app.url.strip-tracking-params:false}")
+    private boolean stripTrackingParams;
+
     private static final int MAX_COLLISION_RETRIES = 10;
 
     /**
      * Create a new short URL.
      *
      * Strategy:
-     *   1. If a custom alias is provided → validate uniqueness, save.
-     *   2. Otherwise → generate a random alphanumeric short code (retry on collision).
-     *   3. Push the mapping into Redis cache.
+     *   1. Reject the URL if it is on the blocklist.
+     *   2. If a custom alias is provided → validate uniqueness, save.
+     *   3. Otherwise → generate a random alphanumeric short code (retry on collision).
+     *   4. Push the mapping into Redis cache.
+     *
+     * The long URL is stored in its {@link UrlCanonicalizer canonical form}.
+     *
+     * Not @Transactional: the insert is the only write and carries its own
+     * transaction, and with {@link GroupCommitService group commit} enabled a
+     * caller must not hold a connection while it waits for its batch. The
+     * uniqueness check then happens in the batch insert itself.
+     *
+     * Each call emits a {@link CreateShortUrlEvent} with per-phase timings
+     * while a JFR recording is running.
      */
-    @Transactional
     public CreateUrlResponse createShortUrl(CreateUrlRequest request) {
+        CreateShortUrlEvent event = new CreateShortUrlEvent();
+        event.begin();
+        try {
+            return createShortUrl(request, event);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private CreateUrlResponse createShortUrl(CreateUrlRequest request, CreateShortUrlEvent event) {
+        String longUrl = UrlCanonicalizer.canonicalize(request.getLongUrl(), stripTrackingParams);
+        checkBlocklist(longUrl, event);
         String shortCode;
 
         if (request.getCustomAlias() != null && !request.getCustomAlias().isBlank()) {
             shortCode = request.getCustomAlias();
+            event.customAlias = true;
+            event.shortCode = shortCode;
+            event.attempts = 1;
 
-            if (urlRepository.existsByShortCode(shortCode)) {
+            CreateUrlResponse response = tryCreate(shortCode, longUrl, request, event);
+            if (response == null) {
+                event.outcome = CreateShortUrlEvent.ALIAS_CONFLICT;
                 throw new AliasConflictException("Alias '" + shortCode + "' is already taken");
             }
-
-            Url url = Url.builder()
-                    .shortCode(shortCode)
-                    .longUrl(request.getLongUrl())
-                    .expiryAt(request.getExpiryDate())
-                    .isActive(true)
-                    .build();
-            url = urlRepository.save(url);
-
-            cacheUrl(url);
-            return toResponse(url);
+            return response;
 
         } else {
             // Generate a random short code, retrying on the rare collision
             for (int attempt = 0; attempt < MAX_COLLISION_RETRIES; attempt++) {
                 shortCode = ShortCodeGenerator.generate(shortCodeLength);
-                if (!urlRepository.existsByShortCode(shortCode)) {
-                    Url url = Url.builder()
-                            .shortCode(shortCode)
-                            .longUrl(request.getLongUrl())
-                            .expiryAt(request.getExpiryDate())
-                            .isActive(true)
-                            .build();
-                    url = urlRepository.save(url);
-                    cacheUrl(url);
-                    return toResponse(url);
+                event.shortCode = shortCode;
+                event.attempts = attempt + 1;
+                CreateUrlResponse response = tryCreate(shortCode, longUrl, request, event);
+                if (response != null) {
+                    return response;
                 }
                 log.warn("Short code collision on attempt {} — retrying", attempt + 1);
             }
+            event.outcome = CreateShortUrlEvent.EXHAUSTED;
             throw new RuntimeException("Failed to generate unique short code after "
                     + MAX_COLLISION_RETRIES + " attempts");
         }
@@ -86,31 +114,144 @@ public class UrlService {
 
     /**
      * Look up a URL by short code (used for info / admin, not redirect).
+     *
+     * Not @Transactional: a pinned heavy hitter is answered from memory
+     * without borrowing a connection, and the repository call carries its
+     * own read-only transaction otherwise. Archived links are served from
+     * the cold tier. If the database fails or times out, the link is served
+     * from the {@link LocalIndexService local index} when it is there.
      */
-    @Transactional(readOnly = true)
     public CreateUrlResponse getUrlInfo(String shortCode) {
-        Url url = urlRepository.findByShortCode(shortCode)
-                .orElseThrow(() -> new UrlNotFoundException("Short code not found: " + shortCode));
+        Url url;
+        try {
+            url = hotLinkService.getPinned(shortCode)
+                    .or(() -> urlRepository.findByShortCode(shortCode))
+                    .or(() -> urlArchiveRepository.findByShortCode(shortCode))
+                    .orElseThrow(() -> new UrlNotFoundException("Short code not found: " + shortCode));
+        } catch (DataAccessException | TransactionException e) {
+            url = localIndexService.find(shortCode).orElseThrow(() -> e);
+            log.debug("Database unavailable ({}); served {} from the local index", e.getClass().getSimpleName(), shortCode);
+        }
+        // Only links that can be pinned count; unknown and archived codes would just cost refresh queries
+        if (Boolean.TRUE.equals(url.getIsActive())) {
+            hotLinkService.recordAccess(shortCode);
+        }
         return toResponse(url);
     }
 
     // ── Helpers ─────────────────────────────────────────────
 
+    /**
+     * Create the mapping under {@code shortCode}, or return null if the code is taken.
+     */
+    private CreateUrlResponse tryCreate(String shortCode, String longUrl, CreateUrlRequest request,
+                                        CreateShortUrlEvent event) {
+        if (groupCommitService.isEnabled()) {
+            return groupCommit(shortCode, longUrl, request, event);
+        }
+        if (exists(shortCode, event)) {
+            return null;
+        }
+        return persist(shortCode, longUrl, request, event);
+    }
+
+    /**
+     * Archived codes stay reserved: reusing one would silently repoint links
+     * that are still out in the wild.
+     */
+    private boolean exists(String shortCode, CreateShortUrlEvent event) {
+        long start = System.nanoTime();
+        try {
+            return urlRepository.existsByShortCode(shortCode)
+                    || urlArchiveRepository.existsByShortCode(shortCode);
+        } finally {
+            event.lookupNanos += System.nanoTime() - start;
+        }
+    }
+
+    private void checkBlocklist(String longUrl, CreateShortUrlEvent event) {
+        long start = System.nanoTime();
+        try {
+            blocklistService.check(longUrl);
+        } catch (BlockedUrlException e) {
+            event.outcome = CreateShortUrlEvent.BLOCKED;
+            throw e;
+        } finally {
+            event.blocklistNanos = System.nanoTime() - start;
+        }
+    }
+
+    private CreateUrlResponse persist(String shortCode, String longUrl, CreateUrlRequest request,
+                                      CreateShortUrlEvent event) {
+        Url url = Url.builder()
+                .shortCode(shortCode)
+                .longUrl(longUrl)
+                .expiryAt(request.getExpiryDate())
+                .isActive(true)
+                .build();
+
+        long start = System.nanoTime();
+        url = urlRepository.save(url);
+        long saved = System.nanoTime();
+        cacheUrl(url);
+        event.saveNanos = saved - start;
+        event.cacheNanos = System.nanoTime() - saved;
+        return created(url, event);
+    }
+
+    /**
+     * Insert via {@link GroupCommitService}, which also caches the mapping.
+     * The batch insert skips codes taken in {@code urls} or the archive, so
+     * there is no separate existence check.
+     */
+    private CreateUrlResponse groupCommit(String shortCode, String longUrl, CreateUrlRequest request,
+                                          CreateShortUrlEvent event) {
+        Url url = Url.builder()
+                .shortCode(shortCode)
+                .longUrl(longUrl)
+                .createdAt(LocalDateTime.now())
+                .expiryAt(request.getExpiryDate())
+                .isActive(true)
+                .build();
+
+        long start = System.nanoTime();
+        GroupCommitService.Committed committed;
+        try {
+            committed = groupCommitService.insert(url);
+        } finally {
+            event.saveNanos += System.nanoTime() - start;
+        }
+        event.batchSize = committed.batchSize();
+        return committed.inserted() ? created(url, event) : null;
+    }
+
+    private CreateUrlResponse created(Url url, CreateShortUrlEvent event) {
+        localIndexService.record(url.getShortCode(), url.getLongUrl(), url.getExpiryAt());
+        event.outcome = CreateShortUrlEvent.CREATED;
+        hotLinkService.recordAccess(url.getShortCode());
+
+        return toResponse(url);
+    }
+
     private void cacheUrl(Url url) {
+        CacheUrlEvent event = new CacheUrlEvent();
+        event.begin();
+        event.shortCode = url.getShortCode();
         try {
-            String key = "url:" + url.getShortCode();
-            redisTemplate.opsForValue().set(key, url.getLongUrl());
-
-            // If there's an expiry, set TTL on the cache key
-            if (url.getExpiryAt() != null) {
-                Duration ttl = Duration.between(java.time.LocalDateTime.now(), url.getExpiryAt());
-                if (!ttl.isNegative()) {
-                    redisTemplate.expire(key, ttl.getSeconds(), TimeUnit.SECONDS);
-                }
+            // TTL follows the link's expiry, capped by the base cache TTL if one is configured
+            long ttl = CacheTtl.seconds(url.getExpiryAt(), cacheTtlSeconds);
+            if (ttl == CacheTtl.EXPIRED) {
+                return;
+            }
+            if (ttl != CacheTtl.NONE) {
+                event.ttlSeconds = ttl;
             }
-            log.info("Cached URL mapping: {} -> {}", url.getShortCode(), url.getLongUrl());
-        } catch (Exception e) {
-            log.warn("Failed to cache URL mapping – Redis may be unavailable", e);
+            // Never throws: while Redis is down the write is journaled and replayed later
+            RedisCacheWriter.Outcome outcome = redisCacheWriter.write("url:" + url.getShortCode(), url.getLongUrl(), ttl);
+            event.success = outcome == RedisCacheWriter.Outcome.WRITTEN;
+            log.info("Cached URL mapping ({}): {} -> {}", outcome, url.getShortCode(), url.getLongUrl());
+        } finally {
+            event.commit();
         }
     }
 
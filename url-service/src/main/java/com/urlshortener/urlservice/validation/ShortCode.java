@@ -0,0 +1,28 @@
+package com.urlshortener.urlservice.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotated string must consist of base62 characters only (0-9, a-z,
+ * A-Z). {@code null} and empty strings are valid; combine with {@code @Size}
+ * to bound the length.
+ */
+@Documented
+@Constraint(validatedBy = ShortCodeValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.TYPE_USE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ShortCode {
+
+    String message() default "Must contain only letters and digits";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,13 @@
+package com.urlshortener.urlservice.validation;
+
+import com.urlshortener.urlservice.service.Base62Encoder;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class ShortCodeValidator implements ConstraintValidator<ShortCode, CharSequence> {
+
+    @Override
+    public boolean isValid(CharSequence value, ConstraintValidatorContext context) {
+        return value == null || value.isEmpty() || Base62Encoder.isValid(value);
+    }
+}
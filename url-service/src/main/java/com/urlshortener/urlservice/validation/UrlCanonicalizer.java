@@ -0,0 +1,526 @@
+package com.urlshortener.urlservice.validation;
+
+import java.net.IDN;
+import java.util.Locale;
+
+/**
+ * Single-pass parser, validator and canonicalizer for the http(s) URLs that
+ * can be shortened.
+ *
+ * Accepted: {@code http} or {@code https}, a registered name, IPv4 or
+ * bracketed IPv6 host, an optional port, and any path, query and fragment.
+ * Rejected: other schemes, userinfo ({@code https://bank.com@evil.com}),
+ * backslashes or percent-escapes in the authority, malformed escapes and
+ * control characters. Surrounding whitespace is ignored.
+ *
+ * The canonical form:
+ * <ul>
+ *   <li>lowercases the scheme and host and converts IDN hosts to punycode</li>
+ *   <li>drops the default port, an empty port and a trailing dot on the host</li>
+ *   <li>drops an empty query ({@code https://example.com/?})</li>
+ *   <li>decodes escaped unreserved characters ({@code %7E} → {@code ~}),
+ *       uppercases escape hex digits and escapes everything RFC 3986 does
+ *       not allow literally, non-ASCII as UTF-8</li>
+ *   <li>optionally strips tracking query parameters ({@code utm_*},
+ *       {@code fbclid}, {@code gclid}, ...)</li>
+ * </ul>
+ *
+ * Input is only copied once the output diverges from it, so validating, or
+ * canonicalizing a URL that is already canonical, allocates nothing beyond
+ * the parser itself.
+ */
+public final class UrlCanonicalizer {
+
+    private static final int MAX_HOST_LENGTH = 253;
+    private static final int MAX_LABEL_LENGTH = 63;
+
+    // ASCII character classes
+    private static final byte UNRESERVED = 1;  // ALPHA / DIGIT / "-" / "." / "_" / "~"
+    private static final byte LITERAL = 2;     // unreserved, sub-delims, ":" "@" "/" "?"
+    private static final byte PLAIN = 4;       // literal, and no component or parameter delimiter
+    private static final byte HOST = 8;        // ALPHA / DIGIT / "-" / "_"
+    private static final byte[] CLASSES = new byte[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            CLASSES[c] = UNRESERVED | LITERAL | PLAIN | HOST;
+            CLASSES[c - 32] = UNRESERVED | LITERAL | PLAIN | HOST;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            CLASSES[c] = UNRESERVED | LITERAL | PLAIN | HOST;
+        }
+        CLASSES['-'] = UNRESERVED | LITERAL | PLAIN | HOST;
+        CLASSES['_'] = UNRESERVED | LITERAL | PLAIN | HOST;
+        CLASSES['.'] = UNRESERVED | LITERAL | PLAIN;
+        CLASSES['~'] = UNRESERVED | LITERAL | PLAIN;
+        for (char c : "!$'()*+,;=:@/".toCharArray()) {
+            CLASSES[c] = LITERAL | PLAIN;
+        }
+        CLASSES['?'] = LITERAL;
+        CLASSES['&'] = LITERAL;
+    }
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private static final String TRACKING_PREFIX = "utm_";
+    private static final String[] TRACKING_PARAMS = {
+            "fbclid", "gclid", "dclid", "gbraid", "wbraid", "msclkid",
+            "mc_cid", "mc_eid", "igshid", "yclid", "_ga", "_gl"
+    };
+
+    private UrlCanonicalizer() {
+    }
+
+    /**
+     * @return whether {@code url} is an acceptable http(s) URL
+     */
+    public static boolean isValid(CharSequence url) {
+        return url != null && new Parser(url, false, false).parse();
+    }
+
+    /**
+     * @param stripTracking drop tracking query parameters
+     * @return the canonical form of {@code url}
+     * @throws IllegalArgumentException if {@code url} is not valid
+     */
+    public static String canonicalize(String url, boolean stripTracking) {
+        Parser parser = new Parser(url, true, stripTracking);
+        if (url == null || !parser.parse()) {
+            throw new IllegalArgumentException("Not a valid http(s) URL");
+        }
+        return parser.result();
+    }
+
+    /**
+     * Every component method takes the index to start at and returns the
+     * index it stopped at, or -1 if the input is invalid. Output is only
+     * written for changes: {@code in[mark, i)} is copied implicitly.
+     */
+    private static final class Parser {
+
+        private final CharSequence in;
+        private final boolean emit;
+        private final boolean stripTracking;
+        private int start;
+        private int end;
+        private int mark;
+
+        // Null while the output equals in[start, mark)
+        private StringBuilder out;
+
+        Parser(CharSequence in, boolean emit, boolean stripTracking) {
+            this.in = in;
+            this.emit = emit;
+            this.stripTracking = stripTracking;
+        }
+
+        boolean parse() {
+            start = 0;
+            end = in.length();
+            while (start < end && in.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && in.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            mark = start;
+
+            int i = scheme(start);
+            if (i < 0) {
+                return false;
+            }
+            int defaultPort = i - start == "https://".length() ? 443 : 80;
+            i = i < end && in.charAt(i) == '[' ? ipv6(i) : regName(i);
+            if (i >= 0 && i < end && in.charAt(i) == ':') {
+                i = port(i, defaultPort);
+            }
+            if (i < 0) {
+                return false;
+            }
+            if (i < end && in.charAt(i) == '/') {
+                i = component(i, '?');
+            } else if (i < end && in.charAt(i) != '?' && in.charAt(i) != '#') {
+                return false;
+            }
+            if (i >= 0 && i < end && in.charAt(i) == '?') {
+                i = query(i);
+            }
+            if (i >= 0 && i < end) {
+                i = fragment(i + 1);
+            }
+            return i == end;
+        }
+
+        String result() {
+            if (out == null) {
+                return in.subSequence(start, end).toString();
+            }
+            return out.append(in, mark, end).toString();
+        }
+
+        // ── Components ───────────────────────────────────────
+
+        /** "http://" or "https://", any case. */
+        private int scheme(int i) {
+            int length = 0;
+            while (length < 6 && i + length < end && in.charAt(i + length) != ':') {
+                length++;
+            }
+            int colon = i + length;
+            if ((length != 4 && length != 5) || colon + 2 >= end
+                    || in.charAt(colon + 1) != '/' || in.charAt(colon + 2) != '/') {
+                return -1;
+            }
+            String scheme = length == 4 ? "http" : "https";
+            for (int k = 0; k < length; k++) {
+                char c = in.charAt(i + k);
+                if (c != scheme.charAt(k)) {
+                    if ((char) (c | 0x20) != scheme.charAt(k)) {
+                        return -1;
+                    }
+                    replace(i + k, 1, scheme.charAt(k));
+                }
+            }
+            return colon + 3;
+        }
+
+        /**
+         * Dot-separated labels of letters, digits, "-" and "_", 1-63 long with
+         * no leading or trailing "-", validated and lowercased in one pass.
+         */
+        private int regName(int i) {
+            int labelStart = i;
+            int k = i;
+            for (; k < end; k++) {
+                char c = in.charAt(k);
+                if (c >= 0x80) {
+                    return idn(i);
+                }
+                if ((CLASSES[c] & HOST) != 0) {
+                    if (c >= 'A' && c <= 'Z') {
+                        replace(k, 1, (char) (c | 0x20));
+                    }
+                } else if (c == '.') {
+                    if (!isValidLabel(in, labelStart, k)) {
+                        return -1;
+                    }
+                    labelStart = k + 1;
+                } else if (c == ':' || c == '/' || c == '?' || c == '#') {
+                    break;
+                } else {
+                    return -1;
+                }
+            }
+            if (labelStart == k && k > i + 1) {
+                // A single trailing dot marks a fully qualified name; drop it
+                replace(k - 1, 1, null);
+            } else if (!isValidLabel(in, labelStart, k)) {
+                return -1;
+            }
+            return k - i > MAX_HOST_LENGTH ? -1 : k;
+        }
+
+        /** Non-ASCII registered name, converted to its ASCII form. */
+        private int idn(int i) {
+            // regName may already have lowercased part of the name; the ASCII form replaces it all
+            rewind(i);
+            int k = i;
+            while (k < end && !isAuthorityEnd(in.charAt(k)) && in.charAt(k) != ':') {
+                k++;
+            }
+            String ascii;
+            try {
+                ascii = IDN.toASCII(in.subSequence(i, k).toString()).toLowerCase(Locale.ROOT);
+            } catch (IllegalArgumentException e) {
+                return -1;
+            }
+            if (ascii.endsWith(".")) {
+                ascii = ascii.substring(0, ascii.length() - 1);
+            }
+            if (ascii.isEmpty() || ascii.length() > MAX_HOST_LENGTH) {
+                return -1;
+            }
+            int labelStart = 0;
+            for (int j = 0; j <= ascii.length(); j++) {
+                if (j == ascii.length() || ascii.charAt(j) == '.') {
+                    if (!isValidLabel(ascii, labelStart, j)) {
+                        return -1;
+                    }
+                    labelStart = j + 1;
+                } else if (ascii.charAt(j) >= 0x80 || (CLASSES[ascii.charAt(j)] & HOST) == 0) {
+                    return -1;
+                }
+            }
+            replace(i, k - i, ascii);
+            return k;
+        }
+
+        private int ipv6(int i) {
+            int colons = 0;
+            int k = i + 1;
+            for (; k < end && in.charAt(k) != ']'; k++) {
+                char c = in.charAt(k);
+                if (c >= 'A' && c <= 'F') {
+                    replace(k, 1, (char) (c | 0x20));
+                } else if (c == ':') {
+                    colons++;
+                } else if (!isHexDigit(c) && c != '.') {
+                    return -1;
+                }
+            }
+            if (k == end || colons < 2) {
+                return -1;
+            }
+            k++;
+            return k == end || in.charAt(k) == ':' || isAuthorityEnd(in.charAt(k)) ? k : -1;
+        }
+
+        private int port(int colon, int defaultPort) {
+            int digits = colon + 1;
+            while (digits < end && in.charAt(digits) == '0') {
+                digits++;
+            }
+            int port = 0;
+            int k = digits;
+            for (; k < end && !isAuthorityEnd(in.charAt(k)); k++) {
+                char c = in.charAt(k);
+                if (c < '0' || c > '9' || k - digits >= 5) {
+                    return -1;
+                }
+                port = port * 10 + (c - '0');
+            }
+            if (k == colon + 1 || port == defaultPort) {
+                replace(colon, k - colon, null);
+            } else if (port == 0 || port > 65535) {
+                return -1;
+            } else if (digits > colon + 1) {
+                replace(colon + 1, k - colon - 1, Integer.toString(port));
+            }
+            return k;
+        }
+
+        /**
+         * "?" and the query up to the fragment, split on "&" so that tracking
+         * parameters can be dropped.
+         */
+        private int query(int i) {
+            if (i + 1 == end || in.charAt(i + 1) == '#') {
+                replace(i, 1, null);
+                return i + 1;
+            }
+            boolean keptAny = false;
+            while (i >= 0 && i < end && in.charAt(i) != '#') {
+                if (stripTracking && isTrackingParam(i + 1)) {
+                    int paramEnd = i + 1;
+                    while (paramEnd < end && in.charAt(paramEnd) != '&' && in.charAt(paramEnd) != '#') {
+                        paramEnd++;
+                    }
+                    replace(i, paramEnd - i, null);
+                    i = paramEnd;
+                    continue;
+                }
+                char separator = keptAny ? '&' : '?';
+                if (in.charAt(i) != separator) {
+                    replace(i, 1, separator);
+                }
+                keptAny = true;
+                i = component(i + 1, '&');
+            }
+            return i;
+        }
+
+        private int fragment(int i) {
+            while (i >= 0 && i < end) {
+                // "#" is not allowed literally inside the fragment
+                i = component(i, '#');
+                if (i >= 0 && i < end) {
+                    replace(i, 1, "%23");
+                    i++;
+                }
+            }
+            return i;
+        }
+
+        /**
+         * Path, query parameter or fragment text up to {@code stop}, "#" or the
+         * end. Returns the index of the character that stopped it.
+         */
+        private int component(int i, char stop) {
+            while (i < end) {
+                char c = in.charAt(i);
+                if (c < 0x80 && (CLASSES[c] & PLAIN) != 0) {
+                    i++;
+                } else if (c == stop || c == '#') {
+                    return i;
+                } else if (c == '%') {
+                    if (!percent(i)) {
+                        return -1;
+                    }
+                    i += 3;
+                } else if (c == '?' || c == '&') {
+                    i++;
+                } else if (c < ' ' || c == 0x7F) {
+                    return -1;
+                } else if (c < 0x80) {
+                    replace(i, 1, null);
+                    escape(c);
+                    i++;
+                } else {
+                    i = escapeUtf8(i);
+                    if (i < 0) {
+                        return -1;
+                    }
+                }
+            }
+            return i;
+        }
+
+        private boolean percent(int i) {
+            if (i + 2 >= end) {
+                return false;
+            }
+            char hi = in.charAt(i + 1);
+            char lo = in.charAt(i + 2);
+            if (!isHexDigit(hi) || !isHexDigit(lo)) {
+                return false;
+            }
+            int value = hexValue(hi) << 4 | hexValue(lo);
+            if (value < 0x80 && (CLASSES[value] & UNRESERVED) != 0) {
+                replace(i, 3, (char) value);
+            } else if (hi >= 'a' || lo >= 'a') {
+                replace(i, 3, null);
+                escape(value);
+            }
+            return true;
+        }
+
+        /** Escapes the code point at {@code i} as UTF-8. Returns the index after it. */
+        private int escapeUtf8(int i) {
+            char c = in.charAt(i);
+            int codePoint = c;
+            int next = i + 1;
+            if (Character.isHighSurrogate(c)) {
+                if (next == end || !Character.isLowSurrogate(in.charAt(next))) {
+                    return -1;
+                }
+                codePoint = Character.toCodePoint(c, in.charAt(next++));
+            } else if (Character.isLowSurrogate(c)) {
+                return -1;
+            }
+            replace(i, next - i, null);
+            if (codePoint < 0x800) {
+                escape(0xC0 | codePoint >> 6);
+            } else if (codePoint < 0x10000) {
+                escape(0xE0 | codePoint >> 12);
+                escape(0x80 | (codePoint >> 6 & 0x3F));
+            } else {
+                escape(0xF0 | codePoint >> 18);
+                escape(0x80 | (codePoint >> 12 & 0x3F));
+                escape(0x80 | (codePoint >> 6 & 0x3F));
+            }
+            escape(0x80 | (codePoint & 0x3F));
+            return next;
+        }
+
+        private boolean isTrackingParam(int nameStart) {
+            int nameEnd = nameStart;
+            while (nameEnd < end) {
+                char c = in.charAt(nameEnd);
+                if (c == '=' || c == '&' || c == '#') {
+                    break;
+                }
+                nameEnd++;
+            }
+            int length = nameEnd - nameStart;
+            if (length > TRACKING_PREFIX.length() && regionMatches(nameStart, TRACKING_PREFIX)) {
+                return true;
+            }
+            for (String param : TRACKING_PARAMS) {
+                if (length == param.length() && regionMatches(nameStart, param)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean regionMatches(int i, String lowerCase) {
+            for (int k = 0; k < lowerCase.length(); k++) {
+                char c = in.charAt(i + k);
+                if (c != lowerCase.charAt(k) && (c < 'A' || c > 'Z' || (c | 0x20) != lowerCase.charAt(k))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // ── Output ───────────────────────────────────────────
+
+        /** Replaces {@code in[i, i + length)} with {@code replacement}, or nothing if null. */
+        private void replace(int i, int length, String replacement) {
+            if (!emit) {
+                return;
+            }
+            diverge(i);
+            if (replacement != null) {
+                out.append(replacement);
+            }
+            mark = i + length;
+        }
+
+        private void replace(int i, int length, char replacement) {
+            if (!emit) {
+                return;
+            }
+            diverge(i);
+            out.append(replacement);
+            mark = i + length;
+        }
+
+        /** Brings the output up to {@code in[start, i)}. */
+        private void diverge(int i) {
+            if (out == null) {
+                out = new StringBuilder(end - start + 16);
+                out.append(in, start, i);
+            } else {
+                out.append(in, mark, i);
+            }
+        }
+
+        /**
+         * Takes back the output written for {@code in[i, mark)}. Only valid
+         * when everything replaced since {@code i} was one char for one char.
+         */
+        private void rewind(int i) {
+            if (out != null && mark > i) {
+                out.setLength(out.length() - (mark - i));
+                mark = i;
+            }
+        }
+
+        private void escape(int b) {
+            if (out != null) {
+                out.append('%').append(HEX[b >> 4 & 0xF]).append(HEX[b & 0xF]);
+            }
+        }
+    }
+
+    // ── Character helpers ───────────────────────────────────
+
+    private static boolean isValidLabel(CharSequence s, int from, int to) {
+        int length = to - from;
+        return length > 0 && length <= MAX_LABEL_LENGTH
+                && s.charAt(from) != '-' && s.charAt(to - 1) != '-';
+    }
+
+    private static boolean isAuthorityEnd(char c) {
+        return c == '/' || c == '?' || c == '#';
+    }
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
+    private static int hexValue(char c) {
+        return c <= '9' ? c - '0' : (c | 0x20) - 'a' + 10;
+    }
+}
@@ -0,0 +1,28 @@
+package com.urlshortener.urlservice.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotated string must be an http(s) URL that {@link UrlCanonicalizer}
+ * accepts. {@code null} and empty strings are valid; combine with
+ * {@code @NotBlank} to require a value.
+ */
+@Documented
+@Constraint(validatedBy = ValidUrlValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER, ElementType.TYPE_USE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidUrl {
+
+    String message() default "Must be a valid URL";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
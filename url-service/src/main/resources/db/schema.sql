@@ -0,0 +1,35 @@
+-- Tables owned by url-service that were added after the initial schema.
+-- Runs on every startup (spring.sql.init.mode=always) and is idempotent, so a
+-- database created from an older init-db.sql is upgraded in place. Keep in
+-- sync with init-db.sql and k8s/init-db-configmap.yaml.
+
+-- Click totals aggregated by url-service (HyperLogLog sketch for unique visitors)
+CREATE TABLE IF NOT EXISTS url_click_stats (
+    short_code      VARCHAR(10)     PRIMARY KEY,
+    total_clicks    BIGINT          NOT NULL DEFAULT 0,
+    unique_visitors BIGINT          NOT NULL DEFAULT 0,
+    visitors_hll    BYTEA,
+    last_click_at   TIMESTAMP,
+    updated_at      TIMESTAMP       NOT NULL DEFAULT NOW()
+);
+
+-- Cold tier: links expired longer than the archive retention window.
+-- Hash-partitioned on short_code so a lookup probes one small partition.
+CREATE TABLE IF NOT EXISTS urls_archive (
+    short_code      VARCHAR(10)     NOT NULL,
+    long_url        TEXT            NOT NULL,
+    created_at      TIMESTAMP       NOT NULL,
+    expiry_at       TIMESTAMP,
+    user_id         BIGINT,
+    archived_at     TIMESTAMP       NOT NULL DEFAULT NOW(),
+    PRIMARY KEY (short_code)
+) PARTITION BY HASH (short_code);
+
+CREATE TABLE IF NOT EXISTS urls_archive_p0 PARTITION OF urls_archive FOR VALUES WITH (MODULUS 8, REMAINDER 0);
+CREATE TABLE IF NOT EXISTS urls_archive_p1 PARTITION OF urls_archive FOR VALUES WITH (MODULUS 8, REMAINDER 1);
+CREATE TABLE IF NOT EXISTS urls_archive_p2 PARTITION OF urls_archive FOR VALUES WITH (MODULUS 8, REMAINDER 2);
+CREATE TABLE IF NOT EXISTS urls_archive_p3 PARTITION OF urls_archive FOR VALUES WITH (MODULUS 8, REMAINDER 3);
+CREATE TABLE IF NOT EXISTS urls_archive_p4 PARTITION OF urls_archive FOR VALUES WITH (MODULUS 8, REMAINDER 4);
+CREATE TABLE IF NOT EXISTS urls_archive_p5 PARTITION OF urls_archive FOR VALUES WITH (MODULUS 8, REMAINDER 5);
+CREATE TABLE IF NOT EXISTS urls_archive_p6 PARTITION OF urls_archive FOR VALUES WITH (MODULUS 8, REMAINDER 6);
+CREATE TABLE IF NOT EXISTS urls_archive_p7 PARTITION OF urls_archive FOR VALUES WITH (MODULUS 8, REMAINDER 7);
@@ -1,10 +1,16 @@
 package com.urlshortener.urlservice.controller;
 
+import com.urlshortener.urlservice.dto.BatchLookupResponse;
+import com.urlshortener.urlservice.dto.ClickStatsResponse;
 import com.urlshortener.urlservice.dto.CreateUrlRequest;
 import com.urlshortener.urlservice.dto.CreateUrlResponse;
+import com.urlshortener.urlservice.dto.UrlLookupResult;
 import com.urlshortener.urlservice.exception.AliasConflictException;
+import com.urlshortener.urlservice.exception.BlockedUrlException;
 import com.urlshortener.urlservice.exception.GlobalExceptionHandler;
 import com.urlshortener.urlservice.exception.UrlNotFoundException;
+import com.urlshortener.urlservice.service.ClickStatsService;
+import com.urlshortener.urlservice.service.UrlLookupService;
 import com.urlshortener.urlservice.service.UrlService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,9 +24,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -34,6 +44,12 @@ class UrlControllerTest {
     @Mock
     private UrlService urlService;
 
+    @Mock
+    private ClickStatsService clickStatsService;
+
+    @Mock
+    private UrlLookupService urlLookupService;
+
     @InjectMocks
     private UrlController urlController;
 
@@ -75,6 +91,29 @@ class UrlControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("POST /api/v1/urls – userinfo in the URL – 400")
+    void createUrl_invalidUrl_returns400() throws Exception {
+        mockMvc.perform(post("/api/v1/urls")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"longUrl\":\"https://bank.example@evil.example/login\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("longUrl: Must be a valid URL"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/urls – blocked destination – 403")
+    void createUrl_blocked_returns403() throws Exception {
+        when(urlService.createShortUrl(any(CreateUrlRequest.class)))
+                .thenThrow(new BlockedUrlException("URL is blocked"));
+
+        mockMvc.perform(post("/api/v1/urls")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"longUrl\":\"https://evil.example/\"}"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.status").value(403));
+    }
+
     @Test
     @DisplayName("POST /api/v1/urls – alias conflict – 409")
     void createUrl_aliasConflict_returns409() throws Exception {
@@ -88,6 +127,17 @@ class UrlControllerTest {
                 .andExpect(jsonPath("$.message").value("Alias 'taken' is already taken"));
     }
 
+    @Test
+    @DisplayName("POST /api/v1/urls – alias with non-alphanumeric characters – 400")
+    void createUrl_invalidAlias_returns400() throws Exception {
+        mockMvc.perform(post("/api/v1/urls")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"longUrl\":\"https://example.com\",\"customAlias\":\"my-link\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("customAlias: Custom alias must contain only letters and digits"));
+        verifyNoInteractions(urlService);
+    }
+
     // ── GET /api/v1/urls/{shortCode} ──────────────────────
 
     @Test
@@ -119,6 +169,89 @@ class UrlControllerTest {
                 .andExpect(jsonPath("$.message").value("Short code not found: unknown"));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/urls/{shortCode} – non-base62 code – 404 without a lookup")
+    void getUrlInfo_invalidCode_returns404() throws Exception {
+        mockMvc.perform(get("/api/v1/urls/abc_123"))
+                .andExpect(status().isNotFound());
+        verifyNoInteractions(urlService);
+    }
+
+    // ── GET /api/v1/urls/{shortCode}/stats ────────────────
+
+    @Test
+    @DisplayName("GET /api/v1/urls/{shortCode}/stats – 200 OK")
+    void getClickStats_returns200() throws Exception {
+        ClickStatsResponse response = ClickStatsResponse.builder()
+                .shortCode("abc1234")
+                .totalClicks(42)
+                .uniqueVisitors(17)
+                .build();
+
+        when(clickStatsService.getStats(eq("abc1234"))).thenReturn(response);
+
+        mockMvc.perform(get("/api/v1/urls/abc1234/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalClicks").value(42))
+                .andExpect(jsonPath("$.uniqueVisitors").value(17));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/urls/{shortCode}/stats – not found – 404")
+    void getClickStats_notFound_returns404() throws Exception {
+        when(clickStatsService.getStats(eq("unknown")))
+                .thenThrow(new UrlNotFoundException("Short code not found: unknown"));
+
+        mockMvc.perform(get("/api/v1/urls/unknown/stats"))
+                .andExpect(status().isNotFound());
+    }
+
+    // ── POST /api/v1/urls/lookup ──────────────────────────
+
+    @Test
+    @DisplayName("POST /api/v1/urls/lookup – 200 OK with per-code results")
+    void lookupUrls_returns200() throws Exception {
+        BatchLookupResponse response = BatchLookupResponse.builder()
+                .requested(2)
+                .found(1)
+                .results(List.of(
+                        UrlLookupResult.builder().shortCode("abc1234").found(true).longUrl("https://example.com").build(),
+                        UrlLookupResult.builder().shortCode("missing").found(false).build()))
+                .build();
+
+        when(urlLookupService.lookup(eq(List.of("abc1234", "missing")))).thenReturn(response);
+
+        mockMvc.perform(post("/api/v1/urls/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"shortCodes\":[\"abc1234\",\"missing\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found").value(1))
+                .andExpect(jsonPath("$.results[0].longUrl").value("https://example.com"))
+                .andExpect(jsonPath("$.results[1].found").value(false));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/urls/lookup – empty list – 400")
+    void lookupUrls_empty_returns400() throws Exception {
+        mockMvc.perform(post("/api/v1/urls/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"shortCodes\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/urls/lookup – over the batch limit – 400")
+    void lookupUrls_tooMany_returns400() throws Exception {
+        String codes = IntStream.range(0, 1001)
+                .mapToObj(i -> "\"c" + i + "\"")
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(post("/api/v1/urls/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"shortCodes\":[" + codes + "]}"))
+                .andExpect(status().isBadRequest());
+    }
+
     // ── GET /api/v1/urls/health ───────────────────────────
 
     @Test
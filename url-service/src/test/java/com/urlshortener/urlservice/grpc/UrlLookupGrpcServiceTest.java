@@ -0,0 +1,247 @@
+package com.urlshortener.urlservice.grpc;
+
+import com.urlshortener.urlservice.grpc.v1.LookupRequest;
+import com.urlshortener.urlservice.grpc.v1.LookupResponse;
+import com.urlshortener.urlservice.grpc.v1.UrlLookupGrpc;
+import com.urlshortener.urlservice.service.UrlLookupService;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UrlLookupGrpcServiceTest {
+
+    private final UrlLookupService urlLookupService = mock(UrlLookupService.class);
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService timer;
+    private Server server;
+    private ManagedChannel channel;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Every code except "missing" resolves to https://example.com/<code>
+        when(urlLookupService.resolve(anyCollection())).thenAnswer(invocation -> {
+            Collection<String> codes = invocation.getArgument(0);
+            batchSizes.add(codes.size());
+            Map<String, String> resolved = new HashMap<>();
+            for (String code : codes) {
+                if (!code.equals("missing")) {
+                    resolved.put(code, "https://example.com/" + code);
+                }
+            }
+            return resolved;
+        });
+
+        timer = Executors.newSingleThreadScheduledExecutor();
+        start(5);
+    }
+
+    private void start(long batchDelayMillis) throws Exception {
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .addService(new UrlLookupGrpcService(urlLookupService, timer, 10, batchDelayMillis))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+        timer.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Lookup – found and not found")
+    void lookup_unary() {
+        UrlLookupGrpc.UrlLookupBlockingStub stub = UrlLookupGrpc.newBlockingStub(channel);
+
+        LookupResponse found = stub.lookup(LookupRequest.newBuilder().setShortCode("abc").build());
+        LookupResponse missing = stub.lookup(LookupRequest.newBuilder().setShortCode("missing").build());
+
+        assertThat(found.getFound()).isTrue();
+        assertThat(found.getLongUrl()).isEqualTo("https://example.com/abc");
+        assertThat(missing.getFound()).isFalse();
+        assertThat(missing.getLongUrl()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Lookup – database down – UNAVAILABLE, not UNKNOWN")
+    void lookup_databaseDown_unavailable() {
+        when(urlLookupService.resolve(anyCollection()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        UrlLookupGrpc.UrlLookupBlockingStub stub = UrlLookupGrpc.newBlockingStub(channel);
+
+        assertThatThrownBy(() -> stub.lookup(LookupRequest.newBuilder().setShortCode("abc").build()))
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNAVAILABLE));
+    }
+
+    @Test
+    @DisplayName("Resolve – batches the stream and answers every code in order")
+    void resolve_streaming_batches() throws Exception {
+        List<LookupResponse> responses = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        StreamObserver<LookupRequest> requests = UrlLookupGrpc.newStub(channel).resolve(new StreamObserver<>() {
+            @Override
+            public void onNext(LookupResponse value) {
+                responses.add(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                done.countDown();
+            }
+
+            @Override
+            public void onCompleted() {
+                done.countDown();
+            }
+        });
+
+        List<String> sent = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            String code = i == 7 ? "missing" : "c" + i;
+            sent.add(code);
+            requests.onNext(LookupRequest.newBuilder().setShortCode(code).build());
+        }
+        requests.onCompleted();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(responses).extracting(LookupResponse::getShortCode).containsExactlyElementsOf(sent);
+        assertThat(responses.get(7).getFound()).isFalse();
+        assertThat(responses.get(8).getLongUrl()).isEqualTo("https://example.com/c8");
+        // 25 codes with batch size 10 → far fewer resolve calls than codes
+        assertThat(batchSizes).hasSizeLessThanOrEqualTo(5);
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(25);
+    }
+
+    @Test
+    @DisplayName("Resolve – final batch fails on half-close – one UNAVAILABLE, no completion")
+    void resolve_finalBatchFails_unavailableOnly() throws Exception {
+        when(urlLookupService.resolve(anyCollection()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        // No timed flush, so the buffered codes are only resolved by the half-close
+        channel.shutdownNow();
+        server.shutdownNow();
+        start(60_000);
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        AtomicInteger completions = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+        StreamObserver<LookupRequest> requests = UrlLookupGrpc.newStub(channel).resolve(new StreamObserver<>() {
+            @Override
+            public void onNext(LookupResponse value) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                errors.add(t);
+                done.countDown();
+            }
+
+            @Override
+            public void onCompleted() {
+                completions.incrementAndGet();
+                done.countDown();
+            }
+        });
+
+        // Fewer codes than a batch, so they are still buffered when the client half-closes
+        for (int i = 0; i < 3; i++) {
+            requests.onNext(LookupRequest.newBuilder().setShortCode("c" + i).build());
+        }
+        requests.onCompleted();
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(100);
+        assertThat(completions).hasValue(0);
+        assertThat(errors).singleElement()
+                .isInstanceOfSatisfying(StatusRuntimeException.class,
+                        e -> assertThat(e.getStatus().getCode()).isEqualTo(Status.Code.UNAVAILABLE));
+    }
+
+    @Test
+    @DisplayName("Resolve – client stops reading responses – server stops reading codes until it resumes")
+    void resolve_slowClient_pausesReading() throws Exception {
+        List<LookupResponse> responses = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        List<ClientCallStreamObserver<LookupRequest>> call = new CopyOnWriteArrayList<>();
+        StreamObserver<LookupRequest> requests = UrlLookupGrpc.newStub(channel).resolve(
+                new ClientResponseObserver<LookupRequest, LookupResponse>() {
+                    @Override
+                    public void beforeStart(ClientCallStreamObserver<LookupRequest> requestStream) {
+                        // Accept only 5 responses until told otherwise
+                        requestStream.disableAutoRequestWithInitial(5);
+                        call.add(requestStream);
+                    }
+
+                    @Override
+                    public void onNext(LookupResponse value) {
+                        responses.add(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        done.countDown();
+                    }
+                });
+
+        for (int i = 0; i < 100; i++) {
+            requests.onNext(LookupRequest.newBuilder().setShortCode("c" + i).build());
+        }
+        requests.onCompleted();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (responses.size() < 5 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(200);
+        // Reading stops within about one batch of the responses the client accepted
+        assertThat(responses).hasSize(5);
+        assertThat(resolvedCount()).isBetween(5, 20);
+
+        call.get(0).request(1_000);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(responses).hasSize(100);
+        assertThat(resolvedCount()).isEqualTo(100);
+    }
+
+    private int resolvedCount() {
+        return batchSizes.stream().mapToInt(Integer::intValue).sum();
+    }
+}
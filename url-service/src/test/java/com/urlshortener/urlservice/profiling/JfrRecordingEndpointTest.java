@@ -0,0 +1,34 @@
+package com.urlshortener.urlservice.profiling;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrRecordingEndpointTest {
+
+    @Test
+    @DisplayName("recording leaves out environment, properties and JVM arguments")
+    void record_noSensitiveEvents() throws Exception {
+        Path file = Files.createTempFile("endpoint-test-", ".jfr");
+        Set<String> types = new HashSet<>();
+        try {
+            new JfrRecordingEndpoint().record(Duration.ofSeconds(1), file);
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                types.add(event.getEventType().getName());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        assertThat(types).isNotEmpty().doesNotContainAnyElementsOf(JfrRecordingEndpoint.SENSITIVE_EVENTS);
+    }
+}
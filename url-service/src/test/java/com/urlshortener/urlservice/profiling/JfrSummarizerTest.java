@@ -0,0 +1,51 @@
+package com.urlshortener.urlservice.profiling;
+
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JfrSummarizerTest {
+
+    @Test
+    @DisplayName("summarizer groups url-service events by type and outcome")
+    void groupsEventsByOutcome() throws Exception {
+        Path file = Files.createTempFile("summarizer-test-", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(CreateShortUrlEvent.class);
+            recording.enable(CacheUrlEvent.class);
+            recording.start();
+            for (int i = 0; i < 3; i++) {
+                CreateShortUrlEvent created = new CreateShortUrlEvent();
+                created.outcome = CreateShortUrlEvent.CREATED;
+                created.commit();
+            }
+            CreateShortUrlEvent conflict = new CreateShortUrlEvent();
+            conflict.outcome = CreateShortUrlEvent.ALIAS_CONFLICT;
+            conflict.commit();
+            new CacheUrlEvent().commit();
+            recording.stop();
+            recording.dump(file);
+        }
+
+        JfrSummarizer summarizer = new JfrSummarizer();
+        summarizer.read(file);
+        Files.deleteIfExists(file);
+
+        assertThat(summarizer.eventCounts())
+                .containsEntry("com.urlshortener.CreateShortUrl [CREATED]", 3L)
+                .containsEntry("com.urlshortener.CreateShortUrl [ALIAS_CONFLICT]", 1L)
+                .containsEntry("com.urlshortener.CacheUrl", 1L);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        summarizer.print(new PrintStream(out, true, StandardCharsets.UTF_8), 5);
+        assertThat(out.toString(StandardCharsets.UTF_8)).contains("Hottest url-service events");
+    }
+}
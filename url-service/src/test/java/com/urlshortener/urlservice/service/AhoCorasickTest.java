@@ -0,0 +1,50 @@
+package com.urlshortener.urlservice.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AhoCorasickTest {
+
+    @Test
+    @DisplayName("find – any pattern anywhere in the text, ignoring ASCII case")
+    void find_matchesAnyPattern() {
+        AhoCorasick automaton = AhoCorasick.build(List.of("/wp-login.php", "paypa1", "Free-Gift"));
+
+        assertThat(automaton.find("https://host.example/blog/wp-login.php?x=1")).isEqualTo("/wp-login.php");
+        assertThat(automaton.find("https://PAYPA1-secure.example/")).isEqualTo("paypa1");
+        assertThat(automaton.find("https://x.example/free-gift")).isEqualTo("free-gift");
+        assertThat(automaton.find("https://paypal.example/wp-login")).isNull();
+    }
+
+    @Test
+    @DisplayName("find – overlapping patterns found through failure links")
+    void find_overlappingPatterns() {
+        AhoCorasick automaton = AhoCorasick.build(List.of("abcd", "bce", "c"));
+
+        // "abc" leads down abcd; the mismatch on "e" must fall back to "bc" → "bce"
+        assertThat(AhoCorasick.build(List.of("abcd", "bce")).find("xabcex")).isEqualTo("bce");
+        // A pattern that is a suffix of the current path is reported via the output link
+        assertThat(automaton.find("xabx")).isNull();
+        assertThat(automaton.find("xabcx")).isEqualTo("c");
+    }
+
+    @Test
+    @DisplayName("find – 10k patterns, none matching a clean URL")
+    void find_manyPatterns() {
+        List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            patterns.add("/phish-kit-" + i + "/");
+        }
+        AhoCorasick automaton = AhoCorasick.build(patterns);
+
+        assertThat(automaton.size()).isEqualTo(10_000);
+        assertThat(automaton.find("https://example.com/phish-kit-123/index.html")).isEqualTo("/phish-kit-123/");
+        assertThat(automaton.find("https://example.com/phish-kit-123x/")).isNull();
+        assertThat(automaton.find("")).isNull();
+    }
+}
@@ -0,0 +1,201 @@
+package com.urlshortener.urlservice.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Base62EncoderTest {
+
+    private static final String ALPHABET = "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final int SAMPLES = 10_000;
+
+    // Fresh seed per repetition; printed in the failure message so a failure can be replayed
+    private final long seed = System.nanoTime();
+    private final Random random = new Random(seed);
+
+    @RepeatedTest(5)
+    @DisplayName("encode / decode – random values – match the previous implementation and round-trip")
+    void matchesLegacyImplementation() {
+        for (int i = 0; i < SAMPLES; i++) {
+            long value = randomValue();
+            String encoded = Base62Encoder.encode(value);
+
+            assertThat(encoded).as("seed %d, value %d", seed, value).isEqualTo(Legacy.encode(value));
+            assertThat(Base62Encoder.decode(encoded)).as("seed %d", seed).isEqualTo(Legacy.decode(encoded));
+            assertThat(Base62Encoder.decode(encoded)).as("seed %d", seed).isEqualTo(value);
+            assertThat(Base62Encoder.encodedLength(value)).isEqualTo(encoded.length());
+        }
+    }
+
+    @RepeatedTest(5)
+    @DisplayName("encode(width) – random values – left-padded, decodes back")
+    void fixedWidth() {
+        for (int i = 0; i < SAMPLES; i++) {
+            long value = randomValue();
+            String code = Base62Encoder.encode(value, Base62Encoder.MAX_LENGTH);
+
+            assertThat(code).hasSize(Base62Encoder.MAX_LENGTH);
+            assertThat(code).endsWith(Legacy.encode(value));
+            assertThat(code.substring(0, code.length() - Legacy.encode(value).length())).matches("0*");
+            assertThat(Base62Encoder.decode(code)).as("seed %d", seed).isEqualTo(value);
+        }
+    }
+
+    @RepeatedTest(5)
+    @DisplayName("byte[] / char[] / CharSequence – random codes at random offsets – same value as the String path")
+    void arrayAndRangeVariants() {
+        for (int i = 0; i < SAMPLES; i++) {
+            long value = randomValue();
+            int width = Base62Encoder.encodedLength(value) + random.nextInt(3);
+            int offset = random.nextInt(4);
+            byte[] bytes = new byte[offset + width + 2];
+            char[] chars = new char[offset + width + 2];
+
+            assertThat(Base62Encoder.encode(value, bytes, offset, width)).isEqualTo(offset + width);
+            assertThat(Base62Encoder.encode(value, chars, offset, width)).isEqualTo(offset + width);
+
+            String expected = Base62Encoder.encode(value, width);
+            assertThat(new String(bytes, offset, width, StandardCharsets.US_ASCII)).isEqualTo(expected);
+            assertThat(new String(chars, offset, width)).isEqualTo(expected);
+            assertThat(Base62Encoder.decode(bytes, offset, width)).as("seed %d", seed).isEqualTo(value);
+            assertThat(Base62Encoder.decode(chars, offset, width)).as("seed %d", seed).isEqualTo(value);
+            assertThat(Base62Encoder.decode("xx" + expected + "yy", 2, 2 + width)).isEqualTo(value);
+            assertThat(Base62Encoder.encode(value, new StringBuilder("#")).toString())
+                    .isEqualTo("#" + Legacy.encode(value));
+        }
+    }
+
+    @RepeatedTest(5)
+    @DisplayName("encodeAll / decodeAll – random arrays – same codes as one-by-one encoding")
+    void bulk() {
+        for (int width = 1; width <= Base62Encoder.MAX_LENGTH + 1; width++) {
+            long bound = width < Base62Encoder.MAX_LENGTH ? Base62Encoder.capacity(width) : Long.MAX_VALUE;
+            long[] values = new long[1 + random.nextInt(300)];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = i == 0 ? bound - 1 : random.nextLong(bound);
+            }
+            byte[] codes = new byte[values.length * width];
+            long[] decoded = new long[values.length];
+
+            Base62Encoder.encodeAll(values, width, codes);
+            Base62Encoder.decodeAll(codes, width, decoded);
+
+            assertThat(decoded).as("seed %d, width %d", seed, width).containsExactly(values);
+            for (int i = 0; i < values.length; i++) {
+                assertThat(new String(codes, i * width, width, StandardCharsets.US_ASCII))
+                        .isEqualTo(Base62Encoder.encode(values[i], width));
+            }
+        }
+    }
+
+    @RepeatedTest(5)
+    @DisplayName("decode / isValid – random strings – rejected exactly when a character is outside the alphabet")
+    void strictValidation() {
+        for (int i = 0; i < SAMPLES; i++) {
+            char[] chars = new char[1 + random.nextInt(8)];
+            boolean valid = true;
+            for (int c = 0; c < chars.length; c++) {
+                if (random.nextInt(10) == 0) {
+                    chars[c] = (char) random.nextInt(0x3000);
+                    valid &= ALPHABET.indexOf(chars[c]) >= 0;
+                } else {
+                    chars[c] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+                }
+            }
+            String code = new String(chars);
+
+            assertThat(Base62Encoder.isValid(code)).as("seed %d, code %s", seed, code).isEqualTo(valid);
+            if (valid) {
+                assertThat(Base62Encoder.decode(code)).isEqualTo(Legacy.decode(code));
+            } else {
+                assertThatThrownBy(() -> Base62Encoder.decode(code)).isInstanceOf(IllegalArgumentException.class);
+                assertThatThrownBy(() -> Base62Encoder.decode(chars, 0, chars.length))
+                        .isInstanceOf(IllegalArgumentException.class);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("edge values – zero, Long.MAX_VALUE and padding")
+    void edges() {
+        assertThat(Base62Encoder.encode(0)).isEqualTo("0");
+        assertThat(Base62Encoder.encode(61)).isEqualTo("Z");
+        assertThat(Base62Encoder.encode(62)).isEqualTo("10");
+        assertThat(Base62Encoder.encode(Long.MAX_VALUE)).isEqualTo(Legacy.encode(Long.MAX_VALUE)).hasSize(11);
+        assertThat(Base62Encoder.decode(Base62Encoder.encode(Long.MAX_VALUE))).isEqualTo(Long.MAX_VALUE);
+        assertThat(Base62Encoder.encode(5, 7)).isEqualTo("0000005");
+        assertThat(Base62Encoder.decode("0000000000000005")).isEqualTo(5);
+        assertThat(Base62Encoder.encode(0, 0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("decode – value above Long.MAX_VALUE – rejected instead of wrapping")
+    void overflow() {
+        String max = Base62Encoder.encode(Long.MAX_VALUE);
+        String maxPlusOne = max.substring(0, max.length() - 1) + (char) (max.charAt(max.length() - 1) + 1);
+
+        assertThatThrownBy(() -> Base62Encoder.decode(maxPlusOne)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Base62Encoder.decode("ZZZZZZZZZZZ")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Base62Encoder.decode("1" + "0".repeat(11))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Base62Encoder.decodeAll("ZZZZZZZZZZZ".getBytes(StandardCharsets.US_ASCII), 11,
+                new long[1])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("invalid input – empty, non-ASCII bytes, negative values, too narrow a width")
+    void invalidInput() {
+        assertThat(Base62Encoder.isValid("")).isFalse();
+        assertThatThrownBy(() -> Base62Encoder.decode("")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Base62Encoder.decode(new byte[]{'a', (byte) 0xC3, (byte) 0xA9}, 0, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Base62Encoder.decodeAll(new byte[]{'a', (byte) 0xE1}, 2, new long[1]))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Base62Encoder.encode(-1)).isInstanceOf(IllegalArgumentException.class);
+
+        byte[] dst = new byte[3];
+        assertThatThrownBy(() -> Base62Encoder.encode(62 * 62 * 62, dst, 0, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(dst).containsOnly(0);
+    }
+
+    /**
+     * Uniform over digit counts rather than over values, so short codes are
+     * exercised as often as 11-digit ones.
+     */
+    private long randomValue() {
+        int digits = 1 + random.nextInt(Base62Encoder.MAX_LENGTH);
+        long bound = digits < Base62Encoder.MAX_LENGTH ? Base62Encoder.capacity(digits) : Long.MAX_VALUE;
+        return random.nextLong(bound);
+    }
+
+    /**
+     * The implementation this codec replaced, kept as the reference for valid input.
+     */
+    private static final class Legacy {
+
+        static String encode(long value) {
+            if (value == 0) return String.valueOf(ALPHABET.charAt(0));
+
+            StringBuilder sb = new StringBuilder();
+            while (value > 0) {
+                sb.append(ALPHABET.charAt((int) (value % 62)));
+                value /= 62;
+            }
+            return sb.reverse().toString();
+        }
+
+        static long decode(String encoded) {
+            long result = 0;
+            for (char c : encoded.toCharArray()) {
+                result = result * 62 + ALPHABET.indexOf(c);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.urlshortener.urlservice.service;
+
+import com.urlshortener.urlservice.exception.BlockedUrlException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BlocklistServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BlocklistService service;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = dir.resolve("blocklist.txt");
+        Files.writeString(file, """
+                # malware
+                evil.example
+                0.0.0.0 tracker.example   # hosts-file line
+                *.phish.example
+                bücher-phish.example
+                contains:/wp-login.php?redirect
+                not a domain!
+                """);
+        service = new BlocklistService(meterRegistry);
+        ReflectionTestUtils.setField(service, "path", file.toString());
+        service.init();
+    }
+
+    @Test
+    @DisplayName("check – blocked domain, subdomain or substring – throws BlockedUrlException")
+    void check_blocked_throws() {
+        assertThatThrownBy(() -> service.check("https://evil.example/"))
+                .isInstanceOf(BlockedUrlException.class);
+        assertThatThrownBy(() -> service.check("https://cdn.tracker.example:8443/t.js"))
+                .isInstanceOf(BlockedUrlException.class);
+        assertThatThrownBy(() -> service.check("https://login.phish.example/"))
+                .isInstanceOf(BlockedUrlException.class);
+        assertThatThrownBy(() -> service.check("https://xn--bcher-phish-thb.example/"))
+                .isInstanceOf(BlockedUrlException.class);
+        assertThatThrownBy(() -> service.check("https://blog.example/wp-login.php?redirect_to=x"))
+                .isInstanceOf(BlockedUrlException.class);
+
+        assertThat(meterRegistry.counter("blocklist.blocked").count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("check – unlisted URL – allowed and timed")
+    void check_allowed_recordsTiming() {
+        assertThatCode(() -> service.check("https://example.com/evil.example")).doesNotThrowAnyException();
+        assertThatCode(() -> service.check("http://[2001:db8::1]/")).doesNotThrowAnyException();
+
+        assertThat(meterRegistry.timer("blocklist.check").count()).isEqualTo(2);
+        assertThat(meterRegistry.get("blocklist.domains").gauge().value()).isEqualTo(4);
+        assertThat(meterRegistry.get("blocklist.substrings").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("blocklist.memory").gauge().value()).isPositive();
+    }
+
+    @Test
+    @DisplayName("reloadIfChanged – changed file – new list swapped in")
+    void reloadIfChanged_swapsList() throws Exception {
+        Files.writeString(file, "new-threat.example\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 5_000));
+
+        service.reloadIfChanged();
+
+        assertThat(service.domainCount()).isEqualTo(1);
+        assertThatCode(() -> service.check("https://evil.example/")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> service.check("https://new-threat.example/"))
+                .isInstanceOf(BlockedUrlException.class);
+    }
+
+    @Test
+    @DisplayName("reloadIfChanged – file removed – keeps the current list")
+    void reloadIfChanged_missingFile_keepsList() throws Exception {
+        Files.delete(file);
+
+        service.reloadIfChanged();
+
+        assertThat(service.domainCount()).isEqualTo(4);
+        assertThatThrownBy(() -> service.check("https://evil.example/"))
+                .isInstanceOf(BlockedUrlException.class);
+    }
+
+    @Test
+    @DisplayName("check – concurrent with reloads – never blocks or fails")
+    void check_duringReloads_neverFails() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<?> checks = executor.submit(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    service.check("https://example.com/page/" + i);
+                }
+            });
+            for (int i = 0; i < 20; i++) {
+                Files.writeString(file, "evil.example\nv" + i + ".example\n");
+                Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000L * (i + 1)));
+                service.reloadIfChanged();
+            }
+            checks.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(service.domainCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("init – no path configured – every URL allowed")
+    void init_noPath_allowsEverything() {
+        BlocklistService disabled = new BlocklistService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(disabled, "path", "");
+        disabled.init();
+
+        assertThatCode(() -> disabled.check("https://evil.example/")).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,81 @@
+package com.urlshortener.urlservice.service;
+
+import com.urlshortener.urlservice.service.CacheJournal.Batch;
+import com.urlshortener.urlservice.service.CacheJournal.Entry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("append, read in batches, commit – truncates once drained")
+    void roundTrip() throws IOException {
+        Path file = dir.resolve("journal.bin");
+        try (CacheJournal journal = new CacheJournal(file, 1 << 20)) {
+            for (int i = 0; i < 5; i++) {
+                assertThat(journal.append(new Entry("url:c" + i, "https://example.com/" + i, i == 0 ? 0 : 1_000L * i)))
+                        .isTrue();
+            }
+            assertThat(journal.depth()).isEqualTo(5);
+
+            Batch first = journal.read(3);
+            assertThat(first.entries()).extracting(Entry::key).containsExactly("url:c0", "url:c1", "url:c2");
+            assertThat(first.entries().get(0).expireAtMillis()).isZero();
+            journal.commit(first);
+            assertThat(journal.depth()).isEqualTo(2);
+
+            Batch second = journal.read(10);
+            assertThat(second.entries()).extracting(Entry::value)
+                    .containsExactly("https://example.com/3", "https://example.com/4");
+            journal.commit(second);
+
+            assertThat(journal.depth()).isZero();
+            assertThat(Files.size(file)).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("append – journal full – rejects the entry")
+    void bounded() throws IOException {
+        try (CacheJournal journal = new CacheJournal(dir.resolve("journal.bin"), 100)) {
+            assertThat(journal.append(new Entry("url:a", "https://example.com/a", 0))).isTrue();
+            assertThat(journal.append(new Entry("url:b", "https://example.com/b", 0))).isTrue();
+            assertThat(journal.append(new Entry("url:c", "https://example.com/c", 0))).isFalse();
+            assertThat(journal.depth()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("reopen – keeps intact entries and cuts off a torn tail record")
+    void recoversAfterCrash() throws IOException {
+        Path file = dir.resolve("journal.bin");
+        try (CacheJournal journal = new CacheJournal(file, 1 << 20)) {
+            journal.append(new Entry("url:a", "https://example.com/a", 0));
+            journal.append(new Entry("url:b", "https://example.com/b", 0));
+        }
+        long intact = Files.size(file);
+        // Simulate a crash halfway through a third append
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 40, 1, 2, 3}));
+        }
+
+        try (CacheJournal journal = new CacheJournal(file, 1 << 20)) {
+            assertThat(journal.depth()).isEqualTo(2);
+            assertThat(Files.size(file)).isEqualTo(intact);
+            assertThat(journal.read(10).entries()).extracting(Entry::key).containsExactly("url:a", "url:b");
+        }
+    }
+}
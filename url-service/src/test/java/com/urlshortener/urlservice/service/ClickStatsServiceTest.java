@@ -0,0 +1,123 @@
+package com.urlshortener.urlservice.service;
+
+import com.urlshortener.urlservice.dto.ClickEvent;
+import com.urlshortener.urlservice.dto.ClickStatsResponse;
+import com.urlshortener.urlservice.exception.UrlNotFoundException;
+import com.urlshortener.urlservice.repository.ClickStatsRepository;
+import com.urlshortener.urlservice.repository.ClickStatsRepository.ClickDelta;
+import com.urlshortener.urlservice.repository.ClickStatsRepository.StoredStats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ClickStatsServiceTest {
+
+    @Mock
+    private ClickStatsRepository clickStatsRepository;
+
+    @Mock
+    private HotLinkService hotLinkService;
+
+    @InjectMocks
+    private ClickStatsService clickStatsService;
+
+    @Test
+    @DisplayName("flush – aggregates clicks per link into one batch")
+    @SuppressWarnings("unchecked")
+    void flush_aggregatesPerLink() {
+        clickStatsService.record(click("abc1234", "1.1.1.1"));
+        clickStatsService.record(click("abc1234", "1.1.1.1"));
+        clickStatsService.record(click("abc1234", "2.2.2.2"));
+        clickStatsService.record(click("xyz9876", "1.1.1.1"));
+
+        clickStatsService.flush();
+
+        ArgumentCaptor<Collection<ClickDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(clickStatsRepository).applyDeltas(captor.capture());
+        Map<String, ClickDelta> deltas = captor.getValue().stream()
+                .collect(Collectors.toMap(ClickDelta::shortCode, d -> d));
+
+        assertThat(deltas).hasSize(2);
+        assertThat(deltas.get("abc1234").clicks()).isEqualTo(3);
+        assertThat(deltas.get("abc1234").visitors().estimate()).isEqualTo(2);
+        assertThat(deltas.get("abc1234").lastClickAt()).isNotNull();
+        assertThat(deltas.get("xyz9876").clicks()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("flush – nothing recorded – no database call")
+    void flush_empty_skipsDatabase() {
+        clickStatsService.flush();
+
+        verifyNoInteractions(clickStatsRepository);
+    }
+
+    @Test
+    @DisplayName("flush – database failure – deltas are retried next cycle")
+    @SuppressWarnings("unchecked")
+    void flush_failure_requeues() {
+        clickStatsService.record(click("abc1234", "1.1.1.1"));
+        doThrow(new RuntimeException("DB down"))
+                .doNothing()
+                .when(clickStatsRepository).applyDeltas(anyCollection());
+
+        clickStatsService.flush();
+        clickStatsService.record(click("abc1234", "3.3.3.3"));
+        clickStatsService.flush();
+
+        ArgumentCaptor<Collection<ClickDelta>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(clickStatsRepository, times(2)).applyDeltas(captor.capture());
+        ClickDelta retried = captor.getAllValues().get(1).iterator().next();
+        assertThat(retried.clicks()).isEqualTo(2);
+        assertThat(retried.visitors().estimate()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getStats – adds unflushed clicks to stored totals")
+    void getStats_includesPending() {
+        HyperLogLog stored = new HyperLogLog();
+        stored.offer("9.9.9.9|curl");
+        when(clickStatsRepository.findByShortCode("abc1234"))
+                .thenReturn(Optional.of(new StoredStats(10, stored.toBytes(), null)));
+        clickStatsService.record(click("abc1234", "1.1.1.1"));
+
+        ClickStatsResponse response = clickStatsService.getStats("abc1234");
+
+        assertThat(response.getTotalClicks()).isEqualTo(11);
+        assertThat(response.getUniqueVisitors()).isEqualTo(2);
+        assertThat(response.getLastClickAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("getStats – unknown short code – throws UrlNotFoundException")
+    void getStats_unknown_throws() {
+        when(clickStatsRepository.findByShortCode("unknown")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> clickStatsService.getStats("unknown"))
+                .isInstanceOf(UrlNotFoundException.class);
+    }
+
+    private static ClickEvent click(String shortCode, String ip) {
+        return ClickEvent.builder()
+                .shortCode(shortCode)
+                .timestamp("2026-10-18T12:00:00.000Z")
+                .ipAddress(ip)
+                .userAgent("curl")
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.urlshortener.urlservice.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DomainTrieTest {
+
+    private static int match(DomainTrie trie, String host) {
+        return trie.match(host, 0, host.length());
+    }
+
+    @Test
+    @DisplayName("match – blocked domain and its subdomains, not lookalikes")
+    void match_suffixes() {
+        DomainTrie trie = new DomainTrie();
+        trie.add("evil.example");
+
+        assertThat(match(trie, "evil.example")).isZero();
+        assertThat(match(trie, "login.evil.example")).isEqualTo("login.".length());
+        assertThat(match(trie, "a.b.evil.example")).isEqualTo("a.b.".length());
+        assertThat(match(trie, "notevil.example")).isEqualTo(-1);
+        assertThat(match(trie, "evil.example.com")).isEqualTo(-1);
+        assertThat(match(trie, "example")).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("add – wildcard, leading and trailing dots are ignored; empty labels rejected")
+    void add_normalizesEntries() {
+        DomainTrie trie = new DomainTrie();
+
+        assertThat(trie.add("*.phish.example")).isTrue();
+        assertThat(trie.add(".tracker.example.")).isTrue();
+        assertThat(trie.add("bad..example")).isFalse();
+        assertThat(trie.add("")).isFalse();
+
+        assertThat(match(trie, "phish.example")).isZero();
+        assertThat(match(trie, "x.tracker.example")).isEqualTo(2);
+        assertThat(trie.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("add – subdomain of a blocked domain is not stored again")
+    void add_coveredEntry_skipped() {
+        DomainTrie trie = new DomainTrie();
+        trie.add("evil.example");
+        long before = trie.memoryBytes();
+
+        trie.add("www.evil.example");
+
+        assertThat(trie.size()).isEqualTo(1);
+        assertThat(trie.memoryBytes()).isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("match – 200k domains survive table growth")
+    void match_manyDomains() {
+        DomainTrie trie = new DomainTrie();
+        for (int i = 0; i < 200_000; i++) {
+            trie.add("host" + i + ".tld" + (i % 50));
+        }
+
+        assertThat(trie.size()).isEqualTo(200_000);
+        assertThat(match(trie, "host12345.tld45")).isZero();
+        assertThat(match(trie, "cdn.host199999.tld49")).isEqualTo(4);
+        assertThat(match(trie, "host12345.tld46")).isEqualTo(-1);
+        assertThat(trie.memoryBytes()).isLessThan(32L << 20);
+    }
+}
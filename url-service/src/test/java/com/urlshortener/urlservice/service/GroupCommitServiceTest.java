@@ -0,0 +1,173 @@
+package com.urlshortener.urlservice.service;
+
+import com.urlshortener.urlservice.entity.Url;
+import com.urlshortener.urlservice.repository.UrlBatchInsertRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class GroupCommitServiceTest {
+
+    private final UrlBatchInsertRepository repository = mock(UrlBatchInsertRepository.class);
+    private final RedisCacheWriter redisCacheWriter = mock(RedisCacheWriter.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private GroupCommitService service;
+
+    @BeforeEach
+    void setUp() {
+        // Inserts every row except "taken" and any row named "bad", which fails the statement
+        when(repository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<Url> urls = invocation.getArgument(0);
+            batchSizes.add(urls.size());
+            Map<String, Long> ids = new HashMap<>();
+            for (Url url : urls) {
+                if (url.getShortCode().equals("bad")) {
+                    throw new DataIntegrityViolationException("value too long");
+                }
+                if (!url.getShortCode().equals("taken")) {
+                    ids.put(url.getShortCode(), (long) url.getShortCode().hashCode());
+                }
+            }
+            return ids;
+        });
+        when(redisCacheWriter.writeAll(anyList())).thenReturn(RedisCacheWriter.Outcome.WRITTEN);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    @DisplayName("insert – concurrent callers – committed together in full batches, one cache pipeline each")
+    void concurrentCallersShareBatches() throws Exception {
+        service = create(10, 1_000);
+        ExecutorService callers = Executors.newFixedThreadPool(20);
+        try {
+            List<Future<GroupCommitService.Committed>> results = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                Url url = url("c" + i);
+                results.add(callers.submit(() -> service.insert(url)));
+            }
+            for (Future<GroupCommitService.Committed> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(new GroupCommitService.Committed(true, 10));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(batchSizes).containsExactly(10, 10);
+        verify(redisCacheWriter, times(2)).writeAll(anyList());
+        assertThat(meterRegistry.get("groupcommit.batch.size").summary().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("insert – lone caller – flushed after the delay")
+    void partialBatchFlushedAfterDelay() {
+        service = create(10, 5);
+        Url url = url("solo");
+
+        GroupCommitService.Committed committed = service.insert(url);
+
+        assertThat(committed).isEqualTo(new GroupCommitService.Committed(true, 1));
+        assertThat(url.getId()).isEqualTo((long) "solo".hashCode());
+    }
+
+    @Test
+    @DisplayName("insert – code taken, or claimed twice in one batch – only that caller conflicts")
+    void conflictsAreReportedPerRow() throws Exception {
+        service = create(3, 1_000);
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try {
+            Future<GroupCommitService.Committed> taken = callers.submit(() -> service.insert(url("taken")));
+            Future<GroupCommitService.Committed> first = callers.submit(() -> service.insert(url("dup")));
+            Future<GroupCommitService.Committed> second = callers.submit(() -> service.insert(url("dup")));
+
+            assertThat(taken.get(5, TimeUnit.SECONDS).inserted()).isFalse();
+            // Exactly one of the two "dup" callers wins
+            assertThat(first.get(5, TimeUnit.SECONDS).inserted() ^ second.get(5, TimeUnit.SECONDS).inserted())
+                    .isTrue();
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(batchSizes).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("insert – statement rejected by one row – rows retried alone, only the bad one fails")
+    void badRowIsolated() throws Exception {
+        service = create(2, 1_000);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<GroupCommitService.Committed> good = callers.submit(() -> service.insert(url("good")));
+            Future<GroupCommitService.Committed> bad = callers.submit(() -> service.insert(url("bad")));
+
+            assertThat(good.get(5, TimeUnit.SECONDS).inserted()).isTrue();
+            assertThatThrownBy(() -> bad.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(DataIntegrityViolationException.class);
+        } finally {
+            callers.shutdownNow();
+        }
+        assertThat(meterRegistry.counter("groupcommit.isolated").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("insert – database down – every caller in the batch gets the error")
+    void databaseDownFailsBatch() {
+        service = create(10, 1);
+        reset(repository);
+        when(repository.insertAll(anyList())).thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        assertThatThrownBy(() -> service.insert(url("abc")))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        verifyNoInteractions(redisCacheWriter);
+    }
+
+    @Test
+    @DisplayName("init – batch size past the bind-parameter limit – clamped")
+    void oversizedBatchClamped() {
+        service = create(20_000, 1);
+
+        assertThat(ReflectionTestUtils.getField(service, "maxBatchSize")).isEqualTo(UrlBatchInsertRepository.MAX_ROWS);
+    }
+
+    private GroupCommitService create(int maxBatchSize, long maxDelayMillis) {
+        GroupCommitService created = new GroupCommitService(repository, redisCacheWriter, meterRegistry);
+        ReflectionTestUtils.setField(created, "enabled", true);
+        ReflectionTestUtils.setField(created, "maxBatchSize", maxBatchSize);
+        ReflectionTestUtils.setField(created, "maxDelayMillis", maxDelayMillis);
+        created.init();
+        return created;
+    }
+
+    private static Url url(String shortCode) {
+        return Url.builder()
+                .shortCode(shortCode)
+                .longUrl("https://example.com/" + shortCode)
+                .createdAt(LocalDateTime.now())
+                .isActive(true)
+                .build();
+    }
+}
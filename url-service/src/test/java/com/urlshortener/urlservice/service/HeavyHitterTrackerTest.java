@@ -0,0 +1,67 @@
+package com.urlshortener.urlservice.service;
+
+import com.urlshortener.urlservice.service.HeavyHitterTracker.HeavyHitter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeavyHitterTrackerTest {
+
+    @Test
+    @DisplayName("topK() finds the heavy keys in a skewed stream")
+    void findsHeavyKeys() {
+        HeavyHitterTracker tracker = new HeavyHitterTracker(5, 4, 1024);
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            // 5 hot keys take ~half the traffic; the rest is spread over 10k cold keys
+            if (random.nextBoolean()) {
+                tracker.record("hot" + random.nextInt(5));
+            } else {
+                tracker.record("cold" + random.nextInt(10_000));
+            }
+        }
+
+        List<String> top = tracker.topK().stream().map(HeavyHitter::key).toList();
+        assertThat(top).containsExactlyInAnyOrder("hot0", "hot1", "hot2", "hot3", "hot4");
+    }
+
+    @Test
+    @DisplayName("topK() is ordered by estimate, highest first")
+    void orderedByEstimate() {
+        HeavyHitterTracker tracker = new HeavyHitterTracker(3, 4, 1024);
+        for (int i = 0; i < 30; i++) tracker.record("a");
+        for (int i = 0; i < 20; i++) tracker.record("b");
+        for (int i = 0; i < 10; i++) tracker.record("c");
+
+        assertThat(tracker.topK()).extracting(HeavyHitter::key).containsExactly("a", "b", "c");
+        assertThat(tracker.topK().get(0).estimate()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("decay() halves counts and lets a newly hot key overtake an old one")
+    void decayFollowsRecentTraffic() {
+        HeavyHitterTracker tracker = new HeavyHitterTracker(1, 4, 1024);
+        for (int i = 0; i < 100; i++) tracker.record("yesterday");
+
+        for (int i = 0; i < 4; i++) tracker.decay();
+        assertThat(tracker.estimate("yesterday")).isEqualTo(6);
+
+        for (int i = 0; i < 10; i++) tracker.record("today");
+        assertThat(tracker.topK()).extracting(HeavyHitter::key).containsExactly("today");
+    }
+
+    @Test
+    @DisplayName("decay() drops keys whose count reaches zero")
+    void decayDropsColdKeys() {
+        HeavyHitterTracker tracker = new HeavyHitterTracker(3, 4, 1024);
+        tracker.record("once");
+
+        tracker.decay();
+
+        assertThat(tracker.topK()).isEmpty();
+    }
+}
@@ -0,0 +1,168 @@
+package com.urlshortener.urlservice.service;
+
+import com.urlshortener.urlservice.entity.Url;
+import com.urlshortener.urlservice.repository.UrlRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotLinkServiceTest {
+
+    @Mock
+    private UrlRepository urlRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOps;
+
+    @Spy
+    private RedisCircuitBreaker redisCircuitBreaker = new RedisCircuitBreaker(5, 10_000);
+
+    @InjectMocks
+    private HotLinkService hotLinkService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(hotLinkService, "capacity", 2);
+        ReflectionTestUtils.setField(hotLinkService, "sketchDepth", 4);
+        ReflectionTestUtils.setField(hotLinkService, "sketchWidth", 1024);
+        ReflectionTestUtils.setField(hotLinkService, "minCount", 10L);
+        ReflectionTestUtils.setField(hotLinkService, "pinTtlSeconds", 3600L);
+        ReflectionTestUtils.setField(hotLinkService, "cacheTtlSeconds", 60L);
+        hotLinkService.init();
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOps);
+    }
+
+    @Test
+    @DisplayName("refreshPins – hot link – pinned locally with extended Redis TTL")
+    void refreshPins_hotLink_pinned() {
+        when(urlRepository.findByShortCode("hot1234")).thenReturn(Optional.of(url("hot1234", null)));
+        access("hot1234", 20);
+
+        hotLinkService.refreshPins();
+
+        assertThat(hotLinkService.getPinned("hot1234")).isPresent();
+        verify(valueOps).set("url:hot1234", "https://example.com/hot1234", 3600L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("refreshPins – below min count – not pinned")
+    void refreshPins_lukewarm_notPinned() {
+        access("warm123", 5);
+
+        hotLinkService.refreshPins();
+
+        assertThat(hotLinkService.getPinned("warm123")).isEmpty();
+        verifyNoInteractions(urlRepository);
+    }
+
+    @Test
+    @DisplayName("refreshPins – pin TTL never outlives the link's expiry")
+    void refreshPins_expiringLink_cappedAtExpiry() {
+        when(urlRepository.findByShortCode("exp1234"))
+                .thenReturn(Optional.of(url("exp1234", LocalDateTime.now().plusMinutes(10))));
+        access("exp1234", 20);
+
+        hotLinkService.refreshPins();
+
+        verify(valueOps).set(eq("url:exp1234"), anyString(), longThat(ttl -> ttl <= 600), eq(TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("refreshPins – link cools off – unpinned and TTL reset to base")
+    void refreshPins_cooledOff_unpinned() {
+        when(urlRepository.findByShortCode("hot1234")).thenReturn(Optional.of(url("hot1234", null)));
+        access("hot1234", 20);
+        hotLinkService.refreshPins();
+
+        for (int i = 0; i < 5; i++) {
+            hotLinkService.decay();
+        }
+        hotLinkService.refreshPins();
+
+        assertThat(hotLinkService.getPinned("hot1234")).isEmpty();
+        verify(valueOps).set("url:hot1234", "https://example.com/hot1234", 60L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("getPinned – pinned copy has since expired – not served")
+    void getPinned_expired_notServed() {
+        when(urlRepository.findByShortCode("exp1234"))
+                .thenReturn(Optional.of(url("exp1234", LocalDateTime.now().plusMinutes(10))));
+        access("exp1234", 20);
+        hotLinkService.refreshPins();
+
+        ReflectionTestUtils.<Map<String, Url>>getField(hotLinkService, "pinned")
+                .get("exp1234").setExpiryAt(LocalDateTime.now().minusSeconds(1));
+
+        assertThat(hotLinkService.getPinned("exp1234")).isEmpty();
+        assertThat(hotLinkService.isPinned("exp1234")).isFalse();
+    }
+
+    @Test
+    @DisplayName("refreshPins – pinned link deactivated in the database – unpinned, not looked up again")
+    void refreshPins_deactivated_unpinned() {
+        when(urlRepository.findByShortCode("hot1234")).thenReturn(Optional.of(url("hot1234", null)));
+        access("hot1234", 20);
+        hotLinkService.refreshPins();
+        when(urlRepository.findActiveMappings(eq(List.of("hot1234")), any(LocalDateTime.class))).thenReturn(List.of());
+
+        hotLinkService.refreshPins();
+        hotLinkService.refreshPins();
+
+        assertThat(hotLinkService.getPinned("hot1234")).isEmpty();
+        verify(redisTemplate).delete("url:hot1234");
+        verify(urlRepository, times(1)).findByShortCode("hot1234");
+        verify(urlRepository, times(1)).findActiveMappings(anyCollection(), any());
+    }
+
+    @Test
+    @DisplayName("refreshPins – hot code with no row – queried once, not every refresh")
+    void refreshPins_unknownCode_queriedOnce() {
+        when(urlRepository.findByShortCode("gone123")).thenReturn(Optional.empty());
+        access("gone123", 20);
+
+        hotLinkService.refreshPins();
+        hotLinkService.refreshPins();
+
+        verify(urlRepository, times(1)).findByShortCode("gone123");
+        verifyNoInteractions(valueOps);
+    }
+
+    private void access(String shortCode, int times) {
+        for (int i = 0; i < times; i++) {
+            hotLinkService.recordAccess(shortCode);
+        }
+    }
+
+    private static Url url(String shortCode, LocalDateTime expiryAt) {
+        return Url.builder()
+                .id(1L)
+                .shortCode(shortCode)
+                .longUrl("https://example.com/" + shortCode)
+                .expiryAt(expiryAt)
+                .isActive(true)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.urlshortener.urlservice.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class HyperLogLogTest {
+
+    @Test
+    @DisplayName("estimate() of an empty sketch is 0")
+    void emptySketch() {
+        assertThat(new HyperLogLog().estimate()).isZero();
+    }
+
+    @Test
+    @DisplayName("estimate() is exact-ish for small cardinalities")
+    void smallCardinality() {
+        HyperLogLog hll = new HyperLogLog();
+        for (int i = 0; i < 100; i++) {
+            hll.offer("visitor-" + i);
+            hll.offer("visitor-" + i); // duplicates must not count
+        }
+        assertThat(hll.estimate()).isCloseTo(100L, within(3L));
+    }
+
+    @Test
+    @DisplayName("estimate() stays within 5% for 100k distinct values")
+    void largeCardinality() {
+        HyperLogLog hll = new HyperLogLog();
+        for (int i = 0; i < 100_000; i++) {
+            hll.offer("10.0." + (i >> 8) + "." + (i & 0xff) + "|Mozilla/5.0");
+        }
+        assertThat(hll.estimate()).isCloseTo(100_000L, within(5_000L));
+    }
+
+    @Test
+    @DisplayName("merge() of disjoint sketches estimates the union")
+    void mergeUnion() {
+        HyperLogLog a = new HyperLogLog();
+        HyperLogLog b = new HyperLogLog();
+        for (int i = 0; i < 20_000; i++) {
+            a.offer("a-" + i);
+            b.offer("b-" + i);
+        }
+        a.merge(b);
+        assertThat(a.estimate()).isCloseTo(40_000L, within(2_000L));
+    }
+
+    @Test
+    @DisplayName("toBytes()/fromBytes() round-trips; malformed bytes yield an empty sketch")
+    void serialization() {
+        HyperLogLog hll = new HyperLogLog();
+        for (int i = 0; i < 1_000; i++) {
+            hll.offer("v" + i);
+        }
+        assertThat(HyperLogLog.fromBytes(hll.toBytes()).estimate()).isEqualTo(hll.estimate());
+        assertThat(HyperLogLog.fromBytes(new byte[3]).estimate()).isZero();
+        assertThat(HyperLogLog.fromBytes(null).estimate()).isZero();
+    }
+
+    @Test
+    @DisplayName("concurrent offer() matches a single-threaded sketch")
+    void concurrentOffer() throws Exception {
+        HyperLogLog concurrent = new HyperLogLog();
+        HyperLogLog sequential = new HyperLogLog();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            int offset = t;
+            pool.execute(() -> {
+                for (int i = offset; i < 50_000; i += 8) {
+                    concurrent.offer("u" + i);
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 50_000; i++) {
+            sequential.offer("u" + i);
+        }
+        assertThat(concurrent.toBytes()).isEqualTo(sequential.toBytes());
+    }
+}
@@ -0,0 +1,135 @@
+package com.urlshortener.urlservice.service;
+
+import com.urlshortener.urlservice.entity.Url;
+import com.urlshortener.urlservice.repository.KeyedUrlMapping;
+import com.urlshortener.urlservice.repository.UrlRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class LocalIndexServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private final UrlRepository urlRepository = mock(UrlRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LocalIndexService service;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        service.close();
+    }
+
+    @Test
+    @DisplayName("disabled – every call is a no-op")
+    void disabled() throws Exception {
+        service = create(false);
+
+        service.record("abc", "https://example.com/", null);
+
+        assertThat(service.isEnabled()).isFalse();
+        assertThat(service.find("abc")).isEmpty();
+        assertThat(service.resolve(List.of("abc"))).isEmpty();
+        assertThat(service.stats()).isNull();
+    }
+
+    @Test
+    @DisplayName("record, then find / resolve – served from the index with expiry")
+    void recordAndFind() throws Exception {
+        service = create(true);
+        LocalDateTime expiry = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MILLIS);
+
+        service.record("abc", "https://example.com/a", expiry);
+        service.record("def", "https://example.com/d", null);
+
+        Url url = service.find("abc").orElseThrow();
+        assertThat(url.getLongUrl()).isEqualTo("https://example.com/a");
+        assertThat(url.getExpiryAt()).isEqualTo(expiry);
+        assertThat(service.resolve(List.of("abc", "def", "zzz")))
+                .containsOnlyKeys("abc", "def");
+        assertThat(meterRegistry.counter("localindex.fallback", "result", "hit").count()).isEqualTo(3);
+        assertThat(meterRegistry.counter("localindex.fallback", "result", "miss").count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("rebuildFromDatabase – pages by id and replaces the index contents")
+    void rebuild() throws Exception {
+        service = create(true);
+        service.record("gone", "https://example.com/gone", null);
+        when(urlRepository.findActiveMappingsAfter(eq(0L), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(row(1, "aaa"), row(2, "bbb")));
+        when(urlRepository.findActiveMappingsAfter(eq(2L), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(row(5, "ccc")));
+
+        LocalIndexService.Rewrite result = service.rebuildFromDatabase();
+
+        assertThat(result.entries()).isEqualTo(3);
+        assertThat(result.generation()).isEqualTo(2);
+        assertThat(service.resolve(List.of("aaa", "bbb", "ccc", "gone"))).containsOnlyKeys("aaa", "bbb", "ccc");
+        verify(urlRepository, times(2)).findActiveMappingsAfter(anyLong(), any(), any());
+        assertThat(service.verify().ok()).isTrue();
+    }
+
+    @Test
+    @DisplayName("scheduledRebuild – database down – keeps serving the current index")
+    void rebuildFailure() throws Exception {
+        service = create(true);
+        service.record("abc", "https://example.com/", null);
+        when(urlRepository.findActiveMappingsAfter(anyLong(), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("down"));
+
+        service.scheduledRebuild();
+
+        assertThat(service.find("abc")).isPresent();
+        assertThat(service.stats().generation()).isEqualTo(1);
+    }
+
+    private LocalIndexService create(boolean enabled) throws Exception {
+        LocalIndexService created = new LocalIndexService(urlRepository, meterRegistry);
+        ReflectionTestUtils.setField(created, "enabled", enabled);
+        ReflectionTestUtils.setField(created, "dir", dir.toString());
+        ReflectionTestUtils.setField(created, "segmentBytes", LocalIndex.MAX_RECORD_BYTES);
+        ReflectionTestUtils.setField(created, "initialCapacity", 16);
+        ReflectionTestUtils.setField(created, "rebuildPageSize", 2);
+        created.init();
+        return created;
+    }
+
+    private static KeyedUrlMapping row(long id, String shortCode) {
+        return new KeyedUrlMapping() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getShortCode() {
+                return shortCode;
+            }
+
+            @Override
+            public String getLongUrl() {
+                return "https://example.com/" + shortCode;
+            }
+
+            @Override
+            public LocalDateTime getExpiryAt() {
+                return null;
+            }
+        };
+    }
+}
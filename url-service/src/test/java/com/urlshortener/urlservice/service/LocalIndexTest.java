@@ -0,0 +1,208 @@
+package com.urlshortener.urlservice.service;
+
+import com.urlshortener.urlservice.service.LocalIndex.Entry;
+import com.urlshortener.urlservice.service.LocalIndex.Verification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalIndexTest {
+
+    // Small segments so the tests cross segment boundaries
+    private static final int SEGMENT_BYTES = LocalIndex.MAX_RECORD_BYTES;
+    private static final long NOW = 1_000_000L;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("put / get – across segments and table growth – every entry resolves")
+    void putAndGet() throws IOException {
+        try (LocalIndex index = LocalIndex.open(dir, SEGMENT_BYTES, 16)) {
+            for (int i = 0; i < 5_000; i++) {
+                assertThat(index.put("c" + i, "https://example.com/" + i, 0)).isTrue();
+            }
+
+            assertThat(index.size()).isEqualTo(5_000);
+            assertThat(index.dataBytes()).isGreaterThan(SEGMENT_BYTES * 4L);
+            for (int i = 0; i < 5_000; i++) {
+                assertThat(index.get("c" + i, NOW).longUrl()).isEqualTo("https://example.com/" + i);
+            }
+            assertThat(index.get("missing", NOW)).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("get – expired entry – not returned")
+    void expired() throws IOException {
+        try (LocalIndex index = LocalIndex.open(dir, SEGMENT_BYTES, 16)) {
+            index.put("old", "https://example.com/old", NOW - 1);
+            index.put("new", "https://example.com/new", NOW + 1);
+
+            assertThat(index.get("old", NOW)).isNull();
+            assertThat(index.get("new", NOW)).isEqualTo(new Entry("new", "https://example.com/new", NOW + 1));
+        }
+    }
+
+    @Test
+    @DisplayName("put – same code again – replaces the mapping")
+    void replace() throws IOException {
+        try (LocalIndex index = LocalIndex.open(dir, SEGMENT_BYTES, 16)) {
+            index.put("abc", "https://example.com/1", 0);
+            index.put("abc", "https://example.com/2", 0);
+
+            assertThat(index.size()).isEqualTo(1);
+            assertThat(index.get("abc", NOW).longUrl()).isEqualTo("https://example.com/2");
+        }
+    }
+
+    @Test
+    @DisplayName("put – record larger than the limit – rejected")
+    void oversized() throws IOException {
+        try (LocalIndex index = LocalIndex.open(dir, SEGMENT_BYTES, 16)) {
+            assertThat(index.put("big", "https://example.com/" + "x".repeat(LocalIndex.MAX_RECORD_BYTES), 0))
+                    .isFalse();
+            assertThat(index.size()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("open – existing files – entries survive a restart")
+    void reopen() throws IOException {
+        try (LocalIndex index = LocalIndex.open(dir, SEGMENT_BYTES, 16)) {
+            for (int i = 0; i < 2_000; i++) {
+                index.put("c" + i, "https://example.com/" + i, 0);
+            }
+        }
+        try (LocalIndex index = LocalIndex.open(dir, SEGMENT_BYTES, 16)) {
+            assertThat(index.size()).isEqualTo(2_000);
+            assertThat(index.get("c1999", NOW).longUrl()).isEqualTo("https://example.com/1999");
+            assertThat(index.verify(NOW).ok()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("open – damaged index file – rebuilt from the data file")
+    void damagedIndex() throws IOException {
+        try (LocalIndex index = LocalIndex.open(dir, SEGMENT_BYTES, 16)) {
+            for (int i = 0; i < 500; i++) {
+                index.put("c" + i, "https://example.com/" + i, 0);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(dir.resolve("urls-1.idx"), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4), 0);
+        }
+
+        try (LocalIndex index = LocalIndex.open(dir, SEGMENT_BYTES, 16)) {
+            assertThat(index.size()).isEqualTo(500);
+            assertThat(index.get("c42", NOW).longUrl()).isEqualTo("https://example.com/42");
+        }
+    }
+
+    @Test
+    @DisplayName("compact – superseded and expired records dropped, new generation replaces the old")
+    void compact() throws IOException {
+        try (LocalIndex index = LocalIndex.open(dir, SEGMENT_BYTES, 16)) {
+            for (int i = 0; i < 1_000; i++) {
+                index.put("c" + i, "https://example.com/" + i, i % 2 == 0 ? NOW - 1 : 0);
+            }
+            index.put("c1", "https://example.com/one", 0);
+            long before = index.dataBytes();
+
+            index.compact(NOW);
+
+            assertThat(index.generation()).isEqualTo(2);
+            assertThat(index.size()).isEqualTo(500);
+            assertThat(index.dataBytes()).isLessThan(before / 2 + SEGMENT_BYTES);
+            assertThat(index.get("c1", NOW).longUrl()).isEqualTo("https://example.com/one");
+            assertThat(index.get("c2", NOW)).isNull();
+            assertThat(index.verify(NOW).ok()).isTrue();
+            assertThat(Files.readString(dir.resolve("CURRENT"))).isEqualTo("2");
+            assertThat(dir.resolve("urls-1.dat")).doesNotExist();
+        }
+        try (LocalIndex index = LocalIndex.open(dir, SEGMENT_BYTES, 16)) {
+            assertThat(index.get("c3", NOW).longUrl()).isEqualTo("https://example.com/3");
+        }
+    }
+
+    @Test
+    @DisplayName("rewrite – source fails – live generation untouched")
+    void rewriteFailure() throws IOException {
+        try (LocalIndex index = LocalIndex.open(dir, SEGMENT_BYTES, 16)) {
+            index.put("abc", "https://example.com/", 0);
+
+            assertThatThrownBy(() -> index.rewrite(sink -> {
+                sink.put("new", "https://example.com/new", 0);
+                throw new IOException("database gone");
+            })).isInstanceOf(IOException.class);
+
+            assertThat(index.generation()).isEqualTo(1);
+            assertThat(index.get("abc", NOW)).isNotNull();
+            assertThat(index.get("new", NOW)).isNull();
+            assertThat(dir.resolve("urls-2.dat")).doesNotExist();
+        }
+    }
+
+    @Test
+    @DisplayName("verify – flipped byte in a record – reports the corrupt offset")
+    void verifyDetectsCorruption() throws IOException {
+        try (LocalIndex index = LocalIndex.open(dir, SEGMENT_BYTES, 16)) {
+            index.put("abc", "https://example.com/", 0);
+            index.put("def", "https://example.com/def", 0);
+            index.force();
+
+            try (FileChannel channel = FileChannel.open(dir.resolve("urls-1.dat"), StandardOpenOption.WRITE)) {
+                // Inside the first record's URL
+                channel.write(ByteBuffer.wrap(new byte[]{'!'}), 40);
+            }
+
+            Verification verification = index.verify(NOW);
+            assertThat(verification.ok()).isFalse();
+            assertThat(verification.corruptAt()).isEqualTo(16);
+            assertThat(verification.badSlots()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("get – concurrent with put – never sees a torn entry")
+    void concurrentReaders() throws Exception {
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try (LocalIndex index = LocalIndex.open(dir, SEGMENT_BYTES, 16)) {
+            Future<?>[] futures = new Future<?>[4];
+            for (int r = 0; r < futures.length; r++) {
+                futures[r] = readers.submit(() -> {
+                    for (int round = 0; round < 20; round++) {
+                        for (int i = 0; i < 2_000; i++) {
+                            Entry entry = index.get("c" + i, NOW);
+                            if (entry != null) {
+                                assertThat(entry.longUrl()).isEqualTo("https://example.com/" + i);
+                            }
+                        }
+                    }
+                });
+            }
+            for (int i = 0; i < 2_000; i++) {
+                index.put("c" + i, "https://example.com/" + i, 0);
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.urlshortener.urlservice.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisCacheWriterTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOps;
+
+    @TempDir
+    Path dir;
+
+    private final RedisCircuitBreaker breaker = new RedisCircuitBreaker(2, 60_000);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RedisCacheWriter writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        writer = new RedisCacheWriter(redisTemplate, breaker, meterRegistry);
+        ReflectionTestUtils.setField(writer, "journalPath", dir.resolve("journal.bin").toString());
+        ReflectionTestUtils.setField(writer, "journalMaxBytes", 1L << 20);
+        ReflectionTestUtils.setField(writer, "replayBatchSize", 2);
+        writer.init();
+    }
+
+    @Test
+    @DisplayName("write – Redis up – plain SET with TTL")
+    void write_redisUp_writesDirectly() {
+        RedisCacheWriter.Outcome outcome = writer.write("url:abc", "https://example.com", 60);
+
+        assertThat(outcome).isEqualTo(RedisCacheWriter.Outcome.WRITTEN);
+        verify(valueOps).set("url:abc", "https://example.com", 60, TimeUnit.SECONDS);
+        assertThat(writer.journalDepth()).isZero();
+    }
+
+    @Test
+    @DisplayName("write – Redis down – journals, then fails fast once the breaker opens")
+    void write_redisDown_journalsAndFailsFast() {
+        doThrow(new RuntimeException("Connection refused")).when(valueOps).set(anyString(), anyString());
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(writer.write("url:c" + i, "https://example.com/" + i, CacheTtl.NONE))
+                    .isEqualTo(RedisCacheWriter.Outcome.JOURNALED);
+        }
+
+        // Two failures open the breaker; the other three never touch Redis
+        verify(valueOps, times(2)).set(anyString(), anyString());
+        assertThat(writer.journalDepth()).isEqualTo(5);
+        assertThat(meterRegistry.get("redis.breaker.state").gauge().value()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("redis.journal.depth").gauge().value()).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("replay – breaker closed – drains the journal in pipelined batches")
+    void replay_afterRecovery_drains() {
+        doThrow(new RuntimeException("Connection refused")).when(valueOps).set(anyString(), anyString());
+        for (int i = 0; i < 5; i++) {
+            writer.write("url:c" + i, "https://example.com/" + i, CacheTtl.NONE);
+        }
+        writer.replay();
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+
+        breaker.onSuccess(); // Redis is back
+        writer.replay();
+
+        // 5 entries at batch size 2 → 3 pipelines
+        verify(redisTemplate, times(3)).executePipelined(any(RedisCallback.class));
+        assertThat(writer.journalDepth()).isZero();
+        assertThat(meterRegistry.get("redis.journal.replayed").counter().count()).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("replay – pipeline fails – keeps the entries for the next attempt")
+    void replay_failure_keepsEntries() {
+        doThrow(new RuntimeException("Connection refused")).when(valueOps).set(anyString(), anyString());
+        writer.write("url:a", "https://example.com/a", CacheTtl.NONE);
+        breaker.onSuccess();
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new RuntimeException("flapping"));
+
+        writer.replay();
+
+        assertThat(writer.journalDepth()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("writeAll – Redis up – one pipeline for the whole group")
+    void writeAll_redisUp_pipelines() {
+        RedisCacheWriter.Outcome outcome = writer.writeAll(List.of(
+                new RedisCacheWriter.Write("url:a", "https://example.com/a", 60),
+                new RedisCacheWriter.Write("url:b", "https://example.com/b", CacheTtl.NONE)));
+
+        assertThat(outcome).isEqualTo(RedisCacheWriter.Outcome.WRITTEN);
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+        verifyNoInteractions(valueOps);
+        assertThat(writer.journalDepth()).isZero();
+    }
+
+    @Test
+    @DisplayName("writeAll – pipeline fails – every write is journaled")
+    void writeAll_failure_journalsAll() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new RuntimeException("Connection refused"));
+
+        RedisCacheWriter.Outcome outcome = writer.writeAll(List.of(
+                new RedisCacheWriter.Write("url:a", "https://example.com/a", 60),
+                new RedisCacheWriter.Write("url:b", "https://example.com/b", CacheTtl.NONE)));
+
+        assertThat(outcome).isEqualTo(RedisCacheWriter.Outcome.JOURNALED);
+        assertThat(writer.journalDepth()).isEqualTo(2);
+    }
+}
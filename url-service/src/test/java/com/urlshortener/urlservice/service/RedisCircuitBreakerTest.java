@@ -0,0 +1,81 @@
+package com.urlshortener.urlservice.service;
+
+import com.urlshortener.urlservice.service.RedisCircuitBreaker.State;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisCircuitBreakerTest {
+
+    private static final long OPEN_MS = 1_000;
+
+    private final AtomicLong now = new AtomicLong();
+    private final RedisCircuitBreaker breaker = new RedisCircuitBreaker(3, OPEN_MS, now::get);
+
+    @Test
+    @DisplayName("opens after the failure threshold and rejects without calling Redis")
+    void opensAfterThreshold() {
+        fail(2);
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+
+        fail(1);
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a success resets the consecutive-failure count")
+    void successResetsCount() {
+        fail(2);
+        breaker.onSuccess();
+        fail(2);
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("after the open period, lets exactly one probe through")
+    void halfOpenSingleProbe() {
+        fail(3);
+        advance(OPEN_MS);
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+
+    @Test
+    @DisplayName("probe success closes, probe failure re-opens for another period")
+    void probeOutcome() {
+        fail(3);
+        advance(OPEN_MS);
+        breaker.tryAcquire();
+        breaker.onFailure(new RuntimeException("still down"));
+
+        assertThat(breaker.getState()).isEqualTo(State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        advance(OPEN_MS);
+        assertThat(breaker.tryAcquire()).isTrue();
+        breaker.onSuccess();
+
+        assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertThat(breaker.tryAcquire()).isTrue();
+            breaker.onFailure(new RuntimeException("Redis down"));
+        }
+    }
+
+    private void advance(long millis) {
+        now.addAndGet(millis * 1_000_000);
+    }
+}
@@ -0,0 +1,91 @@
+package com.urlshortener.urlservice.service;
+
+import com.urlshortener.urlservice.repository.UrlArchiveRepository;
+import com.urlshortener.urlservice.repository.UrlArchiveRepository.TableSize;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UrlArchiveServiceTest {
+
+    @Mock
+    private UrlArchiveRepository urlArchiveRepository;
+
+    @InjectMocks
+    private UrlArchiveService urlArchiveService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(urlArchiveService, "enabled", true);
+        ReflectionTestUtils.setField(urlArchiveService, "retentionDays", 90L);
+        ReflectionTestUtils.setField(urlArchiveService, "batchSize", 100);
+        ReflectionTestUtils.setField(urlArchiveService, "maxBatchesPerRun", 5);
+        ReflectionTestUtils.setField(urlArchiveService, "batchPauseMillis", 0L);
+    }
+
+    @Test
+    @DisplayName("archive – drains batches until a partial one, cutoff = now − retention")
+    void archive_stopsOnPartialBatch() {
+        when(urlArchiveRepository.moveBatch(any(), eq(100))).thenReturn(100, 100, 40);
+
+        int archived = urlArchiveService.archive();
+
+        assertThat(archived).isEqualTo(240);
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(urlArchiveRepository, times(3)).moveBatch(cutoff.capture(), eq(100));
+        assertThat(cutoff.getValue()).isCloseTo(LocalDateTime.now().minusDays(90), within(5, ChronoUnit.SECONDS));
+        assertThat(urlArchiveService.getLastRun().batches()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("archive – large backlog – stops at max batches per run")
+    void archive_boundedPerRun() {
+        when(urlArchiveRepository.moveBatch(any(), eq(100))).thenReturn(100);
+
+        int archived = urlArchiveService.archive();
+
+        assertThat(archived).isEqualTo(500);
+        verify(urlArchiveRepository, times(5)).moveBatch(any(), eq(100));
+    }
+
+    @Test
+    @DisplayName("archive – reports table sizes before and after")
+    void archive_recordsSizes() {
+        TableSize before = new TableSize("urls", 1000, 80_000, 60_000);
+        TableSize after = new TableSize("urls", 600, 80_000, 36_000);
+        when(urlArchiveRepository.tableSizes()).thenReturn(List.of(before), List.of(after));
+        when(urlArchiveRepository.moveBatch(any(), eq(100))).thenReturn(40);
+
+        urlArchiveService.archive();
+
+        assertThat(urlArchiveService.getLastRun().before()).containsExactly(before);
+        assertThat(urlArchiveService.getLastRun().after()).containsExactly(after);
+    }
+
+    @Test
+    @DisplayName("scheduledArchive – disabled – does nothing")
+    void scheduledArchive_disabled() {
+        ReflectionTestUtils.setField(urlArchiveService, "enabled", false);
+
+        urlArchiveService.scheduledArchive();
+
+        verifyNoInteractions(urlArchiveRepository);
+    }
+}
@@ -0,0 +1,208 @@
+package com.urlshortener.urlservice.service;
+
+import com.urlshortener.urlservice.dto.BatchLookupResponse;
+import com.urlshortener.urlservice.dto.UrlLookupResult;
+import com.urlshortener.urlservice.entity.Url;
+import com.urlshortener.urlservice.repository.UrlMapping;
+import com.urlshortener.urlservice.repository.UrlRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UrlLookupServiceTest {
+
+    @Mock
+    private UrlRepository urlRepository;
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOps;
+
+    @Mock
+    private HotLinkService hotLinkService;
+
+    @Spy
+    private RedisCircuitBreaker redisCircuitBreaker = new RedisCircuitBreaker(5, 10_000);
+
+    @Mock
+    private LocalIndexService localIndexService;
+
+    @InjectMocks
+    private UrlLookupService urlLookupService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOps);
+    }
+
+    @Test
+    @DisplayName("resolve – cache hits and misses – one MGET, one IN query for the misses, backfill")
+    void resolve_mixed_singleRoundTrips() {
+        when(valueOps.multiGet(List.of("url:aaa", "url:bbb", "url:ccc")))
+                .thenReturn(Arrays.asList("https://a.example", null, null));
+        when(urlRepository.findActiveMappings(eq(List.of("bbb", "ccc")), any(LocalDateTime.class)))
+                .thenReturn(List.of(mapping("bbb", "https://b.example")));
+
+        Map<String, String> resolved = urlLookupService.resolve(List.of("aaa", "bbb", "ccc"));
+
+        assertThat(resolved)
+                .containsEntry("aaa", "https://a.example")
+                .containsEntry("bbb", "https://b.example")
+                .doesNotContainKey("ccc");
+        verify(valueOps, times(1)).multiGet(anyCollection());
+        verify(urlRepository, times(1)).findActiveMappings(anyCollection(), any());
+        verify(redisTemplate).executePipelined(any(RedisCallback.class));
+        verify(hotLinkService).recordAccess("aaa");
+        verify(hotLinkService).recordAccess("bbb");
+        verify(hotLinkService, never()).recordAccess("ccc");
+    }
+
+    @Test
+    @DisplayName("resolve – all cached – no database query")
+    void resolve_allCached_skipsDatabase() {
+        when(valueOps.multiGet(anyList())).thenReturn(List.of("https://a.example", "https://b.example"));
+
+        Map<String, String> resolved = urlLookupService.resolve(List.of("aaa", "bbb"));
+
+        assertThat(resolved).hasSize(2);
+        verifyNoInteractions(urlRepository);
+    }
+
+    @Test
+    @DisplayName("resolve – duplicate codes – looked up once")
+    void resolve_duplicates_deduplicated() {
+        when(valueOps.multiGet(List.of("url:aaa"))).thenReturn(List.of("https://a.example"));
+
+        Map<String, String> resolved = urlLookupService.resolve(List.of("aaa", "aaa", "aaa"));
+
+        assertThat(resolved).containsOnlyKeys("aaa");
+    }
+
+    @Test
+    @DisplayName("resolve – Redis down – falls back to the database")
+    void resolve_redisDown_usesDatabase() {
+        when(valueOps.multiGet(anyList())).thenThrow(new RuntimeException("Redis down"));
+        when(urlRepository.findActiveMappings(eq(List.of("aaa")), any(LocalDateTime.class)))
+                .thenReturn(List.of(mapping("aaa", "https://a.example")));
+
+        Map<String, String> resolved = urlLookupService.resolve(List.of("aaa"));
+
+        assertThat(resolved).containsEntry("aaa", "https://a.example");
+    }
+
+    @Test
+    @DisplayName("resolve – database down – misses answered from the local index, not written back")
+    void resolve_databaseDown_usesLocalIndex() {
+        when(valueOps.multiGet(List.of("url:aaa", "url:bbb"))).thenReturn(Arrays.asList("https://a.example", null));
+        when(urlRepository.findActiveMappings(eq(List.of("bbb")), any(LocalDateTime.class)))
+                .thenThrow(new CannotCreateTransactionException("Connection is not available"));
+        when(localIndexService.isEnabled()).thenReturn(true);
+        when(localIndexService.resolve(List.of("bbb"))).thenReturn(Map.of("bbb", "https://b.example"));
+
+        Map<String, String> resolved = urlLookupService.resolve(List.of("aaa", "bbb"));
+
+        assertThat(resolved)
+                .containsEntry("aaa", "https://a.example")
+                .containsEntry("bbb", "https://b.example");
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("resolve – database down, no local index – rethrows")
+    void resolve_databaseDown_noLocalIndex_rethrows() {
+        when(valueOps.multiGet(anyList())).thenReturn(Arrays.asList((String) null));
+        when(urlRepository.findActiveMappings(anyCollection(), any(LocalDateTime.class)))
+                .thenThrow(new CannotCreateTransactionException("Connection is not available"));
+
+        assertThatThrownBy(() -> urlLookupService.resolve(List.of("aaa")))
+                .isInstanceOf(CannotCreateTransactionException.class);
+    }
+
+    @Test
+    @DisplayName("resolve – circuit open – skips Redis entirely")
+    void resolve_circuitOpen_skipsRedis() {
+        for (int i = 0; i < 5; i++) {
+            redisCircuitBreaker.onFailure(new RuntimeException("Redis down"));
+        }
+        when(urlRepository.findActiveMappings(eq(List.of("aaa")), any(LocalDateTime.class)))
+                .thenReturn(List.of(mapping("aaa", "https://a.example")));
+
+        Map<String, String> resolved = urlLookupService.resolve(List.of("aaa"));
+
+        assertThat(resolved).containsEntry("aaa", "https://a.example");
+        verifyNoInteractions(valueOps);
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("resolve – pinned heavy hitter – answered from memory")
+    void resolve_pinned_skipsRedisAndDatabase() {
+        Url url = Url.builder().shortCode("hot").longUrl("https://hot.example").isActive(true).build();
+        when(hotLinkService.getPinned("hot")).thenReturn(Optional.of(url));
+
+        Map<String, String> resolved = urlLookupService.resolve(List.of("hot"));
+
+        assertThat(resolved).containsEntry("hot", "https://hot.example");
+        verifyNoInteractions(valueOps, urlRepository);
+    }
+
+    @Test
+    @DisplayName("lookup – one result per requested code, in order, duplicates kept")
+    void lookup_preservesRequestOrder() {
+        when(valueOps.multiGet(List.of("url:zzz", "url:aaa")))
+                .thenReturn(Arrays.asList(null, "https://a.example"));
+        when(urlRepository.findActiveMappings(eq(List.of("zzz")), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        BatchLookupResponse response = urlLookupService.lookup(List.of("zzz", "aaa", "zzz"));
+
+        assertThat(response.getRequested()).isEqualTo(3);
+        assertThat(response.getFound()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(UrlLookupResult::getShortCode)
+                .containsExactly("zzz", "aaa", "zzz");
+        assertThat(response.getResults()).extracting(UrlLookupResult::isFound)
+                .containsExactly(false, true, false);
+    }
+
+    private static UrlMapping mapping(String shortCode, String longUrl) {
+        return new UrlMapping() {
+            @Override
+            public String getShortCode() {
+                return shortCode;
+            }
+
+            @Override
+            public String getLongUrl() {
+                return longUrl;
+            }
+
+            @Override
+            public LocalDateTime getExpiryAt() {
+                return null;
+            }
+        };
+    }
+}
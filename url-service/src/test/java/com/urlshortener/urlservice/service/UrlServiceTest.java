@@ -4,8 +4,14 @@ import com.urlshortener.urlservice.dto.CreateUrlRequest;
 import com.urlshortener.urlservice.dto.CreateUrlResponse;
 import com.urlshortener.urlservice.entity.Url;
 import com.urlshortener.urlservice.exception.AliasConflictException;
+import com.urlshortener.urlservice.exception.BlockedUrlException;
 import com.urlshortener.urlservice.exception.UrlNotFoundException;
+import com.urlshortener.urlservice.profiling.CreateShortUrlEvent;
+import com.urlshortener.urlservice.repository.UrlArchiveRepository;
 import com.urlshortener.urlservice.repository.UrlRepository;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,11 +19,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,10 +42,22 @@ class UrlServiceTest {
     private UrlRepository urlRepository;
 
     @Mock
-    private StringRedisTemplate redisTemplate;
+    private RedisCacheWriter redisCacheWriter;
 
     @Mock
-    private ValueOperations<String, String> valueOps;
+    private HotLinkService hotLinkService;
+
+    @Mock
+    private UrlArchiveRepository urlArchiveRepository;
+
+    @Mock
+    private BlocklistService blocklistService;
+
+    @Mock
+    private LocalIndexService localIndexService;
+
+    @Mock
+    private GroupCommitService groupCommitService;
 
     @InjectMocks
     private UrlService urlService;
@@ -44,11 +66,10 @@ class UrlServiceTest {
     void setUp() {
         ReflectionTestUtils.setField(urlService, "baseUrl", "http://localhost:8080");
         ReflectionTestUtils.setField(urlService, "shortCodeLength", 7);
-        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOps);
     }
 
     @Test
-    @DisplayName("createShortUrl – random code – saves and caches")
+    @DisplayName("createShortUrl – random code – saves, caches and indexes locally")
     void createShortUrl_randomCode_success() {
         CreateUrlRequest request = new CreateUrlRequest();
         request.setLongUrl("https://example.com");
@@ -67,7 +88,39 @@ class UrlServiceTest {
         assertThat(response.getShortUrl()).startsWith("http://localhost:8080/");
         assertThat(response.getLongUrl()).isEqualTo("https://example.com");
         verify(urlRepository).save(any(Url.class));
-        verify(valueOps).set(startsWith("url:"), eq("https://example.com"));
+        verify(redisCacheWriter).write(startsWith("url:"), eq("https://example.com"), eq(CacheTtl.NONE));
+        verify(localIndexService).record(response.getShortCode(), "https://example.com", null);
+    }
+
+    @Test
+    @DisplayName("createShortUrl – stores the canonical URL, tracking parameters stripped")
+    void createShortUrl_storesCanonicalUrl() {
+        ReflectionTestUtils.setField(urlService, "stripTrackingParams", true);
+        CreateUrlRequest request = new CreateUrlRequest();
+        request.setLongUrl("HTTPS://Example.COM:443/a%7eb?utm_source=x&id=1");
+
+        when(urlRepository.existsByShortCode(anyString())).thenReturn(false);
+        when(urlRepository.save(any(Url.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        CreateUrlResponse response = urlService.createShortUrl(request);
+
+        assertThat(response.getLongUrl()).isEqualTo("https://example.com/a~b?id=1");
+        verify(urlRepository).save(argThat(url -> url.getLongUrl().equals("https://example.com/a~b?id=1")));
+    }
+
+    @Test
+    @DisplayName("createShortUrl – blocked URL – throws BlockedUrlException before any lookup")
+    void createShortUrl_blocked_throws() {
+        CreateUrlRequest request = new CreateUrlRequest();
+        request.setLongUrl("https://Login.Evil.example/");
+
+        doThrow(new BlockedUrlException("URL is blocked"))
+                .when(blocklistService).check("https://login.evil.example/");
+
+        assertThatThrownBy(() -> urlService.createShortUrl(request))
+                .isInstanceOf(BlockedUrlException.class);
+        verify(urlRepository, never()).existsByShortCode(anyString());
+        verify(urlRepository, never()).save(any(Url.class));
     }
 
     @Test
@@ -105,6 +158,59 @@ class UrlServiceTest {
                 .hasMessageContaining("taken");
     }
 
+    @Test
+    @DisplayName("createShortUrl – alias of an archived link – throws AliasConflictException")
+    void createShortUrl_archivedAlias_throws() {
+        CreateUrlRequest request = new CreateUrlRequest();
+        request.setLongUrl("https://example.com");
+        request.setCustomAlias("oldlink");
+
+        when(urlRepository.existsByShortCode("oldlink")).thenReturn(false);
+        when(urlArchiveRepository.existsByShortCode("oldlink")).thenReturn(true);
+
+        assertThatThrownBy(() -> urlService.createShortUrl(request))
+                .isInstanceOf(AliasConflictException.class);
+        verify(urlRepository, never()).save(any(Url.class));
+    }
+
+    @Test
+    @DisplayName("createShortUrl – group commit, alias taken – throws AliasConflictException without an existence check")
+    void createShortUrl_groupCommit_aliasTaken_throws() {
+        CreateUrlRequest request = new CreateUrlRequest();
+        request.setLongUrl("https://example.com");
+        request.setCustomAlias("taken");
+
+        when(groupCommitService.isEnabled()).thenReturn(true);
+        when(groupCommitService.insert(any(Url.class))).thenReturn(new GroupCommitService.Committed(false, 8));
+
+        assertThatThrownBy(() -> urlService.createShortUrl(request))
+                .isInstanceOf(AliasConflictException.class);
+        verifyNoInteractions(urlRepository, urlArchiveRepository, redisCacheWriter);
+    }
+
+    @Test
+    @DisplayName("createShortUrl – group commit, generated code taken – retries with a new code")
+    void createShortUrl_groupCommit_collisionRetry() {
+        CreateUrlRequest request = new CreateUrlRequest();
+        request.setLongUrl("https://example.com");
+
+        when(groupCommitService.isEnabled()).thenReturn(true);
+        when(groupCommitService.insert(any(Url.class)))
+                .thenReturn(new GroupCommitService.Committed(false, 8))
+                .thenAnswer(invocation -> {
+                    Url url = invocation.getArgument(0);
+                    url.setId(1L);
+                    return new GroupCommitService.Committed(true, 8);
+                });
+
+        CreateUrlResponse response = urlService.createShortUrl(request);
+
+        assertThat(response.getCreatedAt()).isNotNull();
+        verify(groupCommitService, times(2)).insert(any(Url.class));
+        verify(localIndexService).record(response.getShortCode(), "https://example.com", null);
+        verifyNoInteractions(urlRepository, redisCacheWriter);
+    }
+
     @Test
     @DisplayName("createShortUrl – with expiry date – caches with TTL")
     void createShortUrl_withExpiry_cachesWithTTL() {
@@ -123,7 +229,7 @@ class UrlServiceTest {
         CreateUrlResponse response = urlService.createShortUrl(request);
 
         assertThat(response.getExpiryDate()).isNotNull();
-        verify(redisTemplate).expire(anyString(), anyLong(), any());
+        verify(redisCacheWriter).write(anyString(), anyString(), longThat(ttl -> ttl > 0 && ttl <= 3600));
     }
 
     @Test
@@ -145,6 +251,114 @@ class UrlServiceTest {
         assertThat(response.getLongUrl()).isEqualTo("https://example.com");
     }
 
+    @Test
+    @DisplayName("getUrlInfo – pinned heavy hitter – served without a DB query")
+    void getUrlInfo_pinned_skipsDatabase() {
+        Url url = Url.builder()
+                .id(1L)
+                .shortCode("hot1234")
+                .longUrl("https://example.com/viral")
+                .createdAt(LocalDateTime.now())
+                .isActive(true)
+                .build();
+
+        when(hotLinkService.getPinned("hot1234")).thenReturn(Optional.of(url));
+
+        CreateUrlResponse response = urlService.getUrlInfo("hot1234");
+
+        assertThat(response.getLongUrl()).isEqualTo("https://example.com/viral");
+        verify(hotLinkService).recordAccess("hot1234");
+        verify(urlRepository, never()).findByShortCode(anyString());
+    }
+
+    @Test
+    @DisplayName("getUrlInfo – archived code – served from the cold tier")
+    void getUrlInfo_archived_fallsBackToArchive() {
+        Url archived = Url.builder()
+                .shortCode("old1234")
+                .longUrl("https://example.com/old")
+                .createdAt(LocalDateTime.now().minusYears(1))
+                .expiryAt(LocalDateTime.now().minusMonths(6))
+                .isActive(false)
+                .build();
+
+        when(urlRepository.findByShortCode("old1234")).thenReturn(Optional.empty());
+        when(urlArchiveRepository.findByShortCode("old1234")).thenReturn(Optional.of(archived));
+
+        CreateUrlResponse response = urlService.getUrlInfo("old1234");
+
+        assertThat(response.getLongUrl()).isEqualTo("https://example.com/old");
+        assertThat(response.getExpiryDate()).isEqualTo(archived.getExpiryAt());
+    }
+
+    @Test
+    @DisplayName("getUrlInfo – database down – served from the local index")
+    void getUrlInfo_databaseDown_fallsBackToLocalIndex() {
+        Url indexed = Url.builder()
+                .shortCode("abc1234")
+                .longUrl("https://example.com/local")
+                .isActive(true)
+                .build();
+
+        when(urlRepository.findByShortCode("abc1234"))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        when(localIndexService.find("abc1234")).thenReturn(Optional.of(indexed));
+
+        CreateUrlResponse response = urlService.getUrlInfo("abc1234");
+
+        assertThat(response.getLongUrl()).isEqualTo("https://example.com/local");
+        verifyNoInteractions(urlArchiveRepository);
+    }
+
+    @Test
+    @DisplayName("getUrlInfo – query hangs past the socket timeout – served from the local index")
+    void getUrlInfo_socketTimeout_fallsBackToLocalIndex() {
+        Url indexed = Url.builder()
+                .shortCode("abc1234")
+                .longUrl("https://example.com/local")
+                .isActive(true)
+                .build();
+
+        // What pgjdbc's socketTimeout surfaces as once Hibernate and Spring have translated it
+        when(urlRepository.findByShortCode("abc1234")).thenThrow(new DataAccessResourceFailureException(
+                "An I/O error occurred while sending to the backend", new SocketTimeoutException("Read timed out")));
+        when(localIndexService.find("abc1234")).thenReturn(Optional.of(indexed));
+
+        CreateUrlResponse response = urlService.getUrlInfo("abc1234");
+
+        assertThat(response.getLongUrl()).isEqualTo("https://example.com/local");
+    }
+
+    @Test
+    @DisplayName("getUrlInfo – archive query times out – served from the local index")
+    void getUrlInfo_archiveTimeout_fallsBackToLocalIndex() {
+        Url indexed = Url.builder()
+                .shortCode("old1234")
+                .longUrl("https://example.com/local")
+                .isActive(true)
+                .build();
+
+        when(urlRepository.findByShortCode("old1234")).thenReturn(Optional.empty());
+        when(urlArchiveRepository.findByShortCode("old1234"))
+                .thenThrow(new QueryTimeoutException("canceling statement due to statement timeout"));
+        when(localIndexService.find("old1234")).thenReturn(Optional.of(indexed));
+
+        CreateUrlResponse response = urlService.getUrlInfo("old1234");
+
+        assertThat(response.getLongUrl()).isEqualTo("https://example.com/local");
+    }
+
+    @Test
+    @DisplayName("getUrlInfo – database down, code not in local index – rethrows the database error")
+    void getUrlInfo_databaseDown_notIndexed_rethrows() {
+        when(urlRepository.findByShortCode("abc1234"))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        when(localIndexService.find("abc1234")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> urlService.getUrlInfo("abc1234"))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+    }
+
     @Test
     @DisplayName("getUrlInfo – non-existent code – throws UrlNotFoundException")
     void getUrlInfo_notFound_throws() {
@@ -152,6 +366,7 @@ class UrlServiceTest {
 
         assertThatThrownBy(() -> urlService.getUrlInfo("unknown"))
                 .isInstanceOf(UrlNotFoundException.class);
+        verify(hotLinkService, never()).recordAccess(anyString());
     }
 
     @Test
@@ -177,7 +392,7 @@ class UrlServiceTest {
     }
 
     @Test
-    @DisplayName("createShortUrl – Redis failure – still saves to DB")
+    @DisplayName("createShortUrl – Redis down, write journaled – still saves to DB")
     void createShortUrl_redisFails_stillSaves() {
         CreateUrlRequest request = new CreateUrlRequest();
         request.setLongUrl("https://example.com");
@@ -189,13 +404,41 @@ class UrlServiceTest {
             url.setCreatedAt(LocalDateTime.now());
             return url;
         });
-        doThrow(new RuntimeException("Redis down")).when(valueOps)
-                .set(anyString(), anyString());
+        when(redisCacheWriter.write(anyString(), anyString(), anyLong()))
+                .thenReturn(RedisCacheWriter.Outcome.JOURNALED);
 
-        // Should not throw — Redis failure is swallowed
         CreateUrlResponse response = urlService.createShortUrl(request);
 
         assertThat(response).isNotNull();
         verify(urlRepository).save(any(Url.class));
     }
+
+    @Test
+    @DisplayName("createShortUrl – records a JFR event with attempts and outcome")
+    void createShortUrl_emitsJfrEvent() throws Exception {
+        CreateUrlRequest request = new CreateUrlRequest();
+        request.setLongUrl("https://example.com");
+
+        when(urlRepository.existsByShortCode(anyString())).thenReturn(true, false);
+        when(urlRepository.save(any(Url.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Path file = Files.createTempFile("url-service-test-", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(CreateShortUrlEvent.class);
+            recording.start();
+            urlService.createShortUrl(request);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> e.getEventType().getName().equals("com.urlshortener.CreateShortUrl"))
+                .toList();
+        Files.deleteIfExists(file);
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getInt("attempts")).isEqualTo(2);
+        assertThat(events.get(0).getString("outcome")).isEqualTo(CreateShortUrlEvent.CREATED);
+        assertThat(events.get(0).getBoolean("customAlias")).isFalse();
+    }
 }